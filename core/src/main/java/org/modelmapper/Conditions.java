@@ -17,6 +17,8 @@ package org.modelmapper;
 
 import java.io.Serializable;
 
+import org.modelmapper.internal.CompilableCondition;
+import org.modelmapper.internal.CompiledCondition;
 import org.modelmapper.internal.util.Assert;
 import org.modelmapper.spi.MappingContext;
 
@@ -27,33 +29,34 @@ import org.modelmapper.spi.MappingContext;
  * @author Jonathan Halterman
  */
 public class Conditions {
-  private static final Condition<?, ?> IS_NULL = new AbstractCondition<Object, Object>() {
-    @SuppressWarnings("unused") private static final long serialVersionUID = 0;
+  private static final Condition<?, ?> IS_NULL = new NullCheck(true);
+  private static final Condition<?, ?> IS_NOT_NULL = new NullCheck(false);
 
-    public boolean applies(MappingContext<Object, Object> context) {
-      return context.getSource() == null;
-    }
+  private static class NullCheck extends AbstractCondition<Object, Object> implements
+      CompilableCondition, Serializable {
+    private static final long serialVersionUID = 0;
+    private final boolean isNull;
 
-    @Override
-    public String toString() {
-      return "isNull()";
+    NullCheck(boolean isNull) {
+      this.isNull = isNull;
     }
-  };
-
-  private static final Condition<?, ?> IS_NOT_NULL = new AbstractCondition<Object, Object>() {
-    @SuppressWarnings("unused") private static final long serialVersionUID = 0;
 
     public boolean applies(MappingContext<Object, Object> context) {
-      return context.getSource() != null;
+      return (context.getSource() == null) == isNull;
+    }
+
+    public CompiledCondition compile(Class<?> sourceType) {
+      return isNull ? CompiledCondition.IS_NULL : CompiledCondition.IS_NOT_NULL;
     }
 
     @Override
     public String toString() {
-      return "isNotNull()";
+      return isNull ? "isNull()" : "isNotNull()";
     }
-  };
+  }
 
-  private static class AndCondition<S, D> extends AbstractCondition<S, D> implements Serializable {
+  private static class AndCondition<S, D> extends AbstractCondition<S, D> implements
+      CompilableCondition, Serializable {
     private static final long serialVersionUID = 0;
     private final Condition<S, D> a;
     private final Condition<S, D> b;
@@ -67,6 +70,11 @@ public class Conditions {
       return a.applies(context) && b.applies(context);
     }
 
+    public CompiledCondition compile(Class<?> sourceType) {
+      return CompiledCondition.and(CompiledCondition.compile(a, sourceType),
+          CompiledCondition.compile(b, sourceType));
+    }
+
     @Override
     public boolean equals(Object other) {
       return other instanceof AndCondition && ((AndCondition<?, ?>) other).a.equals(a)
@@ -84,7 +92,32 @@ public class Conditions {
     }
   }
 
-  private static class Not<S, D> extends AbstractCondition<S, D> implements Serializable {
+  private static class IsType extends AbstractCondition<Object, Object> implements
+      CompilableCondition, Serializable {
+    private static final long serialVersionUID = 0;
+    private final Class<?> type;
+
+    IsType(Class<?> type) {
+      this.type = type;
+    }
+
+    public boolean applies(MappingContext<Object, Object> context) {
+      return type.isAssignableFrom(context.getSourceType());
+    }
+
+    public CompiledCondition compile(Class<?> sourceType) {
+      return type.isAssignableFrom(sourceType) ? CompiledCondition.ALWAYS
+          : CompiledCondition.NEVER;
+    }
+
+    @Override
+    public String toString() {
+      return "isType(" + type.getName() + ")";
+    }
+  }
+
+  private static class Not<S, D> extends AbstractCondition<S, D> implements CompilableCondition,
+      Serializable {
     private static final long serialVersionUID = 0;
     private final Condition<S, D> delegate;
 
@@ -96,6 +129,10 @@ public class Conditions {
       return !delegate.applies(context);
     }
 
+    public CompiledCondition compile(Class<?> sourceType) {
+      return CompiledCondition.not(CompiledCondition.compile(delegate, sourceType));
+    }
+
     @Override
     public boolean equals(Object other) {
       return other instanceof Not && ((Not<?, ?>) other).delegate.equals(delegate);
@@ -112,7 +149,8 @@ public class Conditions {
     }
   }
 
-  private static class OrCondition<S, D> extends AbstractCondition<S, D> implements Serializable {
+  private static class OrCondition<S, D> extends AbstractCondition<S, D> implements
+      CompilableCondition, Serializable {
     private static final long serialVersionUID = 0;
     private final Condition<S, D> a;
     private final Condition<S, D> b;
@@ -126,6 +164,11 @@ public class Conditions {
       return a.applies(context) || b.applies(context);
     }
 
+    public CompiledCondition compile(Class<?> sourceType) {
+      return CompiledCondition.or(CompiledCondition.compile(a, sourceType),
+          CompiledCondition.compile(b, sourceType));
+    }
+
     @Override
     public boolean equals(Object other) {
       return other instanceof OrCondition && ((OrCondition<?, ?>) other).a.equals(a)
@@ -172,12 +215,8 @@ public class Conditions {
   /**
    * Returns a condition that applies when the mapping source is of the type {@code type}.
    */
-  public static Condition<?, ?> isType(final Class<?> type) {
-    return new Condition<Object, Object>() {
-      public boolean applies(MappingContext<Object, Object> context) {
-        return type.isAssignableFrom(context.getSourceType());
-      }
-    };
+  public static Condition<?, ?> isType(Class<?> type) {
+    return new IsType(type);
   }
 
   /**
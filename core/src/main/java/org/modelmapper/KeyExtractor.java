@@ -0,0 +1,34 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper;
+
+/**
+ * Extracts the key that identifies instances of type {@code T}, such as an entity's id.
+ * 
+ * @param <T> type to extract keys from
+ * 
+ * @author Jonathan Halterman
+ * @see TypeMap#setMergeKeys(KeyExtractor, KeyExtractor)
+ */
+public interface KeyExtractor<T> {
+  /**
+   * Returns the key of the {@code instance}, else {@code null} if the {@code instance} has no key
+   * yet, such as a new entity. Keys are compared with {@code equals} and {@code hashCode}.
+   * 
+   * @param instance to extract key from
+   */
+  Object keyOf(T instance);
+}
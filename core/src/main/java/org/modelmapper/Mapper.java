@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A thread-safe handle for mapping instances of a source type to a destination type, bound to the
+ * TypeMap or Converter for the type pair when the handle is created. Obtained via
+ * {@link ModelMapper#mapperFor(Class, Class)}, a Mapper avoids resolving the destination type and
+ * looking up the TypeMap on each call, and can be kept for the lifetime of the ModelMapper.
+ * 
+ * @param <S> source type
+ * @param <D> destination type
+ * 
+ * @author Jonathan Halterman
+ */
+public interface Mapper<S, D> {
+  /**
+   * Returns the TypeMap that the Mapper is bound to, else {@code null} if the Mapper maps with a
+   * Converter.
+   */
+  TypeMap<S, D> getTypeMap();
+
+  /**
+   * Maps {@code source} to an instance of type {@code D}.
+   * 
+   * @param source object to map from
+   * @return fully mapped instance of type {@code D}
+   * @throws IllegalArgumentException if {@code source} is null
+   * @throws MappingException if an error occurs while mapping
+   */
+  D map(S source);
+
+  /**
+   * Maps {@code source} to {@code destination}.
+   * 
+   * @param source object to map from
+   * @param destination object to map to
+   * @throws IllegalArgumentException if {@code source} or {@code destination} are null
+   * @throws MappingException if an error occurs while mapping
+   */
+  void map(S source, D destination);
+
+  /**
+   * Maps each element of the {@code sources} to an instance of type {@code D}. {@code null}
+   * elements are mapped to {@code null}.
+   * 
+   * @param sources objects to map from
+   * @return a list of mapped instances in the iteration order of {@code sources}
+   * @throws IllegalArgumentException if {@code sources} is null
+   * @throws MappingException after all elements were mapped if an error occurred while mapping any
+   *           of them, describing each error with the index of its element
+   */
+  List<D> mapAll(Collection<? extends S> sources);
+
+  /**
+   * Maps each element of the {@code sources} to an instance of type {@code D}, adding the results
+   * to the {@code destinations} in iteration order. {@code null} elements are mapped to
+   * {@code null}.
+   * 
+   * @param sources objects to map from
+   * @param destinations collection to add mapped instances to
+   * @throws IllegalArgumentException if {@code sources} or {@code destinations} are null
+   * @throws MappingException after all elements were mapped if an error occurred while mapping any
+   *           of them, describing each error with the index of its element
+   */
+  void mapAll(Iterable<? extends S> sources, Collection<? super D> destinations);
+}
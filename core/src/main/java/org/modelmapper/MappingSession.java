@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper;
+
+/**
+ * A handle for mapping a batch of objects that spans many map calls. Obtained via
+ * {@link ModelMapper#openSession()}, a MappingSession remembers the destination that each source
+ * object was mapped to, so that a source object that is referenced from many of the objects in a
+ * batch, such as a shared customer or product, is mapped once and every reference to it is mapped
+ * to the same destination instance.
+ * 
+ * <p>
+ * The number of source objects that a session remembers is bounded. Once the bound is exceeded,
+ * the remembered objects are discarded before the next map call. A MappingSession is not
+ * thread-safe and should be discarded once the batch has been mapped.
+ * 
+ * @author Jonathan Halterman
+ */
+public interface MappingSession {
+  /**
+   * Discards the source objects and destinations that the session remembers.
+   */
+  void clear();
+
+  /**
+   * Maps {@code source} to an instance of {@code destinationType}, or returns the instance that
+   * {@code source} was already mapped to in this session.
+   * 
+   * @param <D> destination type
+   * @param source object to map from
+   * @param destinationType type to map to
+   * @return fully mapped instance of {@code destinationType}
+   * @throws IllegalArgumentException if {@code source} or {@code destinationType} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create the TypeMap
+   * @throws MappingException if a runtime error occurs while mapping
+   */
+  <D> D map(Object source, Class<D> destinationType);
+
+  /**
+   * Maps {@code source} to {@code destination}.
+   * 
+   * @param source object to map from
+   * @param destination object to map to
+   * @throws IllegalArgumentException if {@code source} or {@code destination} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create the TypeMap
+   * @throws MappingException if an error occurs while mapping
+   */
+  void map(Object source, Object destination);
+
+  /**
+   * Returns the number of source objects that the session remembers.
+   */
+  int size();
+}
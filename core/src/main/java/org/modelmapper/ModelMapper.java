@@ -15,13 +15,23 @@
  */
 package org.modelmapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import org.modelmapper.config.Configuration;
 import org.modelmapper.internal.Errors;
 import org.modelmapper.internal.InheritingConfiguration;
+import org.modelmapper.internal.MapperImpl;
 import org.modelmapper.internal.MappingEngineImpl;
+import org.modelmapper.internal.MappingSessionImpl;
+import org.modelmapper.internal.TypeMapSnapshot;
+import org.modelmapper.internal.WarmupProfile;
 import org.modelmapper.internal.util.Assert;
 import org.modelmapper.internal.util.TypeResolver;
 import org.modelmapper.internal.util.Types;
@@ -74,6 +84,25 @@ public class ModelMapper {
         null, converter, engine);
   }
 
+  /**
+   * Adds mappings from the {@code pathMap} into the TypeMap corresponding to source type {@code S}
+   * and destination type {@code D}. Explicit mappings defined in the {@code pathMap} will override
+   * any implicit mappings for the same properties.
+   * 
+   * @param <S> source type
+   * @param <D> destination type
+   * @param pathMap from which mappings should be loaded
+   * @return TypeMap corresponding to the {@code pathMap}
+   * @throws IllegalArgumentException if {@code pathMap} is null
+   * @throws ConfigurationException if a configuration error occurs while adding mappings for the
+   *           {@code pathMap}
+   */
+  public <S, D> TypeMap<S, D> addMappings(PathMap<S, D> pathMap) {
+    Assert.notNull(pathMap, "pathMap");
+    return config.typeMapStore.getOrCreate(pathMap.sourceType, pathMap.destinationType, pathMap,
+        engine);
+  }
+
   /**
    * Adds mappings from the {@code propertyMap} into the TypeMap corresponding to source type
    * {@code S} and destination type {@code D}. Explicit mappings defined in the {@code propertyMap}
@@ -139,6 +168,26 @@ public class ModelMapper {
     }
   }
 
+  /**
+   * Validates and freezes the ModelMapper for read-only use. Every TypeMap is
+   * {@link #validate() validated} and its mappings are made immutable, TypeMap lookups are served
+   * from an index of resolved type pairs, and the configured converters are fixed, so that
+   * subsequent lookups do not lock. Once frozen, TypeMaps and converters can no longer be added or
+   * modified, and mapping types for which no TypeMap exists and no converter applies fails rather
+   * than creating a TypeMap implicitly. Calling this method more than once has no effect.
+   * 
+   * @throws ValidationException if any TypeMaps contain unmapped properties, in which case the
+   *           ModelMapper is not frozen
+   */
+  public void freeze() {
+    if (config.typeMapStore.isFrozen())
+      return;
+
+    validate();
+    config.converterStore.freeze();
+    config.typeMapStore.freeze();
+  }
+
   /**
    * Returns the ModelMapper's configuration.
    */
@@ -168,6 +217,23 @@ public class ModelMapper {
     return config.typeMapStore.get();
   }
 
+  /**
+   * Loads TypeMaps from a snapshot previously written via
+   * {@link #writeTypeMapSnapshot(OutputStream)}, avoiding the cost of reflecting on and matching
+   * their properties. TypeMaps that already exist are left untouched. Recorded TypeMaps whose
+   * members no longer match the current classes, or which were recorded for a different
+   * configuration, are built normally instead.
+   * 
+   * @param inputStream to read the snapshot from
+   * @return the number of TypeMaps loaded from the snapshot
+   * @throws IllegalArgumentException if {@code inputStream} is null
+   * @throws IOException if the snapshot cannot be read or has an unsupported format
+   */
+  public int loadTypeMapSnapshot(InputStream inputStream) throws IOException {
+    Assert.notNull(inputStream, "inputStream");
+    return TypeMapSnapshot.load(config.typeMapStore, config, engine, inputStream, classLoader());
+  }
+
   /**
    * Maps {@code source} to an instance of {@code destinationType}. Mapping is performed according
    * to the corresponding TypeMap. If no TypeMap exists for {@code source.getClass()} and
@@ -231,6 +297,118 @@ public class ModelMapper {
         TypeToken.<D>of(destinationType));
   }
 
+  /**
+   * Maps each element of the {@code sources} to an instance of {@code destinationType}. The TypeMap
+   * or Converter to use is resolved once for each run of elements of the same type, rather than for
+   * every element. {@code null} elements are mapped to {@code null}.
+   * 
+   * @param <D> destination type
+   * @param sources objects to map from
+   * @param destinationType type to map to
+   * @return a list of mapped instances in the iteration order of {@code sources}
+   * @throws IllegalArgumentException if {@code sources} or {@code destinationType} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create a TypeMap
+   * @throws MappingException after all elements were mapped if an error occurred while mapping any
+   *           of them, describing each error with the index of its element
+   */
+  public <D> List<D> mapAll(Iterable<?> sources, Class<D> destinationType) {
+    Assert.notNull(sources, "sources");
+    List<D> destinations = sources instanceof Collection ? new ArrayList<D>(
+        ((Collection<?>) sources).size()) : new ArrayList<D>();
+    mapAll(sources, destinationType, destinations);
+    return destinations;
+  }
+
+  /**
+   * Maps each element of the {@code sources} to an instance of {@code destinationType}, adding the
+   * results to the {@code destinations} in iteration order. The TypeMap or Converter to use is
+   * resolved once for each run of elements of the same type, rather than for every element.
+   * {@code null} elements are mapped to {@code null}.
+   * 
+   * @param <D> destination type
+   * @param sources objects to map from
+   * @param destinationType type to map to
+   * @param destinations collection to add mapped instances to
+   * @throws IllegalArgumentException if {@code sources}, {@code destinationType} or
+   *           {@code destinations} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create a TypeMap
+   * @throws MappingException after all elements were mapped if an error occurred while mapping any
+   *           of them, describing each error with the index of its element
+   */
+  public <D> void mapAll(Iterable<?> sources, Class<D> destinationType,
+      Collection<? super D> destinations) {
+    Assert.notNull(sources, "sources");
+    Assert.notNull(destinationType, "destinationType");
+    Assert.notNull(destinations, "destinations");
+    engine.<Object, D>mapAll(sources, null, destinationType, null, destinations);
+  }
+
+  /**
+   * Maps {@code source} to {@code destination} with dirty checking, such that only destination
+   * properties whose current value differs from the mapped value are set, regardless of whether
+   * dirty checking is {@link Configuration#enableDirtyChecking(boolean) enabled}. Mapping is
+   * performed according to the corresponding TypeMap. If no TypeMap exists for
+   * {@code source.getClass()} and {@code destination.getClass()} then one is created.
+   * 
+   * @param source object to map from
+   * @param destination object to map to
+   * @return the paths of the destination properties that were set, relative to the
+   *         {@code destination}, which are empty if the {@code destination} was unchanged
+   * @throws IllegalArgumentException if {@code source} or {@code destination} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create the TypeMap
+   * @throws MappingException if an error occurs while mapping
+   */
+  public Set<String> mapChanges(Object source, Object destination) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destination, "destination");
+    return engine.<Object, Object>mapChanges(source, Types.<Object>deProxy(source.getClass()),
+        destination, Types.<Object>deProxy(destination.getClass()));
+  }
+
+  /**
+   * Returns a thread-safe Mapper bound to the TypeMap for the {@code sourceType} and
+   * {@code destinationType} if one exists, else to a Converter that supports them, else to a newly
+   * created TypeMap, in the same order that {@link #map(Object, Class)} resolves them. The Mapper
+   * skips resolving the destination type and looking up the TypeMap on each call, and can be kept
+   * for repeated use.
+   * 
+   * @param <S> source type
+   * @param <D> destination type
+   * @param sourceType type to map from
+   * @param destinationType type to map to
+   * @throws IllegalArgumentException if {@code sourceType} or {@code destinationType} are null
+   * @throws ConfigurationException if the ModelMapper cannot find or create the TypeMap
+   */
+  public <S, D> Mapper<S, D> mapperFor(Class<S> sourceType, Class<D> destinationType) {
+    Assert.notNull(sourceType, "sourceType");
+    Assert.notNull(destinationType, "destinationType");
+    return new MapperImpl<S, D>(sourceType, destinationType, engine);
+  }
+
+  /**
+   * Opens a MappingSession that maps source objects that are shared by many of the objects in a
+   * batch only once, remembering up to 10,000 source objects. The session is not thread-safe.
+   * 
+   * @see #openSession(int)
+   */
+  public MappingSession openSession() {
+    return new MappingSessionImpl(engine, MappingSessionImpl.DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Opens a MappingSession that maps source objects that are shared by many of the objects in a
+   * batch only once, remembering up to {@code maxSize} source objects. Every reference to a
+   * remembered source object is mapped to the same destination instance across the map calls of
+   * the session. The session is not thread-safe.
+   * 
+   * @param maxSize the number of source objects after which the session discards those it
+   *          remembers
+   * @throws IllegalArgumentException if {@code maxSize} is negative
+   */
+  public MappingSession openSession(int maxSize) {
+    return new MappingSessionImpl(engine, maxSize);
+  }
+
   /**
    * Validates that <b>every</b> top level destination property for each configured TypeMap is
    * mapped to one and only one source property, or that a {@code Converter} was
@@ -251,4 +429,54 @@ public class ModelMapper {
 
     errors.throwValidationExceptionIfErrorsExist();
   }
+
+  /**
+   * Builds the TypeMaps recorded in a warmup profile that was previously written via
+   * {@link #writeWarmupProfile(OutputStream)}. Recorded types that can no longer be loaded or mapped
+   * are skipped. This should be called after any explicit configuration has been applied, so that
+   * the recorded TypeMaps are built with the same mappings they would receive on first use.
+   * 
+   * @param inputStream to read the warmup profile from
+   * @return the number of TypeMaps built or found for the profile
+   * @throws IllegalArgumentException if {@code inputStream} is null
+   * @throws IOException if the profile cannot be read
+   */
+  public int warmUp(InputStream inputStream) throws IOException {
+    Assert.notNull(inputStream, "inputStream");
+    return WarmupProfile.replay(config.typeMapStore, engine, inputStream, classLoader());
+  }
+
+  /**
+   * Writes a snapshot of the resolved mappings of every TypeMap that can be described by member
+   * references alone. TypeMaps with Converters, Conditions or Providers are not written. The
+   * snapshot can later be passed to {@link #loadTypeMapSnapshot(InputStream)}.
+   * 
+   * @param outputStream to write the snapshot to
+   * @return the number of TypeMaps written
+   * @throws IllegalArgumentException if {@code outputStream} is null
+   * @throws IOException if the snapshot cannot be written
+   */
+  public int writeTypeMapSnapshot(OutputStream outputStream) throws IOException {
+    Assert.notNull(outputStream, "outputStream");
+    return TypeMapSnapshot.write(config.typeMapStore, config, outputStream);
+  }
+
+  /**
+   * Writes a warmup profile containing the source and destination types of every TypeMap that has
+   * been created so far, including those created implicitly while mapping. The profile can later be
+   * passed to {@link #warmUp(InputStream)} to build the same TypeMaps ahead of time.
+   * 
+   * @param outputStream to write the warmup profile to
+   * @throws IllegalArgumentException if {@code outputStream} is null
+   * @throws IOException if the profile cannot be written
+   */
+  public void writeWarmupProfile(OutputStream outputStream) throws IOException {
+    Assert.notNull(outputStream, "outputStream");
+    WarmupProfile.write(config.typeMapStore, outputStream);
+  }
+
+  private static ClassLoader classLoader() {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return classLoader == null ? ModelMapper.class.getClassLoader() : classLoader;
+  }
 }
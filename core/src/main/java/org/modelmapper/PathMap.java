@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper;
+
+import org.modelmapper.builder.PathMapExpression;
+import org.modelmapper.internal.PathMappingBuilder;
+import org.modelmapper.internal.util.Assert;
+import org.modelmapper.internal.util.TypeResolver;
+
+/**
+ * A PathMap defines mappings between properties for a particular source and destination type using
+ * dotted property paths rather than method invocations. Path segments are property names as
+ * resolved by the configured naming conventions and name transformers. Unlike a
+ * {@link PropertyMap}, a PathMap requires no proxies of the source and destination types, so it
+ * works with final types and methods and can be configured concurrently.
+ * <p>
+ * To create a PathMap simply extend {@code PathMap}, supplying type arguments to represent the
+ * source type {@code <S>} and destination type {@code <D>}, then override the {@link #configure()}
+ * method.
+ * 
+ * <pre>
+ *   public class OrderMap extends PathMap&lt;Order, OrderDTO&gt;() {
+ *     protected void configure() {
+ *       map(&quot;customer.billingAddress.street&quot;, &quot;billingStreet&quot;);
+ *       using(toUppercase).map(&quot;customer.name&quot;, &quot;customerName&quot;);
+ *       when(Conditions.isNotNull()).map(&quot;shippingAddress&quot;, &quot;address&quot;);
+ *       skip(&quot;comment&quot;);
+ *     }
+ *   };
+ * </pre>
+ * 
+ * @param <S> source type
+ * @param <D> destination type
+ * 
+ * @author Jonathan Halterman
+ */
+public abstract class PathMap<S, D> {
+  Class<D> destinationType;
+  Class<S> sourceType;
+  private PathMappingBuilder<S, D> builder;
+
+  /**
+   * Creates a new PathMap for the source and destination types {@code S} and {@code D}.
+   * 
+   * @throws IllegalArgumentException if {@code S} and {@code D} are not declared
+   */
+  @SuppressWarnings("unchecked")
+  protected PathMap() {
+    Class<?>[] typeArguments = TypeResolver.resolveArguments(getClass(), PathMap.class);
+    Assert.notNull(typeArguments,
+        "Must declare source type argument <S> and destination type argument <D> for PathMap");
+    sourceType = (Class<S>) typeArguments[0];
+    destinationType = (Class<D>) typeArguments[1];
+  }
+
+  /**
+   * Creates a new PathMap for the {@code sourceType} and {@code destinationType}.
+   */
+  protected PathMap(Class<S> sourceType, Class<D> destinationType) {
+    this.sourceType = sourceType;
+    this.destinationType = destinationType;
+  }
+
+  /**
+   * Called by ModelMapper to configure mappings as defined in the PathMap.
+   */
+  protected abstract void configure();
+
+  /**
+   * Defines a mapping from the {@code sourcePath} to the {@code destinationPath}.
+   * 
+   * @throws IllegalStateException if called from outside the context of {@link #configure()}.
+   */
+  protected final void map(String sourcePath, String destinationPath) {
+    checkBuilder();
+    builder.map(sourcePath, destinationPath);
+  }
+
+  /**
+   * Specifies that mapping for the {@code destinationPath} be skipped during the mapping process.
+   * 
+   * @throws IllegalStateException if called from outside the context of {@link #configure()}.
+   */
+  protected final void skip(String destinationPath) {
+    checkBuilder();
+    builder.skip(destinationPath);
+  }
+
+  /**
+   * Specifies the {@code converter} to use for converting to the destination property hierarchy.
+   * 
+   * @throws IllegalStateException if called from outside the context of {@link #configure()}.
+   */
+  protected final PathMapExpression using(Converter<?, ?> converter) {
+    checkBuilder();
+    return builder.using(converter);
+  }
+
+  /**
+   * Specifies the {@code condition} that must apply in order for mapping to take place for a
+   * particular destination property hierarchy.
+   * 
+   * @throws IllegalStateException if called from outside the context of {@link #configure()}.
+   */
+  protected final PathMapExpression when(Condition<?, ?> condition) {
+    checkBuilder();
+    return builder.when(condition);
+  }
+
+  /**
+   * Specifies the {@code provider} to be used for providing instances of the mapped property.
+   * 
+   * @throws IllegalStateException if called from outside the context of {@link #configure()}.
+   */
+  protected final PathMapExpression withProvider(Provider<?> provider) {
+    checkBuilder();
+    return builder.withProvider(provider);
+  }
+
+  private void checkBuilder() {
+    Assert.state(builder != null,
+        "PathMap should not be used outside the context of PathMap.configure().");
+  }
+
+  @SuppressWarnings("unused")
+  private synchronized void configure(PathMappingBuilder<S, D> builder) {
+    this.builder = builder;
+
+    try {
+      configure();
+    } finally {
+      this.builder = null;
+    }
+  }
+}
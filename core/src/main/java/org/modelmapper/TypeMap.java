@@ -16,6 +16,7 @@
 package org.modelmapper;
 
 import java.util.List;
+import java.util.Set;
 
 import org.modelmapper.spi.Mapping;
 import org.modelmapper.spi.PropertyInfo;
@@ -29,6 +30,17 @@ import org.modelmapper.spi.PropertyInfo;
  * @author Jonathan Halterman
  */
 public interface TypeMap<S, D> {
+  /**
+   * Loads mappings from the {@code pathMap} into the TypeMap. Mappings defined in the
+   * {@code pathMap} will override any implicit mappings for the same properties.
+   * 
+   * @param pathMap from which mappings should be loaded
+   * @throws IllegalArgumentException if {@code pathMap} is null
+   * @throws ConfigurationException if a configuration error occurs while adding mappings for the
+   *           {@code pathMap}
+   */
+  void addMappings(PathMap<S, D> pathMap);
+
   /**
    * Loads mappings from the {@code propertyMap} into the TypeMap. Mappings defined in the
    * {@code propertyMap} will override any implicit mappings for the same properties.
@@ -56,6 +68,14 @@ public interface TypeMap<S, D> {
    */
   Converter<S, D> getConverter();
 
+  /**
+   * Returns the KeyExtractor used to identify destination instances when merging collections, else
+   * {@code null} if no merge keys have been configured.
+   * 
+   * @see #setMergeKeys(KeyExtractor, KeyExtractor)
+   */
+  KeyExtractor<D> getDestinationKeyExtractor();
+
   /**
    * Returns the destination type for the TypeMap.
    */
@@ -101,6 +121,14 @@ public interface TypeMap<S, D> {
    */
   Provider<D> getProvider();
 
+  /**
+   * Returns the KeyExtractor used to identify source instances when merging collections, else
+   * {@code null} if no merge keys have been configured.
+   * 
+   * @see #setMergeKeys(KeyExtractor, KeyExtractor)
+   */
+  KeyExtractor<S> getSourceKeyExtractor();
+
   /**
    * Returns the source type for the TypeMap.
    */
@@ -135,6 +163,22 @@ public interface TypeMap<S, D> {
    */
   void map(S source, D destination);
 
+  /**
+   * Maps {@code source} to {@code destination}, only performing the mappings whose source
+   * properties are affected by the {@code changedSourcePaths}. A mapping is affected by a changed
+   * path such as {@code address.street} if its source property path starts with the changed path,
+   * or if the changed path starts with its source property path, such as {@code address}. Mappings
+   * from the source object itself are always performed.
+   * 
+   * @param source object to map from
+   * @param destination object to map to
+   * @param changedSourcePaths dot delimited paths of the source properties that changed
+   * @throws IllegalArgumentException if {@code source}, {@code destination} or
+   *           {@code changedSourcePaths} are null
+   * @throws MappingException if an error occurs while mapping
+   */
+  void mapChanged(S source, D destination, Set<String> changedSourcePaths);
+
   /**
    * Sets the {@code condition} that must apply in order for mapping to take place.
    * 
@@ -151,6 +195,25 @@ public interface TypeMap<S, D> {
    */
   TypeMap<S, D> setConverter(Converter<S, D> converter);
 
+  /**
+   * Sets the key extractors used to merge collections of {@code S} into existing collections of
+   * {@code D}. When a collection of {@code S} is mapped onto an existing collection of {@code D},
+   * such as when mapping to a provided destination whose collection properties are already
+   * populated, destination elements whose keys equal the key of a source element are mapped onto in
+   * place, source elements without a matching destination element are mapped to new elements and
+   * added, and destination elements without a matching source element are removed. The existing
+   * collection instance is retained.
+   * 
+   * <p>
+   * Elements of Sets should not base their {@code hashCode} on properties that are mapped, since
+   * matched elements are updated in place.
+   * 
+   * @throws IllegalArgumentException if {@code sourceKeyExtractor} or
+   *           {@code destinationKeyExtractor} are null
+   */
+  TypeMap<S, D> setMergeKeys(KeyExtractor<S> sourceKeyExtractor,
+      KeyExtractor<D> destinationKeyExtractor);
+
   /**
    * Sets the {@code condition} that must apply in order for properties in this TypeMap to be
    * mapped. This is overridden by any conditions defined in a PropertyMap.
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.builder;
+
+import org.modelmapper.Condition;
+import org.modelmapper.Converter;
+import org.modelmapper.PathMap;
+import org.modelmapper.Provider;
+
+/**
+ * Expresses a mapping between dotted property paths. See the examples at {@link PathMap}.
+ * 
+ * @author Jonathan Halterman
+ */
+public interface PathMapExpression {
+  /**
+   * Defines a mapping from the {@code sourcePath} to the {@code destinationPath}.
+   * 
+   * @param sourcePath dotted path of source property names, such as {@code "customer.name"}
+   * @param destinationPath dotted path of destination property names
+   * @throws IllegalStateException if called from outside the context of
+   *           {@link PathMap#configure()}.
+   */
+  void map(String sourcePath, String destinationPath);
+
+  /**
+   * Specifies that mapping for the {@code destinationPath} be skipped during the mapping process.
+   * 
+   * @param destinationPath dotted path of destination property names
+   * @throws IllegalStateException if called from outside the context of
+   *           {@link PathMap#configure()}.
+   */
+  void skip(String destinationPath);
+
+  /**
+   * Specifies the {@code converter} to use for converting to the destination property hierarchy.
+   * 
+   * @param converter to use when mapping the property
+   * @throws IllegalStateException if called from outside the context of
+   *           {@link PathMap#configure()}.
+   */
+  PathMapExpression using(Converter<?, ?> converter);
+
+  /**
+   * Specifies the {@code condition} that must apply in order for mapping to take place for a
+   * particular destination property hierarchy.
+   * 
+   * @param condition that must apply when mapping the property
+   * @throws IllegalStateException if called from outside the context of
+   *           {@link PathMap#configure()}.
+   */
+  PathMapExpression when(Condition<?, ?> condition);
+
+  /**
+   * Specifies the {@code provider} to be used for providing instances of the mapped property.
+   * 
+   * @param provider to use for providing the destination property
+   * @throws IllegalStateException if called from outside the context of
+   *           {@link PathMap#configure()}.
+   */
+  PathMapExpression withProvider(Provider<?> provider);
+}
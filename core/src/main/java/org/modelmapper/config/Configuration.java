@@ -17,6 +17,7 @@ package org.modelmapper.config;
 
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.modelmapper.Provider;
 import org.modelmapper.spi.ConditionalConverter;
@@ -50,6 +51,30 @@ public interface Configuration {
    */
   Configuration copy();
 
+  /**
+   * Sets whether collection sharing should be enabled. When true, a source Collection or Map whose
+   * elements are immutable values such as Strings, primitive wrappers and enums, and which would be
+   * copied as-is, is shared with a destination of the corresponding interface type as an
+   * unmodifiable view rather than copied. The view reflects later changes to the source. Default
+   * is {@code false}.
+   * 
+   * @param enabled whether collection sharing is enabled
+   * @see #isCollectionSharingEnabled()
+   */
+  Configuration enableCollectionSharing(boolean enabled);
+
+  /**
+   * Sets whether dirty checking should be enabled. When true, mapping to a provided destination
+   * only sets destination properties whose current value, as read through their accessor, differs
+   * from the mapped value, so that frameworks that track changes to the destination only see
+   * actual changes. Default is {@code false}.
+   * 
+   * @param enabled whether dirty checking is enabled
+   * @see #isDirtyCheckingEnabled()
+   * @see org.modelmapper.ModelMapper#mapChanges(Object, Object)
+   */
+  Configuration enableDirtyChecking(boolean enabled);
+
   /**
    * Sets whether field matching should be enabled. When true, mapping may take place between
    * accessible fields. Default is {@code false}.
@@ -60,6 +85,21 @@ public interface Configuration {
    */
   Configuration enableFieldMatching(boolean enabled);
 
+  /**
+   * Sets whether lazy mapping should be enabled. When true, a nested destination property whose
+   * mappings are those of the TypeMap for its source and destination property types is set to a
+   * proxy of the destination property type, which performs the mapping on the first invocation of
+   * one of its methods, so that unused parts of a destination graph are never mapped and the
+   * corresponding source properties are never read. Fields of a proxy are not mapped, and
+   * properties of types that can take part in a circular reference are mapped eagerly when
+   * {@link #isResolveCircular() resolving circular references}. Mapping to a provided destination
+   * is always eager. Default is {@code false}.
+   * 
+   * @param enabled whether lazy mapping is enabled
+   * @see #isLazyMappingEnabled()
+   */
+  Configuration enableLazyMapping(boolean enabled);
+
   /**
    * Gets the ordered list of internal conditional converters that are used to perform type
    * conversion. This list is mutable and may be modified to control which converters are used to
@@ -112,6 +152,22 @@ public interface Configuration {
    */
   AccessLevel getMethodAccessLevel();
 
+  /**
+   * Returns the executor used to map the elements of large collections, arrays and maps in
+   * parallel, else {@code null} if elements are always mapped sequentially.
+   * 
+   * @see #setParallelMappingExecutor(ExecutorService)
+   */
+  ExecutorService getParallelMappingExecutor();
+
+  /**
+   * Returns the number of elements at and above which the elements of a collection, array or map
+   * are mapped in parallel.
+   * 
+   * @see #setParallelMappingThreshold(int)
+   */
+  int getParallelMappingThreshold();
+
   /**
    * Returns the Provider used for provisioning destination object instances.
    * 
@@ -158,6 +214,20 @@ public interface Configuration {
    */
   boolean isAmbiguityIgnored();
 
+  /**
+   * Returns whether collection sharing is enabled.
+   * 
+   * @see #enableCollectionSharing(boolean)
+   */
+  boolean isCollectionSharingEnabled();
+
+  /**
+   * Returns whether dirty checking is enabled.
+   * 
+   * @see #enableDirtyChecking(boolean)
+   */
+  boolean isDirtyCheckingEnabled();
+
   /**
    * Returns whether field matching is enabled.
    * 
@@ -171,6 +241,13 @@ public interface Configuration {
    */
   boolean isInstantiationInhibited(Type type);
 
+  /**
+   * Returns whether lazy mapping is enabled.
+   * 
+   * @see #enableLazyMapping(boolean)
+   */
+  boolean isLazyMappingEnabled();
+
   /**
    * Returns whether modelmapper should try to resolve circular references,
    * at the expense of breaking mappings with multiple different (converted) targets
@@ -229,6 +306,31 @@ public interface Configuration {
    */
   Configuration setMethodAccessLevel(AccessLevel accessLevel);
 
+  /**
+   * Sets the {@code executor} used to map the elements of collections, arrays and maps whose size
+   * reaches the {@link #setParallelMappingThreshold(int) parallel mapping threshold}. Elements are
+   * split into chunks that are mapped on the {@code executor} and the calling thread, and the
+   * results are written in the source's element order. Default is {@code null}, which maps
+   * elements sequentially.
+   * 
+   * <p>
+   * <b>Note</b>: Elements are only mapped in parallel when {@link #setResolveCircular(boolean)
+   * circular reference resolution} is disabled, since resolving circular references requires
+   * tracking every mapped source across the whole object graph.
+   * 
+   * @param executor to map elements with, or {@code null} to map elements sequentially
+   */
+  Configuration setParallelMappingExecutor(ExecutorService executor);
+
+  /**
+   * Sets the number of elements at and above which the elements of a collection, array or map are
+   * mapped in parallel when a {@link #setParallelMappingExecutor(ExecutorService) parallel mapping
+   * executor} is configured. Default is {@code 1000}.
+   * 
+   * @throws IllegalArgumentException if {@code threshold} is less than {@code 2}
+   */
+  Configuration setParallelMappingThreshold(int threshold);
+
   /**
    * Sets the {@code provider} to use for providing destination object instances.
    * 
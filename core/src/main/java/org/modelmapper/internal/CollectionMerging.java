@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.modelmapper.KeyExtractor;
+import org.modelmapper.TypeMap;
+import org.modelmapper.internal.util.Types;
+import org.modelmapper.spi.MappingContext;
+
+/**
+ * Merges mapped source elements into an existing destination collection using the
+ * {@link TypeMap#setMergeKeys(KeyExtractor, KeyExtractor) merge keys} of the element TypeMap. The
+ * destination elements are indexed by key so that merging takes time proportional to the number of
+ * source and destination elements.
+ * 
+ * @author Jonathan Halterman
+ */
+public final class CollectionMerging {
+  private CollectionMerging() {
+  }
+
+  /**
+   * Returns the TypeMap with merge keys for mapping the elements of the Iterable or array
+   * {@code source} to {@code elementType} elements, else {@code null} if the elements cannot be
+   * merged. The TypeMap is resolved from the type of the first non-null source element.
+   */
+  public static TypeMap<?, ?> typeMapFor(MappingContext<?, ?> context, Object source,
+      Class<?> elementType) {
+    MappingEngineImpl engine = (MappingEngineImpl) context.getMappingEngine();
+    TypeMapStore typeMapStore = engine.configuration.typeMapStore;
+    Iterable<?> elements = elementsOf(source);
+    if (!typeMapStore.mergeKeysConfigured || elements == null)
+      return null;
+
+    for (Object element : elements)
+      if (element != null) {
+        TypeMap<?, ?> typeMap = typeMapStore.get(Types.deProxy(element.getClass()), elementType);
+        return typeMap != null && typeMap.getSourceKeyExtractor() != null ? typeMap : null;
+      }
+
+    return null;
+  }
+
+  /**
+   * Merges the elements of the Iterable or array {@code source} into the {@code destination} using the merge keys of the
+   * {@code typeMap}. Destination elements that match a source element by key are mapped onto in
+   * place, unmatched source elements are mapped to new {@code elementType} elements and appended,
+   * and unmatched destination elements are removed. When dirty checking, the path of the
+   * {@code destination} is recorded as changed if elements were added or removed.
+   */
+  @SuppressWarnings("unchecked")
+  public static void merge(MappingContext<?, ?> context, Object source,
+      Collection<Object> destination, TypeMap<?, ?> typeMap, Class<?> elementType) {
+    KeyExtractor<Object> sourceKeys = (KeyExtractor<Object>) typeMap.getSourceKeyExtractor();
+    KeyExtractor<Object> destinationKeys = (KeyExtractor<Object>) typeMap.getDestinationKeyExtractor();
+    MappingContextImpl<?, ?> contextImpl = (MappingContextImpl<?, ?>) context;
+    MappingEngineImpl engine = (MappingEngineImpl) context.getMappingEngine();
+
+    Map<Object, Object> index = new HashMap<Object, Object>();
+    for (Object element : destination)
+      if (element != null) {
+        Object key = destinationKeys.keyOf(element);
+        if (key != null)
+          index.put(key, element);
+      }
+
+    Map<Object, Object> matched = new IdentityHashMap<Object, Object>();
+    List<Object> added = new ArrayList<Object>();
+    InlineCache cache = new InlineCache();
+    for (Object element : elementsOf(source)) {
+      Object key = element == null ? null : sourceKeys.keyOf(element);
+      Object match = key == null ? null : index.remove(key);
+      if (match == null)
+        added.add(engine.mapElement(context, element, elementType, cache));
+      else {
+        MappingContextImpl<Object, Object> elementContext = new MappingContextImpl<Object, Object>(
+            contextImpl, element, Types.<Object>deProxy(element.getClass()), match,
+            (Class<Object>) elementType, context.getMapping(), false);
+        engine.map(elementContext);
+        matched.put(match, match);
+      }
+    }
+
+    boolean changed = !added.isEmpty();
+    for (Iterator<Object> iterator = destination.iterator(); iterator.hasNext();)
+      if (!matched.containsKey(iterator.next())) {
+        iterator.remove();
+        changed = true;
+      }
+    destination.addAll(added);
+
+    if (changed && contextImpl.changedPaths != null) {
+      String path = contextImpl.destinationPathOf("");
+      contextImpl.changedPaths.add(path.substring(0, path.length() - 1));
+    }
+  }
+
+  private static Iterable<?> elementsOf(Object source) {
+    return source instanceof Object[] ? Arrays.asList((Object[]) source)
+        : source instanceof Iterable ? (Iterable<?>) source : null;
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import org.modelmapper.Condition;
+import org.modelmapper.spi.MappingContext;
+
+/**
+ * A Condition compiled for a particular property mapping, with constant parts folded so that
+ * built-in conditions can be evaluated against the raw source value before a property
+ * MappingContext is created. Conditions that are not {@link CompilableCondition compilable} are
+ * evaluated against a MappingContext as usual.
+ * 
+ * @author Jonathan Halterman
+ */
+public abstract class CompiledCondition {
+  public static final CompiledCondition ALWAYS = new Constant(true);
+  public static final CompiledCondition NEVER = new Constant(false);
+  public static final CompiledCondition IS_NULL = new NullCheck(true);
+  public static final CompiledCondition IS_NOT_NULL = new NullCheck(false);
+
+  CompiledCondition() {
+  }
+
+  private static final class Constant extends CompiledCondition {
+    private final Boolean value;
+
+    Constant(boolean value) {
+      this.value = Boolean.valueOf(value);
+    }
+
+    @Override
+    Boolean evaluate(Object source) {
+      return value;
+    }
+
+    @Override
+    boolean applies(MappingContext<Object, Object> context) {
+      return value.booleanValue();
+    }
+
+    @Override
+    CompiledCondition negate() {
+      return value.booleanValue() ? NEVER : ALWAYS;
+    }
+  }
+
+  private static final class NullCheck extends CompiledCondition {
+    private final boolean isNull;
+
+    NullCheck(boolean isNull) {
+      this.isNull = isNull;
+    }
+
+    @Override
+    Boolean evaluate(Object source) {
+      return Boolean.valueOf((source == null) == isNull);
+    }
+
+    @Override
+    boolean applies(MappingContext<Object, Object> context) {
+      return (context.getSource() == null) == isNull;
+    }
+
+    @Override
+    CompiledCondition negate() {
+      return isNull ? IS_NOT_NULL : IS_NULL;
+    }
+  }
+
+  private static final class And extends CompiledCondition {
+    private final CompiledCondition a;
+    private final CompiledCondition b;
+
+    And(CompiledCondition a, CompiledCondition b) {
+      this.a = a;
+      this.b = b;
+    }
+
+    @Override
+    Boolean evaluate(Object source) {
+      Boolean first = a.evaluate(source);
+      if (Boolean.FALSE.equals(first))
+        return Boolean.FALSE;
+      Boolean second = b.evaluate(source);
+      if (Boolean.FALSE.equals(second))
+        return Boolean.FALSE;
+      return first == null || second == null ? null : Boolean.TRUE;
+    }
+
+    @Override
+    boolean applies(MappingContext<Object, Object> context) {
+      return a.applies(context) && b.applies(context);
+    }
+  }
+
+  private static final class Or extends CompiledCondition {
+    private final CompiledCondition a;
+    private final CompiledCondition b;
+
+    Or(CompiledCondition a, CompiledCondition b) {
+      this.a = a;
+      this.b = b;
+    }
+
+    @Override
+    Boolean evaluate(Object source) {
+      Boolean first = a.evaluate(source);
+      if (Boolean.TRUE.equals(first))
+        return Boolean.TRUE;
+      Boolean second = b.evaluate(source);
+      if (Boolean.TRUE.equals(second))
+        return Boolean.TRUE;
+      return first == null || second == null ? null : Boolean.FALSE;
+    }
+
+    @Override
+    boolean applies(MappingContext<Object, Object> context) {
+      return a.applies(context) || b.applies(context);
+    }
+  }
+
+  private static final class Not extends CompiledCondition {
+    private final CompiledCondition delegate;
+
+    Not(CompiledCondition delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    Boolean evaluate(Object source) {
+      Boolean result = delegate.evaluate(source);
+      return result == null ? null : Boolean.valueOf(!result.booleanValue());
+    }
+
+    @Override
+    boolean applies(MappingContext<Object, Object> context) {
+      return !delegate.applies(context);
+    }
+
+    @Override
+    CompiledCondition negate() {
+      return delegate;
+    }
+  }
+
+  /**
+   * Evaluates an arbitrary Condition against the MappingContext.
+   */
+  private static final class ContextCondition extends CompiledCondition {
+    private final Condition<Object, Object> condition;
+
+    @SuppressWarnings("unchecked")
+    ContextCondition(Condition<?, ?> condition) {
+      this.condition = (Condition<Object, Object>) condition;
+    }
+
+    @Override
+    Boolean evaluate(Object source) {
+      return null;
+    }
+
+    @Override
+    boolean applies(MappingContext<Object, Object> context) {
+      return condition.applies(context);
+    }
+  }
+
+  /**
+   * Returns a condition that applies if {@code a} and {@code b} apply, folding constants.
+   */
+  public static CompiledCondition and(CompiledCondition a, CompiledCondition b) {
+    if (a == NEVER || b == NEVER)
+      return NEVER;
+    if (a == ALWAYS)
+      return b;
+    if (b == ALWAYS)
+      return a;
+    return new And(a, b);
+  }
+
+  /**
+   * Compiles the {@code condition} for property mappings whose static source type is
+   * {@code sourceType}.
+   */
+  public static CompiledCondition compile(Condition<?, ?> condition, Class<?> sourceType) {
+    return condition instanceof CompilableCondition ? ((CompilableCondition) condition).compile(sourceType)
+        : new ContextCondition(condition);
+  }
+
+  /**
+   * Returns a condition that applies if {@code condition} does not apply, folding constants.
+   */
+  public static CompiledCondition not(CompiledCondition condition) {
+    return condition.negate();
+  }
+
+  /**
+   * Returns a condition that applies if {@code a} or {@code b} apply, folding constants.
+   */
+  public static CompiledCondition or(CompiledCondition a, CompiledCondition b) {
+    if (a == ALWAYS || b == ALWAYS)
+      return ALWAYS;
+    if (a == NEVER)
+      return b;
+    if (b == NEVER)
+      return a;
+    return new Or(a, b);
+  }
+
+  /**
+   * Evaluates the condition against the resolved property {@code source} value.
+   * 
+   * @return whether the condition applies, else {@code null} if that can only be determined
+   *         against a MappingContext
+   */
+  abstract Boolean evaluate(Object source);
+
+  /**
+   * Evaluates the condition against the property {@code context}.
+   */
+  abstract boolean applies(MappingContext<Object, Object> context);
+
+  CompiledCondition negate() {
+    return new Not(this);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Type;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.modelmapper.Provider;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.spi.MatchingStrategy;
+import org.modelmapper.spi.NameTokenizer;
+import org.modelmapper.spi.NameTransformer;
+import org.modelmapper.spi.NamingConvention;
+
+/**
+ * An immutable snapshot of the effective settings of an {@link InheritingConfiguration}, resolved
+ * against its parents. Snapshots are rebuilt when a setter is called, so that the mapping engine
+ * reads plain fields rather than walking the parent chain for each lookup.
+ * 
+ * @author Jonathan Halterman
+ */
+final class ConfigurationSnapshot {
+  /** The parent's snapshot that this snapshot was resolved against, else {@code null} */
+  final ConfigurationSnapshot parent;
+  final NameTokenizer destinationNameTokenizer;
+  final NameTransformer destinationNameTransformer;
+  final NamingConvention destinationNamingConvention;
+  final AccessLevel fieldAccessLevel;
+  final MatchingStrategy matchingStrategy;
+  final AccessLevel methodAccessLevel;
+  final ExecutorService parallelMappingExecutor;
+  final int parallelMappingThreshold;
+  final Provider<?> provider;
+  final NameTokenizer sourceNameTokenizer;
+  final NameTransformer sourceNameTransformer;
+  final NamingConvention sourceNamingConvention;
+  final boolean fieldMatchingEnabled;
+  final boolean collectionSharingEnabled;
+  final boolean dirtyCheckingEnabled;
+  final boolean lazyMappingEnabled;
+  final boolean ambiguityIgnored;
+  final boolean resolveCircular;
+  /** Shared by copies of a configuration and therefore read live */
+  private final Set<Type> instantiationInhibited;
+  private final int hashCode;
+
+  ConfigurationSnapshot(InheritingConfiguration config, ConfigurationSnapshot parent) {
+    this.parent = parent;
+    destinationNameTokenizer = config.destinationNameTokenizer == null
+        ? parent.destinationNameTokenizer : config.destinationNameTokenizer;
+    destinationNameTransformer = config.destinationNameTransformer == null
+        ? parent.destinationNameTransformer : config.destinationNameTransformer;
+    destinationNamingConvention = config.destinationNamingConvention == null
+        ? parent.destinationNamingConvention : config.destinationNamingConvention;
+    fieldAccessLevel = config.fieldAccessLevel == null ? parent.fieldAccessLevel
+        : config.fieldAccessLevel;
+    matchingStrategy = config.matchingStrategy == null ? parent.matchingStrategy
+        : config.matchingStrategy;
+    methodAccessLevel = config.methodAccessLevel == null ? parent.methodAccessLevel
+        : config.methodAccessLevel;
+    parallelMappingExecutor = config.parallelMappingExecutor == null && parent != null
+        ? parent.parallelMappingExecutor : config.parallelMappingExecutor;
+    parallelMappingThreshold = config.parallelMappingThreshold == null
+        ? parent.parallelMappingThreshold : config.parallelMappingThreshold.intValue();
+    provider = config.provider;
+    sourceNameTokenizer = config.sourceNameTokenizer == null ? parent.sourceNameTokenizer
+        : config.sourceNameTokenizer;
+    sourceNameTransformer = config.sourceNameTransformer == null ? parent.sourceNameTransformer
+        : config.sourceNameTransformer;
+    sourceNamingConvention = config.sourceNamingConvention == null ? parent.sourceNamingConvention
+        : config.sourceNamingConvention;
+    fieldMatchingEnabled = config.enableFieldMatching == null ? parent.fieldMatchingEnabled
+        : config.enableFieldMatching.booleanValue();
+    collectionSharingEnabled = config.enableCollectionSharing == null
+        ? parent.collectionSharingEnabled : config.enableCollectionSharing.booleanValue();
+    dirtyCheckingEnabled = config.enableDirtyChecking == null ? parent.dirtyCheckingEnabled
+        : config.enableDirtyChecking.booleanValue();
+    lazyMappingEnabled = config.enableLazyMapping == null ? parent.lazyMappingEnabled
+        : config.enableLazyMapping.booleanValue();
+    ambiguityIgnored = config.ignoreAmbiguity == null ? parent.ambiguityIgnored
+        : config.ignoreAmbiguity.booleanValue();
+    resolveCircular = config.resolveCircular == null ? parent.resolveCircular
+        : config.resolveCircular.booleanValue();
+    instantiationInhibited = config.instantiationInhibited;
+
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + sourceNameTransformer.hashCode();
+    result = prime * result + destinationNameTransformer.hashCode();
+    result = prime * result + fieldAccessLevel.hashCode();
+    result = prime * result + methodAccessLevel.hashCode();
+    result = prime * result + (fieldMatchingEnabled ? 1231 : 1237);
+    hashCode = result;
+  }
+
+  /**
+   * Determines equality from the name transformers, access levels and field matching configuration.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (!(obj instanceof ConfigurationSnapshot))
+      return false;
+
+    ConfigurationSnapshot other = (ConfigurationSnapshot) obj;
+    return hashCode == other.hashCode && sourceNameTransformer.equals(other.sourceNameTransformer)
+        && destinationNameTransformer.equals(other.destinationNameTransformer)
+        && fieldAccessLevel == other.fieldAccessLevel
+        && methodAccessLevel == other.methodAccessLevel
+        && fieldMatchingEnabled == other.fieldMatchingEnabled;
+  }
+
+  /**
+   * Returns a hash code, computed when the snapshot was created, from the name transformers,
+   * access levels and field matching configuration.
+   */
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  boolean isInstantiationInhibited(Type type) {
+    return instantiationInhibited.contains(type);
+  }
+}
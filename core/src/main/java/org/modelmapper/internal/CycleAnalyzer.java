@@ -0,0 +1,125 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.modelmapper.config.Configuration;
+import org.modelmapper.internal.util.TypeResolver;
+import org.modelmapper.internal.util.TypeResolver.Unknown;
+import org.modelmapper.internal.util.Types;
+
+/**
+ * Determines which source types can take part in a circular reference, so that circular
+ * reference resolution only needs to track the instances of those types. A type can take part in a
+ * cycle if the type graph formed by the readable properties of the type, and the element types of
+ * its collection, array and map properties, leads back to the type.
+ * 
+ * <p>
+ * The analysis is conservative: properties whose type is {@code Object}, an interface, or a
+ * collection whose element type cannot be resolved could refer to anything, and therefore make a
+ * type cyclic. Subclasses of declared property types are not analyzed, since they cannot be
+ * enumerated. A subclass instance that leads back to a source being mapped is instead resolved
+ * against the enclosing mapping contexts. Results are discarded whenever the configuration
+ * changes, since the properties of a type depend on the configured access levels and field
+ * matching.
+ * 
+ * @author Jonathan Halterman
+ */
+final class CycleAnalyzer {
+  private final Configuration configuration;
+  private volatile Results results;
+
+  private static class Results {
+    private final ConfigurationSnapshot snapshot;
+    private final Map<Class<?>, Boolean> cyclicTypes = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    Results(ConfigurationSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+  }
+
+  CycleAnalyzer(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Returns whether instances of the {@code type} can take part in a circular reference when
+   * mapping with the {@code snapshot} of the configuration.
+   */
+  boolean isCyclic(Class<?> type, ConfigurationSnapshot snapshot) {
+    Results current = results;
+    if (current == null || current.snapshot != snapshot)
+      results = current = new Results(snapshot);
+
+    Boolean cyclic = current.cyclicTypes.get(type);
+    if (cyclic == null) {
+      cyclic = Boolean.valueOf(!isLeaf(type) && reaches(type, type, new HashSet<Class<?>>()));
+      current.cyclicTypes.put(type, cyclic);
+    }
+
+    return cyclic.booleanValue();
+  }
+
+  /**
+   * Returns whether the {@code target} type may be reachable from the properties of the
+   * {@code type}.
+   */
+  private boolean reaches(Class<?> type, Class<?> target, Set<Class<?>> visited) {
+    for (Accessor accessor : TypeInfoRegistry.typeInfoFor(type, configuration)
+        .getAccessors()
+        .values()) {
+      Class<?> propertyType = accessor.getType();
+      if (propertyType.isArray()) {
+        if (reachesVia(propertyType.getComponentType(), target, visited))
+          return true;
+      } else if (Collection.class.isAssignableFrom(propertyType)
+          || Map.class.isAssignableFrom(propertyType)) {
+        Class<?>[] elementTypes = TypeResolver.resolveArguments(accessor.getGenericType(), type);
+        if (elementTypes == null)
+          return true;
+        for (Class<?> elementType : elementTypes)
+          if (elementType == Unknown.class || reachesVia(elementType, target, visited))
+            return true;
+      } else if (reachesVia(propertyType, target, visited))
+        return true;
+    }
+
+    return false;
+  }
+
+  private boolean reachesVia(Class<?> type, Class<?> target, Set<Class<?>> visited) {
+    if (isLeaf(type))
+      return false;
+    if (type == Object.class || type.isInterface() || type.isAssignableFrom(target)
+        || target.isAssignableFrom(type))
+      return true;
+    return visited.add(type) && reaches(type, target, visited);
+  }
+
+  /**
+   * Returns whether instances of the {@code type} cannot refer to other mapped objects.
+   */
+  private static boolean isLeaf(Class<?> type) {
+    return type.isPrimitive() || Types.isImmutable(type) || type.isArray()
+        && isLeaf(type.getComponentType()) || type.getName().startsWith("java.")
+        && !type.isInterface() && type != Object.class;
+  }
+}
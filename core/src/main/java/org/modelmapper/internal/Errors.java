@@ -176,6 +176,11 @@ public final class Errors {
     return addMessage(t, "Error mapping %s to %s", source, Types.toString(destinationType));
   }
 
+  public Errors errorMappingElement(int index, ErrorMessage message) {
+    return addMessage(message.getCause(), "Error mapping element %s: %s", index,
+        message.getMessage());
+  }
+
   public Errors errorSettingValue(Member member, Object value, Throwable t) {
     return addMessage(t, "Failed to set value '%s' on %s", value, member);
   }
@@ -309,12 +314,29 @@ public final class Errors {
         method);
   }
 
+  Errors invalidDestinationPath(String path, String propertyName, Class<?> type) {
+    return addMessage(
+        "Invalid destination path '%s'. No destination property named '%s' exists in %s.", path,
+        propertyName, type);
+  }
+
   Errors invalidSourceMethod(Method method) {
     return addMessage(
         "Invalid source method %s. Ensure that method has zero parameters and does not return void.",
         method);
   }
 
+  Errors invalidSourcePath(String path, String propertyName, Class<?> type) {
+    return addMessage("Invalid source path '%s'. No source property named '%s' exists in %s.",
+        path, propertyName, type);
+  }
+
+  Errors frozenTypeMapCreation(Class<?> sourceType, Class<?> destinationType) {
+    return addMessage(
+        "Cannot create a TypeMap for %s to %s since the ModelMapper is frozen. Create it before calling freeze().",
+        sourceType, destinationType);
+  }
+
   Errors invocationAgainstFinalClassOrMethod() {
     return addMessage("Cannot map to final type.");
   }
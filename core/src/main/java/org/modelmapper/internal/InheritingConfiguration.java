@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
 
 import org.modelmapper.Provider;
 import org.modelmapper.config.Configuration;
@@ -42,23 +43,30 @@ import org.modelmapper.spi.NamingConvention;
  * @author Jonathan Halterman
  */
 public class InheritingConfiguration implements Configuration {
-  private final Configuration parent;
+  private final InheritingConfiguration parent;
   public final TypeMapStore typeMapStore;
   public final ConverterStore converterStore;
-  private NameTokenizer destinationNameTokenizer;
-  private NameTransformer destinationNameTransformer;
-  private NamingConvention destinationNamingConvention;
-  private AccessLevel fieldAccessLevel;
-  private MatchingStrategy matchingStrategy;
-  private AccessLevel methodAccessLevel;
-  private Provider<?> provider;
-  private NameTokenizer sourceNameTokenizer;
-  private NameTransformer sourceNameTransformer;
-  private NamingConvention sourceNamingConvention;
+  NameTokenizer destinationNameTokenizer;
+  NameTransformer destinationNameTransformer;
+  NamingConvention destinationNamingConvention;
+  AccessLevel fieldAccessLevel;
+  MatchingStrategy matchingStrategy;
+  AccessLevel methodAccessLevel;
+  Provider<?> provider;
+  ExecutorService parallelMappingExecutor;
+  Integer parallelMappingThreshold;
+  NameTokenizer sourceNameTokenizer;
+  NameTransformer sourceNameTransformer;
+  NamingConvention sourceNamingConvention;
   Boolean enableFieldMatching;
+  Boolean enableCollectionSharing;
+  Boolean enableDirtyChecking;
+  Boolean enableLazyMapping;
   Boolean ignoreAmbiguity;
-  private Set<Type> instantiationInhibited;
-  private Boolean resolveCircular; 
+  final Set<Type> instantiationInhibited;
+  Boolean resolveCircular;
+  /** The effective settings, rebuilt lazily after a setter is called */
+  private volatile ConfigurationSnapshot snapshot;
 
   /**
    * Creates an initial InheritingConfiguration.
@@ -77,9 +85,13 @@ public class InheritingConfiguration implements Configuration {
     fieldAccessLevel = AccessLevel.PUBLIC;
     methodAccessLevel = AccessLevel.PUBLIC;
     enableFieldMatching = Boolean.FALSE;
+    enableCollectionSharing = Boolean.FALSE;
+    enableDirtyChecking = Boolean.FALSE;
+    enableLazyMapping = Boolean.FALSE;
     ignoreAmbiguity = Boolean.FALSE;
     instantiationInhibited = new HashSet<Type>();
     resolveCircular = Boolean.TRUE;
+    parallelMappingThreshold = Integer.valueOf(1000);
   }
 
   /**
@@ -105,8 +117,13 @@ public class InheritingConfiguration implements Configuration {
       fieldAccessLevel = source.fieldAccessLevel;
       methodAccessLevel = source.methodAccessLevel;
       enableFieldMatching = source.enableFieldMatching;
+      enableCollectionSharing = source.enableCollectionSharing;
+      enableDirtyChecking = source.enableDirtyChecking;
+      enableLazyMapping = source.enableLazyMapping;
       ignoreAmbiguity = source.ignoreAmbiguity;
       resolveCircular = source.resolveCircular;
+      parallelMappingExecutor = source.parallelMappingExecutor;
+      parallelMappingThreshold = source.parallelMappingThreshold;
     }
   }
 
@@ -114,8 +131,27 @@ public class InheritingConfiguration implements Configuration {
     return new InheritingConfiguration(this, false);
   }
 
+  public Configuration enableCollectionSharing(boolean enabled) {
+    enableCollectionSharing = enabled;
+    snapshot = null;
+    return this;
+  }
+
+  public Configuration enableDirtyChecking(boolean enabled) {
+    enableDirtyChecking = enabled;
+    snapshot = null;
+    return this;
+  }
+
   public Configuration enableFieldMatching(boolean enabled) {
     enableFieldMatching = enabled;
+    snapshot = null;
+    return this;
+  }
+
+  public Configuration enableLazyMapping(boolean enabled) {
+    enableLazyMapping = enabled;
+    snapshot = null;
     return this;
   }
 
@@ -129,18 +165,7 @@ public class InheritingConfiguration implements Configuration {
     if (obj == null || getClass() != obj.getClass())
       return false;
 
-    InheritingConfiguration other = (InheritingConfiguration) obj;
-    if (!getSourceNameTransformer().equals(other.getSourceNameTransformer()))
-      return false;
-    if (!getDestinationNameTransformer().equals(other.getDestinationNameTransformer()))
-      return false;
-    if (getFieldAccessLevel() != other.getFieldAccessLevel())
-      return false;
-    if (getMethodAccessLevel() != other.getMethodAccessLevel())
-      return false;
-    if (isFieldMatchingEnabled() != other.isFieldMatchingEnabled())
-      return false;
-    return true;
+    return snapshot().equals(((InheritingConfiguration) obj).snapshot());
   }
 
   public List<ConditionalConverter<?, ?>> getConverters() {
@@ -148,30 +173,35 @@ public class InheritingConfiguration implements Configuration {
   }
 
   public NameTokenizer getDestinationNameTokenizer() {
-    return destinationNameTokenizer == null ? parent.getDestinationNameTokenizer()
-        : destinationNameTokenizer;
+    return snapshot().destinationNameTokenizer;
   }
 
   public NameTransformer getDestinationNameTransformer() {
-    return destinationNameTransformer == null ? parent.getDestinationNameTransformer()
-        : destinationNameTransformer;
+    return snapshot().destinationNameTransformer;
   }
 
   public NamingConvention getDestinationNamingConvention() {
-    return destinationNamingConvention == null ? parent.getDestinationNamingConvention()
-        : destinationNamingConvention;
+    return snapshot().destinationNamingConvention;
   }
 
   public AccessLevel getFieldAccessLevel() {
-    return fieldAccessLevel == null ? parent.getFieldAccessLevel() : fieldAccessLevel;
+    return snapshot().fieldAccessLevel;
   }
 
   public MatchingStrategy getMatchingStrategy() {
-    return matchingStrategy == null ? parent.getMatchingStrategy() : matchingStrategy;
+    return snapshot().matchingStrategy;
   }
 
   public AccessLevel getMethodAccessLevel() {
-    return methodAccessLevel == null ? parent.getMethodAccessLevel() : methodAccessLevel;
+    return snapshot().methodAccessLevel;
+  }
+
+  public ExecutorService getParallelMappingExecutor() {
+    return snapshot().parallelMappingExecutor;
+  }
+
+  public int getParallelMappingThreshold() {
+    return snapshot().parallelMappingThreshold;
   }
 
   public Provider<?> getProvider() {
@@ -179,17 +209,15 @@ public class InheritingConfiguration implements Configuration {
   }
 
   public NameTokenizer getSourceNameTokenizer() {
-    return sourceNameTokenizer == null ? parent.getSourceNameTokenizer() : sourceNameTokenizer;
+    return snapshot().sourceNameTokenizer;
   }
 
   public NameTransformer getSourceNameTransformer() {
-    return sourceNameTransformer == null ? parent.getSourceNameTransformer()
-        : sourceNameTransformer;
+    return snapshot().sourceNameTransformer;
   }
 
   public NamingConvention getSourceNamingConvention() {
-    return sourceNamingConvention == null ? parent.getSourceNamingConvention()
-        : sourceNamingConvention;
+    return snapshot().sourceNamingConvention;
   }
 
   /**
@@ -198,84 +226,113 @@ public class InheritingConfiguration implements Configuration {
    */
   @Override
   public int hashCode() {
-    final int prime = 31;
-    int result = 1;
-    result = prime * result + getSourceNameTransformer().hashCode();
-    result = prime * result + getDestinationNameTransformer().hashCode();
-    result = prime * result + getFieldAccessLevel().hashCode();
-    result = prime * result + getMethodAccessLevel().hashCode();
-    result = prime * result + (isFieldMatchingEnabled() ? 1231 : 1237);
-    return result;
+    return snapshot().hashCode();
   }
 
   public Configuration ignoreAmbiguity(boolean ignore) {
     this.ignoreAmbiguity = ignore;
+    snapshot = null;
     return this;
   }
 
   public boolean isAmbiguityIgnored() {
-    return ignoreAmbiguity == null ? parent.isAmbiguityIgnored() : ignoreAmbiguity;
+    return snapshot().ambiguityIgnored;
+  }
+
+  public boolean isCollectionSharingEnabled() {
+    return snapshot().collectionSharingEnabled;
+  }
+
+  public boolean isDirtyCheckingEnabled() {
+    return snapshot().dirtyCheckingEnabled;
   }
 
   public boolean isFieldMatchingEnabled() {
-    return enableFieldMatching == null ? parent.isFieldMatchingEnabled() : enableFieldMatching;
+    return snapshot().fieldMatchingEnabled;
   }
 
   public boolean isInstantiationInhibited(Type type) {
-      return instantiationInhibited.contains(type);
+    return instantiationInhibited.contains(type);
   }
-  
+
+  public boolean isLazyMappingEnabled() {
+    return snapshot().lazyMappingEnabled;
+  }
+
   public boolean isResolveCircular() {
-    return resolveCircular;
+    return snapshot().resolveCircular;
   }
-  
+
   public Configuration setDestinationNameTokenizer(NameTokenizer nameTokenizer) {
     destinationNameTokenizer = Assert.notNull(nameTokenizer);
+    snapshot = null;
     return this;
   }
 
   public Configuration setDestinationNameTransformer(NameTransformer nameTransformer) {
     destinationNameTransformer = Assert.notNull(nameTransformer);
+    snapshot = null;
     return this;
   }
 
   public Configuration setDestinationNamingConvention(NamingConvention namingConvention) {
     destinationNamingConvention = Assert.notNull(namingConvention);
+    snapshot = null;
     return this;
   }
 
   public Configuration setFieldAccessLevel(AccessLevel accessLevel) {
     fieldAccessLevel = Assert.notNull(accessLevel);
+    snapshot = null;
     return this;
   }
 
   public Configuration setMatchingStrategy(MatchingStrategy matchingStrategy) {
     this.matchingStrategy = Assert.notNull(matchingStrategy);
+    snapshot = null;
     return this;
   }
 
   public Configuration setMethodAccessLevel(AccessLevel accessLevel) {
     methodAccessLevel = Assert.notNull(accessLevel);
+    snapshot = null;
+    return this;
+  }
+
+  public Configuration setParallelMappingExecutor(ExecutorService executor) {
+    parallelMappingExecutor = executor;
+    snapshot = null;
+    return this;
+  }
+
+  public Configuration setParallelMappingThreshold(int threshold) {
+    Assert.isTrue(threshold > 1, "threshold must be greater than 1");
+    parallelMappingThreshold = Integer.valueOf(threshold);
+    snapshot = null;
     return this;
   }
 
   public Configuration setProvider(Provider<?> provider) {
     this.provider = Assert.notNull(provider);
+    snapshot = null;
     return this;
   }
 
   public Configuration setSourceNameTokenizer(NameTokenizer nameTokenizer) {
     sourceNameTokenizer = Assert.notNull(nameTokenizer);
+    snapshot = null;
     return this;
   }
 
   public Configuration setSourceNameTransformer(NameTransformer nameTransformer) {
     sourceNameTransformer = Assert.notNull(nameTransformer);
+    snapshot = null;
     return this;
   }
 
   public Configuration setSourceNamingConvention(NamingConvention namingConvention) {
     sourceNamingConvention = Assert.notNull(namingConvention);
+    snapshot = null;
     return this;
   }
   
@@ -286,6 +343,22 @@ public class InheritingConfiguration implements Configuration {
   
   public Configuration setResolveCircular(boolean resolveCircular) {
     this.resolveCircular = resolveCircular;
+    snapshot = null;
     return this;
   }
+
+  /**
+   * Returns a snapshot of the effective configuration, rebuilding it if the configuration or its
+   * parent changed since the last snapshot was taken.
+   */
+  ConfigurationSnapshot snapshot() {
+    ConfigurationSnapshot parentSnapshot = parent == null ? null : parent.snapshot();
+    ConfigurationSnapshot result = snapshot;
+    if (result == null || result.parent != parentSnapshot) {
+      result = new ConfigurationSnapshot(this, parentSnapshot);
+      snapshot = result;
+    }
+
+    return result;
+  }
 }
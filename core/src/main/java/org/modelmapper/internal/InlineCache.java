@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import org.modelmapper.Converter;
+import org.modelmapper.TypeMap;
+
+/**
+ * A small polymorphic cache, held by a mapping call site, of the TypeMap or Converter that each
+ * source type seen at the call site is mapped with. Call sites rarely see more than one or two
+ * source types, so up to {@link #MAX_ENTRIES} are cached, after which the call site is considered
+ * megamorphic and further source types are resolved in full. Entries are discarded whenever a
+ * TypeMap is added to the TypeMapStore, since it may change how a source type is resolved.
+ * 
+ * <p>
+ * The cache is thread-safe, so it may be shared by call sites that are used concurrently.
+ * 
+ * @author Jonathan Halterman
+ */
+public final class InlineCache {
+  static final int MAX_ENTRIES = 4;
+  private volatile Entries entries;
+
+  /**
+   * How values of a source type are mapped to the call site's destination type.
+   */
+  static final class Target {
+    /** The deproxied source type */
+    final Class<?> sourceType;
+    /** The TypeMap to map with, else null */
+    final TypeMap<?, ?> typeMap;
+    /** The Converter to map with, else null */
+    final Converter<?, ?> converter;
+
+    Target(Class<?> sourceType, TypeMap<?, ?> typeMap, Converter<?, ?> converter) {
+      this.sourceType = sourceType;
+      this.typeMap = typeMap;
+      this.converter = converter;
+    }
+  }
+
+  private static final class Entries {
+    private final int version;
+    private final Class<?>[] keys;
+    private final Target[] targets;
+
+    Entries(int version, Class<?>[] keys, Target[] targets) {
+      this.version = version;
+      this.keys = keys;
+      this.targets = targets;
+    }
+  }
+
+  /**
+   * Returns the Target cached for the {@code key} at the TypeMapStore {@code version}, else
+   * {@code null}.
+   */
+  Target get(Class<?> key, int version) {
+    Entries current = entries;
+    if (current == null || current.version != version)
+      return null;
+    for (int i = 0; i < current.keys.length; i++)
+      if (current.keys[i] == key)
+        return current.targets[i];
+    return null;
+  }
+
+  /**
+   * Caches the {@code target} for the {@code key}, where the {@code target} was resolved at the
+   * TypeMapStore {@code version}.
+   */
+  void put(Class<?> key, Target target, int version) {
+    Entries current = entries;
+    if (current == null || current.version != version) {
+      entries = new Entries(version, new Class<?>[] { key }, new Target[] { target });
+      return;
+    }
+
+    int size = current.keys.length;
+    if (size == MAX_ENTRIES)
+      return;
+
+    Class<?>[] keys = new Class<?>[size + 1];
+    Target[] targets = new Target[size + 1];
+    System.arraycopy(current.keys, 0, keys, 0, size);
+    System.arraycopy(current.targets, 0, targets, 0, size);
+    keys[size] = key;
+    targets[size] = target;
+    entries = new Entries(version, keys, targets);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.modelmapper.spi.ErrorMessage;
+
+/**
+ * Creates destination instances through a cached, accessible no-argument constructor. Types that
+ * cannot be instantiated are cached along with the resulting error message, so that they are
+ * reported without repeated reflective lookups and exception creation.
+ * 
+ * @param <T> type to instantiate
+ * 
+ * @author Jonathan Halterman
+ */
+final class Instantiator<T> {
+  private static final Map<Class<?>, Instantiator<?>> cache = new ConcurrentHashMap<Class<?>, Instantiator<?>>();
+  private final Class<T> type;
+  private final Constructor<T> constructor;
+  /** The error message to report if the type cannot be instantiated, else null */
+  private final ErrorMessage errorMessage;
+
+  private Instantiator(Class<T> type, Constructor<T> constructor, ErrorMessage errorMessage) {
+    this.type = type;
+    this.constructor = constructor;
+    this.errorMessage = errorMessage;
+  }
+
+  /**
+   * Returns the Instantiator for the {@code type}.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Instantiator<T> instantiatorFor(Class<T> type) {
+    Instantiator<T> instantiator = (Instantiator<T>) cache.get(type);
+    if (instantiator == null) {
+      instantiator = create(type);
+      cache.put(type, instantiator);
+    }
+
+    return instantiator;
+  }
+
+  private static <T> Instantiator<T> create(Class<T> type) {
+    try {
+      if (type.isInterface() || Modifier.isAbstract(type.getModifiers()))
+        throw new InstantiationException(type.getName() + " is abstract");
+      Constructor<T> constructor = type.getDeclaredConstructor();
+      if (!constructor.isAccessible())
+        constructor.setAccessible(true);
+      return new Instantiator<T>(type, constructor, null);
+    } catch (Exception e) {
+      return new Instantiator<T>(type, null, new Errors().errorInstantiatingDestination(type, e)
+          .getMessages()
+          .get(0));
+    }
+  }
+
+  /**
+   * Returns a new instance of the type, else {@code null} if the instance could not be created, in
+   * which case the failure is reported to the {@code errors}.
+   */
+  T newInstance(Errors errors) {
+    if (constructor == null) {
+      errors.addMessage(errorMessage);
+      return null;
+    }
+
+    try {
+      return constructor.newInstance();
+    } catch (Exception e) {
+      errors.errorInstantiatingDestination(type, e);
+      return null;
+    }
+  }
+}
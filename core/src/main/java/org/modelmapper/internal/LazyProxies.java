@@ -0,0 +1,127 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.cglib.core.DefaultNamingPolicy;
+import net.sf.cglib.core.NamingPolicy;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.LazyLoader;
+import net.sf.cglib.proxy.NoOp;
+
+import org.modelmapper.internal.util.Iterables;
+import org.modelmapper.internal.util.Types;
+
+/**
+ * Produces lazily loaded proxies of destination types, which obtain the destination object that
+ * they delegate to from a LazyLoader on the first invocation of one of their methods. Proxy classes
+ * are generated once for each destination type.
+ * 
+ * @author Jonathan Halterman
+ */
+final class LazyProxies {
+  private static final NamingPolicy NAMING_POLICY = new DefaultNamingPolicy() {
+    @Override
+    protected String getTag() {
+      return "LazyByModelMapper";
+    }
+  };
+
+  private static final CallbackFilter METHOD_FILTER = new CallbackFilter() {
+    public int accept(Method method) {
+      return method.getName().equals("finalize") && method.getParameterTypes().length == 0 ? 1 : 0;
+    }
+  };
+
+  /** Marks types whose proxy class cannot be generated */
+  private static final Constructor<?> NONE = LazyProxies.class.getDeclaredConstructors()[0];
+
+  /** Constructors of the proxy classes by destination type */
+  private final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+  /**
+   * Returns whether instances of the {@code type} can be lazily loaded through a proxy. Only
+   * interfaces and non-final classes with a non-private default constructor, which are not values,
+   * collections or JDK types, can be.
+   */
+  static boolean canProxy(Class<?> type) {
+    if (type.isPrimitive() || type.isArray() || Modifier.isFinal(type.getModifiers())
+        || Types.isImmutable(type) || Iterables.isIterable(type)
+        || Map.class.isAssignableFrom(type) || type.getName().startsWith("java."))
+      return false;
+    if (type.isInterface())
+      return true;
+    if (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+      return false;
+    for (Constructor<?> constructor : type.getDeclaredConstructors())
+      if (constructor.getParameterTypes().length == 0
+          && !Modifier.isPrivate(constructor.getModifiers()))
+        return true;
+    return false;
+  }
+
+  /**
+   * Returns a proxy of the {@code type} that delegates to the object loaded by the {@code loader},
+   * else {@code null} if the proxy cannot be created.
+   */
+  <T> T proxyFor(Class<T> type, LazyLoader loader) {
+    Constructor<?> constructor = constructors.get(type);
+    if (constructor == null) {
+      constructor = constructorFor(type);
+      constructors.put(type, constructor);
+    }
+    if (constructor == NONE)
+      return null;
+
+    Class<?> proxyClass = constructor.getDeclaringClass();
+    Enhancer.registerCallbacks(proxyClass, new Callback[] { loader, NoOp.INSTANCE });
+    try {
+      return type.cast(constructor.newInstance());
+    } catch (Exception e) {
+      return null;
+    } finally {
+      Enhancer.registerCallbacks(proxyClass, null);
+    }
+  }
+
+  private static Constructor<?> constructorFor(Class<?> type) {
+    Enhancer enhancer = new Enhancer();
+    if (type.isInterface())
+      enhancer.setInterfaces(new Class<?>[] { type });
+    else
+      enhancer.setSuperclass(type);
+    enhancer.setUseFactory(false);
+    enhancer.setNamingPolicy(NAMING_POLICY);
+    enhancer.setCallbackFilter(METHOD_FILTER);
+    enhancer.setCallbackTypes(new Class<?>[] { LazyLoader.class, NoOp.class });
+
+    try {
+      Class<?> proxyClass = enhancer.createClass();
+      Constructor<?> constructor = proxyClass.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return constructor;
+    } catch (Throwable t) {
+      return NONE;
+    }
+  }
+}
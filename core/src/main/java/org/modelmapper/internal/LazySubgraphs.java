@@ -0,0 +1,212 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.TypeMap;
+import org.modelmapper.spi.Mapping;
+
+/**
+ * Identifies the subgraphs of a TypeMap's destination that can be mapped lazily. A subgraph is
+ * formed by the mappings to the properties of a top level destination property, and can be mapped
+ * lazily if its mappings all read through the same top level source property and are, relative to
+ * those properties, the same as the mappings of the TypeMap for the source and destination property
+ * types. The subgraph can then be mapped with that TypeMap when the destination property is first
+ * accessed. If no TypeMap is registered for the property types, one is built with implicit mappings
+ * but not registered, so that identifying subgraphs does not add TypeMaps to the store. Since TypeMaps can be customized after their subgraphs were identified, the
+ * customizations of both TypeMaps are checked when mapping, via {@link #isPlain(TypeMap)} and
+ * {@link #mapsPropertiesPlainly(TypeMap)}.
+ * 
+ * @author Jonathan Halterman
+ */
+final class LazySubgraphs {
+  private final Map<Mapping, Subgraph> subgraphs = new IdentityHashMap<Mapping, Subgraph>();
+  private int size;
+
+  /**
+   * A lazily mappable subgraph, which is mapped from the value of the {@code sourceAccessor} to
+   * the {@code mutator} using the {@code typeMap}.
+   */
+  static final class Subgraph {
+    final int index;
+    final Accessor sourceAccessor;
+    final String sourcePath;
+    final Mutator mutator;
+    final String destinationPath;
+    final TypeMap<Object, Object> typeMap;
+
+    Subgraph(int index, PropertyMappingImpl mapping, TypeMap<Object, Object> typeMap) {
+      this.index = index;
+      sourceAccessor = (Accessor) mapping.getSourceProperties().get(0);
+      sourcePath = mapping.getSourcePaths()[0];
+      mutator = (Mutator) mapping.getDestinationProperties().get(0);
+      destinationPath = mapping.getDestinationPaths()[0];
+      this.typeMap = typeMap;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  LazySubgraphs(TypeMap<?, ?> typeMap, MappingEngineImpl engine) {
+    // Group the mappings by their top level destination property
+    Map<String, List<PropertyMappingImpl>> groups = new LinkedHashMap<String, List<PropertyMappingImpl>>();
+    Set<String> eagerGroups = new HashSet<String>();
+    for (Mapping mapping : typeMap.getMappings()) {
+      String name = mapping.getDestinationProperties().get(0).getName();
+      List<PropertyMappingImpl> group = groups.get(name);
+      if (group == null) {
+        group = new ArrayList<PropertyMappingImpl>();
+        groups.put(name, group);
+      }
+
+      if (!isPlain(mapping) || mapping.getDestinationProperties().size() < 2)
+        eagerGroups.add(name);
+      else {
+        PropertyMappingImpl propertyMapping = (PropertyMappingImpl) mapping;
+        if (propertyMapping.getSourceProperties().size() < 2
+            || !group.isEmpty()
+            && !group.get(0).getSourcePaths()[0].equals(propertyMapping.getSourcePaths()[0]))
+          eagerGroups.add(name);
+        group.add(propertyMapping);
+      }
+    }
+
+    ConfigurationSnapshot configuration = engine.configuration.snapshot();
+    for (Map.Entry<String, List<PropertyMappingImpl>> entry : groups.entrySet()) {
+      if (eagerGroups.contains(entry.getKey()))
+        continue;
+
+      List<PropertyMappingImpl> group = entry.getValue();
+      PropertyMappingImpl first = group.get(0);
+      Accessor sourceAccessor = (Accessor) first.getSourceProperties().get(0);
+      Mutator mutator = (Mutator) first.getDestinationProperties().get(0);
+      Class<Object> sourceType = (Class<Object>) sourceAccessor.getType();
+      Class<Object> destinationType = (Class<Object>) mutator.getType();
+      if (!LazyProxies.canProxy(destinationType) || configuration.resolveCircular
+          && engine.cycleAnalyzer.isCyclic(sourceType, configuration))
+        continue;
+
+      TypeMap<Object, Object> subgraphTypeMap = engine.configuration.typeMapStore.get(sourceType,
+          destinationType);
+      try {
+        if (subgraphTypeMap == null)
+          subgraphTypeMap = implicitTypeMapFor(sourceType, destinationType, engine);
+      } catch (ConfigurationException e) {
+        continue;
+      }
+
+      if (isEquivalent(group, subgraphTypeMap)) {
+        Subgraph subgraph = new Subgraph(size++, first, subgraphTypeMap);
+        for (PropertyMappingImpl mapping : group)
+          subgraphs.put(mapping, subgraph);
+      }
+    }
+  }
+
+  /**
+   * Builds an unregistered TypeMap with the implicit mappings of the {@code sourceType} and
+   * {@code destinationType}.
+   */
+  private static TypeMap<Object, Object> implicitTypeMapFor(Class<Object> sourceType,
+      Class<Object> destinationType, MappingEngineImpl engine) {
+    InheritingConfiguration configuration = engine.configuration;
+    TypeMapImpl<Object, Object> typeMap = new TypeMapImpl<Object, Object>(sourceType,
+        destinationType, configuration, engine);
+    new PropertyMappingBuilder<Object, Object>(typeMap, configuration.typeMapStore,
+        configuration.converterStore).build();
+    return typeMap;
+  }
+
+  /**
+   * Returns the lazily mappable subgraph that the {@code mapping} belongs to, else {@code null}.
+   */
+  Subgraph subgraphFor(Mapping mapping) {
+    return subgraphs.get(mapping);
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the number of lazily mappable subgraphs, which are indexed from 0.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the mappings of the {@code typeMap} are the mappings of the {@code group}
+   * relative to their top level source and destination properties.
+   */
+  private static boolean isEquivalent(List<PropertyMappingImpl> group, TypeMap<?, ?> typeMap) {
+    List<Mapping> mappings = typeMap.getMappings();
+    if (mappings.size() != group.size())
+      return false;
+
+    Set<String> paths = new HashSet<String>();
+    for (PropertyMappingImpl mapping : group) {
+      String[] sourcePaths = mapping.getSourcePaths();
+      String[] destinationPaths = mapping.getDestinationPaths();
+      paths.add(sourcePaths[sourcePaths.length - 1].substring(sourcePaths[0].length()) + '>'
+          + destinationPaths[destinationPaths.length - 1].substring(destinationPaths[0].length()));
+    }
+
+    for (Mapping mapping : mappings) {
+      if (!isPlain(mapping))
+        return false;
+      String[] sourcePaths = ((PropertyMappingImpl) mapping).getSourcePaths();
+      String[] destinationPaths = ((MappingImpl) mapping).getDestinationPaths();
+      if (!paths.remove(sourcePaths[sourcePaths.length - 1] + '>'
+          + destinationPaths[destinationPaths.length - 1]))
+        return false;
+    }
+
+    return paths.isEmpty();
+  }
+
+  /**
+   * Returns whether the {@code mapping} maps a source property without any customization.
+   */
+  private static boolean isPlain(Mapping mapping) {
+    return mapping instanceof PropertyMappingImpl && !((PropertyMappingImpl) mapping).cyclic
+        && mapping.getCondition() == null && mapping.getConverter() == null
+        && mapping.getProvider() == null && !mapping.isSkipped();
+  }
+
+  /**
+   * Returns whether the {@code typeMap} maps without any customization.
+   */
+  static boolean isPlain(TypeMap<?, ?> typeMap) {
+    return typeMap.getCondition() == null && typeMap.getConverter() == null
+        && typeMap.getProvider() == null && mapsPropertiesPlainly(typeMap);
+  }
+
+  /**
+   * Returns whether the {@code typeMap} maps its properties without any customization.
+   */
+  static boolean mapsPropertiesPlainly(TypeMap<?, ?> typeMap) {
+    return typeMap.getPropertyCondition() == null && typeMap.getPropertyConverter() == null
+        && typeMap.getPropertyProvider() == null;
+  }
+}
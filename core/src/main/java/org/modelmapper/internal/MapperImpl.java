@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.modelmapper.Mapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.internal.util.Assert;
+
+/**
+ * Mapper implementation that maps directly with a resolved TypeMap or Converter.
+ * 
+ * @author Jonathan Halterman
+ */
+public class MapperImpl<S, D> implements Mapper<S, D> {
+  private final InlineCache.Target target;
+  private final Class<S> sourceType;
+  private final Class<D> destinationType;
+  private final MappingEngineImpl engine;
+
+  /**
+   * Creates a Mapper for the {@code sourceType} and {@code destinationType} that maps using the
+   * TypeMap or Converter resolved for them by the {@code engine}.
+   */
+  public MapperImpl(Class<S> sourceType, Class<D> destinationType, MappingEngineImpl engine) {
+    this.sourceType = sourceType;
+    this.destinationType = destinationType;
+    this.engine = engine;
+    target = engine.resolve(sourceType, destinationType);
+  }
+
+  @SuppressWarnings("unchecked")
+  public TypeMap<S, D> getTypeMap() {
+    return (TypeMap<S, D>) target.typeMap;
+  }
+
+  public D map(S source) {
+    Assert.notNull(source, "source");
+    return map(new MappingContextImpl<S, D>(source, sourceType, null,
+        destinationType, null, engine));
+  }
+
+  public void map(S source, D destination) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destination, "destination");
+    map(new MappingContextImpl<S, D>(source, sourceType, destination,
+        destinationType, null, engine));
+  }
+
+  public List<D> mapAll(Collection<? extends S> sources) {
+    Assert.notNull(sources, "sources");
+    List<D> result = new ArrayList<D>(sources.size());
+    engine.mapAll(sources, sourceType, destinationType, target, result);
+    return result;
+  }
+
+  public void mapAll(Iterable<? extends S> sources, Collection<? super D> destinations) {
+    Assert.notNull(sources, "sources");
+    Assert.notNull(destinations, "destinations");
+    engine.mapAll(sources, sourceType, destinationType, target, destinations);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Mapper[%s -> %s]", sourceType.getSimpleName(),
+        destinationType.getSimpleName());
+  }
+
+  private D map(MappingContextImpl<S, D> context) {
+    D result = null;
+
+    try {
+      result = engine.mapWith(context, target);
+    } catch (Throwable t) {
+      context.errors.errorMapping(sourceType, destinationType, t);
+    }
+
+    context.errors.throwMappingExceptionIfErrorsExist();
+    return result;
+  }
+}
@@ -34,7 +34,9 @@ import org.modelmapper.internal.util.Assert;
 import org.modelmapper.internal.util.Types;
 
 /**
- * Builds explicit property mappings.
+ * Builds explicit property mappings. A builder is confined to the thread that configures its
+ * PropertyMap and owns its proxies and their interceptors, so builds for different PropertyMaps
+ * can run concurrently.
  * 
  * @author Jonathan Halterman
  */
@@ -43,12 +45,13 @@ public class MappingBuilderImpl<S, D> implements ConditionExpression<S, D> {
   private final Class<S> sourceType;
   private final Class<D> destinationType;
   final Configuration configuration;
-  volatile S source;
-  private volatile D destination;
+  S source;
+  private D destination;
   final Errors errors = new Errors();
   private final List<MappingImpl> propertyMappings = new LinkedList<MappingImpl>();
   private final SourceProgress sourceProgress;
   private final DestinationProgress destinationProgress;
+  final ProxySession proxySession = new ProxySession();
   private MappingOptions options = new MappingOptions();
   private boolean destinationRequested;
 
@@ -132,6 +135,10 @@ public class MappingBuilderImpl<S, D> implements ConditionExpression<S, D> {
         errors.merge(((ConfigurationException) cause).getErrorMessages());
       else
         errors.addError("building mappings", cause);
+    } finally {
+      source = null;
+      destination = null;
+      proxySession.release();
     }
 
     errors.throwConfigurationExceptionIfErrorsExist();
@@ -142,15 +149,11 @@ public class MappingBuilderImpl<S, D> implements ConditionExpression<S, D> {
     destinationRequested = true;
 
     if (destination == null) {
-      synchronized (MappingBuilderImpl.class) {
-        if (destination == null) {
-          try {
-            destination = ProxyFactory.<D>proxyFor(destinationType, destinationProgress);
-          } catch (ErrorsException e) {
-            errors.merge(e.getErrors());
-            errors.throwConfigurationExceptionIfErrorsExist();
-          }
-        }
+      try {
+        destination = ProxyFactory.<D>proxyFor(destinationType, destinationProgress);
+      } catch (ErrorsException e) {
+        errors.merge(e.getErrors());
+        errors.throwConfigurationExceptionIfErrorsExist();
       }
     }
 
@@ -159,15 +162,11 @@ public class MappingBuilderImpl<S, D> implements ConditionExpression<S, D> {
 
   public S getSource() {
     if (source == null) {
-      synchronized (MappingBuilderImpl.class) {
-        if (source == null) {
-          try {
-            source = ProxyFactory.<S>proxyFor(sourceType, sourceProgress);
-          } catch (ErrorsException e) {
-            errors.merge(e.getErrors());
-            errors.throwConfigurationExceptionIfErrorsExist();
-          }
-        }
+      try {
+        source = ProxyFactory.<S>proxyFor(sourceType, sourceProgress);
+      } catch (ErrorsException e) {
+        errors.merge(e.getErrors());
+        errors.throwConfigurationExceptionIfErrorsExist();
       }
     }
 
@@ -17,10 +17,13 @@ package org.modelmapper.internal;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.modelmapper.Provider.ProvisionRequest;
 import org.modelmapper.TypeMap;
@@ -39,12 +42,23 @@ import org.modelmapper.spi.MappingEngine;
 public class MappingContextImpl<S, D> implements MappingContext<S, D>, ProvisionRequest<D> {
   /** Caches previously mapped destination objects by path. */
   final Map<String, Object> destinationCache;
-  /** Tracks destination objects for each source. Used for circular mapping. */
+  /**
+   * Tracks destination objects for each source whose type can take part in a cycle. Used for
+   * circular mapping.
+   */
   final Map<Object, Object> sourceToDestination;
   /** Tracks intermediate destination objects on the path to the destination */
   final List<Object> intermediateDestinations;
   final Errors errors;
-  @SuppressWarnings("unused") private final MappingContextImpl<?, ?> parent;
+  /** The configuration in effect when mapping started */
+  final ConfigurationSnapshot configuration;
+  /** Caches intermediate source values by source path, created lazily */
+  private Map<String, Object> sourceCache;
+  /** Destination paths set while dirty checking, relative to the initial destination, else null */
+  Set<String> changedPaths;
+  private final MappingContextImpl<?, ?> parent;
+  /** The session that mapping is performed in, else null */
+  final MappingSessionImpl session;
   private D destination;
   private final Class<D> destinationType;
   private final Type genericDestinationType;
@@ -65,7 +79,18 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
    */
   public MappingContextImpl(S source, Class<S> sourceType, D destination, Class<D> destinationType,
       Type genericDestinationType, MappingEngine mappingEngine) {
+    this(source, sourceType, destination, destinationType, genericDestinationType, mappingEngine,
+        null);
+  }
+
+  /**
+   * Create initial MappingContext that shares the identity map and scratch collections of the
+   * {@code session}, if any.
+   */
+  MappingContextImpl(S source, Class<S> sourceType, D destination, Class<D> destinationType,
+      Type genericDestinationType, MappingEngine mappingEngine, MappingSessionImpl session) {
     parent = null;
+    this.session = session;
     this.source = source;
     this.sourceType = sourceType;
     this.destination = destination;
@@ -74,11 +99,21 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
         : genericDestinationType;
     providedDestination = destination != null;
     this.mappingEngine = mappingEngine;
+    configuration = ((MappingEngineImpl) mappingEngine).configuration.snapshot();
     errors = new Errors();
-    destinationCache = new HashMap<String, Object>();
-    shadedPaths = new ArrayList<String>();
-    sourceToDestination = new IdentityHashMap<Object, Object>();
-    intermediateDestinations = new ArrayList<Object>();
+    if (session == null) {
+      destinationCache = new HashMap<String, Object>();
+      shadedPaths = new ArrayList<String>();
+      sourceToDestination = new IdentityHashMap<Object, Object>(8);
+      intermediateDestinations = new ArrayList<Object>();
+    } else {
+      destinationCache = session.destinationCache;
+      shadedPaths = session.shadedPaths;
+      sourceToDestination = session.sourceToDestination;
+      intermediateDestinations = session.intermediateDestinations;
+    }
+    if (providedDestination && configuration.dirtyCheckingEnabled)
+      changedPaths = Collections.synchronizedSet(new LinkedHashSet<String>());
   }
 
   /**
@@ -88,7 +123,19 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
    */
   MappingContextImpl(MappingContextImpl<?, ?> context, S source, Class<S> sourceType,
       D destination, Class<D> destinationType, Mapping mapping, boolean inheritValues) {
+    this(context, source, sourceType, destination, destinationType, mapping, inheritValues,
+        context.errors, context.sourceToDestination);
+  }
+
+  /**
+   * Create derived MappingContext that records errors against the {@code errors} and tracks
+   * destination objects for each source in the {@code sourceToDestination}.
+   */
+  private MappingContextImpl(MappingContextImpl<?, ?> context, S source, Class<S> sourceType,
+      D destination, Class<D> destinationType, Mapping mapping, boolean inheritValues,
+      Errors errors, Map<Object, Object> sourceToDestination) {
     this.parent = context;
+    session = context.session;
     this.source = source;
     this.sourceType = sourceType;
     this.destination = destination;
@@ -100,19 +147,53 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     this.mapping = mapping;
     parentSource = context.parentSource;
     mappingEngine = context.mappingEngine;
-    errors = context.errors;
+    configuration = context.configuration;
+    this.errors = errors;
     destinationCache = inheritValues ? context.destinationCache : new HashMap<String, Object>();
     shadedPaths = inheritValues ? context.shadedPaths : new ArrayList<String>();
-    sourceToDestination = context.sourceToDestination;
+    this.sourceToDestination = sourceToDestination;
     intermediateDestinations = new ArrayList<Object>();
+    changedPaths = context.changedPaths;
   }
 
   /** Creates a child MappingContext for an element of a destination collection. */
   public <CS, CD> MappingContext<CS, CD> create(CS source, Class<CD> destinationType) {
     Assert.notNull(source, "source");
     Assert.notNull(destinationType, "destinationType");
+    return create(source, Types.<CS>deProxy(source.getClass()), destinationType);
+  }
+
+  /**
+   * Creates a child MappingContext for an element of a destination collection whose deproxied
+   * {@code sourceType} is already known.
+   */
+  <CS, CD> MappingContextImpl<CS, CD> create(CS source, Class<CS> sourceType,
+      Class<CD> destinationType) {
+    return new MappingContextImpl<CS, CD>(this, source, sourceType, null, destinationType,
+        mapping, false);
+  }
+
+  /**
+   * Creates a child MappingContext for an element of a destination collection that is mapped
+   * concurrently with its siblings, recording errors against the {@code errors} rather than the
+   * shared Errors of this context.
+   */
+  <CS, CD> MappingContextImpl<CS, CD> createConcurrent(CS source, Class<CD> destinationType,
+      Errors errors) {
+    Assert.notNull(source, "source");
     return new MappingContextImpl<CS, CD>(this, source, Types.<CS>deProxy(source.getClass()), null,
-        destinationType, mapping, false);
+        destinationType, mapping, false, errors, sourceToDestination);
+  }
+
+  /**
+   * Creates a child MappingContext for a destination subgraph that is mapped lazily, after this
+   * context's mapping has completed and possibly on another thread. The child records errors and
+   * tracks circular references independently of this context.
+   */
+  <CS, CD> MappingContextImpl<CS, CD> createDetached(CS source, Class<CS> sourceType,
+      Class<CD> destinationType) {
+    return new MappingContextImpl<CS, CD>(this, source, sourceType, null, destinationType, null,
+        false, new Errors(), new IdentityHashMap<Object, Object>(8));
   }
 
   @Override
@@ -184,9 +265,118 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
         destinationType.getSimpleName());
   }
 
+  /**
+   * Returns the destination of the {@code destinationType} that this context's source was mapped
+   * to, else {@code null}.
+   */
   @SuppressWarnings("unchecked")
   D destinationForSource() {
-    return (D) sourceToDestination.get(source);
+    if (!sourceToDestination.isEmpty()) {
+      // A session may have mapped the source to a different destination type
+      Object destination = sourceToDestination.get(source);
+      if (destinationType.isInstance(destination))
+        return (D) destination;
+    }
+
+    return (D) enclosingDestinationFor(parent, source, destinationType);
+  }
+
+  /**
+   * Returns the destination that the intermediate {@code source} value of a mapping in this context
+   * was mapped to, else {@code null}.
+   */
+  Object circularDestinationFor(Object source) {
+    if (!sourceToDestination.isEmpty()) {
+      Object destination = sourceToDestination.get(source);
+      if (destination != null)
+        return destination;
+    }
+
+    return enclosingDestinationFor(this, source, Object.class);
+  }
+
+  /**
+   * Returns the destination of the {@code type} of the innermost context, starting at
+   * {@code context}, that is mapping the {@code source} when resolving circular references, else
+   * {@code null}. Sources are only tracked if their type can take part in a cycle, which does not
+   * account for subtypes of property types that lead back to a source being mapped.
+   */
+  private Object enclosingDestinationFor(MappingContextImpl<?, ?> context, Object source,
+      Class<?> type) {
+    if (configuration.resolveCircular)
+      for (; context != null; context = context.parent)
+        if (context.source == source && type.isInstance(context.destination))
+          return context.destination;
+    return null;
+  }
+
+  /**
+   * Returns the destination property {@code path}, which is relative to this context's
+   * destination, as a path relative to the destination of the initial context.
+   */
+  String destinationPathOf(String path) {
+    StringBuilder result = new StringBuilder(path);
+    for (MappingContextImpl<?, ?> context = this; context.parent != null; context = context.parent)
+      // Element contexts share the mapping of the collection they belong to
+      if (context.mapping != null && context.mapping != context.parent.mapping)
+        result.insert(0, ((MappingImpl) context.mapping).getPath());
+    return result.toString();
+  }
+
+  /**
+   * Returns the value of the {@code accessor} for the {@code source}, which is the value at the
+   * parent of the {@code sourcePath} in this context's source. Values are cached by
+   * {@code sourcePath} so that accessor chains shared by several mappings are evaluated once.
+   */
+  Object sourceValueFor(String sourcePath, Accessor accessor, Object source) {
+    if (sourceCache == null)
+      sourceCache = new HashMap<String, Object>();
+    else {
+      Object value = sourceCache.get(sourcePath);
+      if (value != null || sourceCache.containsKey(sourcePath))
+        return value;
+    }
+
+    Object value = accessor.getValue(source);
+    sourceCache.put(sourcePath, value);
+    return value;
+  }
+
+  /**
+   * Returns the destination of the {@code type} that the session mapped the intermediate source
+   * value at {@code index} of the {@code mapping}'s source path to, else {@code null}.
+   */
+  Object sessionDestinationFor(Mapping mapping, int index, Class<?> type) {
+    Object intermediateSource = intermediateSourceFor(mapping, index);
+    if (intermediateSource == null)
+      return null;
+    Object destination = sourceToDestination.get(intermediateSource);
+    return type.isInstance(destination) ? destination : null;
+  }
+
+  /**
+   * Tracks the intermediate {@code destination} created for the mutator at {@code index} of the
+   * {@code mapping} against the corresponding intermediate source value, if mapping in a session.
+   */
+  void trackIntermediateDestination(Mapping mapping, int index, Object destination) {
+    Object intermediateSource = intermediateSourceFor(mapping, index);
+    if (intermediateSource != null && session.tracks(Types.deProxy(intermediateSource.getClass())))
+      sourceToDestination.put(intermediateSource, destination);
+  }
+
+  /**
+   * Returns the intermediate source value at {@code index} of the {@code mapping}'s source path if
+   * mapping in a session and the source and destination paths have the same depth, such that the
+   * value corresponds to the intermediate destination at {@code index}, else {@code null}.
+   */
+  private Object intermediateSourceFor(Mapping mapping, int index) {
+    if (session == null || sourceCache == null || !(mapping instanceof PropertyMappingImpl))
+      return null;
+    PropertyMappingImpl propertyMapping = (PropertyMappingImpl) mapping;
+    if (propertyMapping.getSourceProperties().size() != propertyMapping.getDestinationProperties()
+        .size())
+      return null;
+    return sourceCache.get(propertyMapping.getSourcePaths()[index]);
   }
 
   /**
@@ -199,6 +389,16 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
     return false;
   }
 
+  /**
+   * Determines whether the {@code path} or any path within it is shaded.
+   */
+  boolean isShadedWithin(String path) {
+    for (String shadedPath : shadedPaths)
+      if (path.startsWith(shadedPath) || shadedPath.startsWith(path))
+        return true;
+    return false;
+  }
+
   Object parentSource() {
     return parentSource;
   }
@@ -208,9 +408,23 @@ public class MappingContextImpl<S, D> implements MappingContext<S, D>, Provision
   }
 
   void setDestination(D destination) {
+    boolean track = false;
+    if ((configuration.resolveCircular || session != null) && source != null) {
+      Class<?> type = Types.deProxy(source.getClass());
+      track = session != null && session.tracks(type)
+          || ((MappingEngineImpl) mappingEngine).cycleAnalyzer.isCyclic(type, configuration);
+    }
+    setDestination(destination, track);
+  }
+
+  /**
+   * Sets the destination, tracking it against the source when resolving circular references or
+   * mapping in a session, and {@code track} is true.
+   */
+  void setDestination(D destination, boolean track) {
     this.destination = destination;
-    if (((MappingEngineImpl)mappingEngine).getConfiguration().isResolveCircular())
-        sourceToDestination.put(source, destination);
+    if ((configuration.resolveCircular || session != null) && track)
+      sourceToDestination.put(source, destination);
   }
 
   void setParentSource(Object parentSource) {
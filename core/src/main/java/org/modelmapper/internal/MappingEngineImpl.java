@@ -15,11 +15,16 @@
  */
 package org.modelmapper.internal;
 
-import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import net.sf.cglib.proxy.LazyLoader;
+
 import org.modelmapper.Condition;
 import org.modelmapper.ConfigurationException;
 import org.modelmapper.Converter;
@@ -28,14 +33,18 @@ import org.modelmapper.TypeMap;
 import org.modelmapper.TypeToken;
 import org.modelmapper.config.Configuration;
 import org.modelmapper.internal.converter.ConverterStore;
+import org.modelmapper.internal.util.Assert;
 import org.modelmapper.internal.util.Iterables;
 import org.modelmapper.internal.util.Primitives;
+import org.modelmapper.internal.util.TypeResolver;
 import org.modelmapper.internal.util.TypeResolver.Unknown;
 import org.modelmapper.internal.util.Types;
 import org.modelmapper.spi.ConstantMapping;
+import org.modelmapper.spi.ErrorMessage;
 import org.modelmapper.spi.Mapping;
 import org.modelmapper.spi.MappingContext;
 import org.modelmapper.spi.MappingEngine;
+import org.modelmapper.spi.PropertyInfo;
 import org.modelmapper.spi.PropertyMapping;
 import org.modelmapper.spi.SourceMapping;
 
@@ -48,12 +57,16 @@ import org.modelmapper.spi.SourceMapping;
 public class MappingEngineImpl implements MappingEngine {
   /** Cache of conditional converters */
   private final Map<TypePair<?, ?>, Converter<?, ?>> converterCache = new ConcurrentHashMap<TypePair<?, ?>, Converter<?, ?>>();
-  private final Configuration configuration;
+  final InheritingConfiguration configuration;
   private final TypeMapStore typeMapStore;
   private final ConverterStore converterStore;
+  final CycleAnalyzer cycleAnalyzer;
+  private final LazyProxies lazyProxies;
 
   public MappingEngineImpl(InheritingConfiguration configuration) {
     this.configuration = configuration;
+    this.cycleAnalyzer = new CycleAnalyzer(configuration);
+    this.lazyProxies = new LazyProxies();
     this.typeMapStore = configuration.typeMapStore;
     this.converterStore = configuration.converterStore;
   }
@@ -65,63 +78,184 @@ public class MappingEngineImpl implements MappingEngine {
       TypeToken<D> destinationTypeToken) {
     MappingContextImpl<S, D> context = new MappingContextImpl<S, D>(source, sourceType,
         destination, destinationTypeToken.getRawType(), destinationTypeToken.getType(), this);
+    return mapInitial(context);
+  }
+
+  /**
+   * Dirty checking entry point. Maps the {@code source} to the {@code destination}, only setting
+   * destination properties whose value changes.
+   * 
+   * @return the paths of the destination properties that were set
+   */
+  public <S, D> Set<String> mapChanges(S source, Class<S> sourceType, D destination,
+      Class<D> destinationType) {
+    MappingContextImpl<S, D> context = new MappingContextImpl<S, D>(source, sourceType,
+        destination, destinationType, null, this);
+    if (context.changedPaths == null)
+      context.changedPaths = Collections.synchronizedSet(new LinkedHashSet<String>());
+    mapInitial(context);
+    return context.changedPaths;
+  }
+
+  <S, D> D mapInitial(MappingContextImpl<S, D> context) {
+    return mapInitial(context, null);
+  }
+
+  /**
+   * Maps the initial {@code context} with the {@code typeMap}, else resolves how to map it if the
+   * {@code typeMap} is null.
+   */
+  private <S, D> D mapInitial(MappingContextImpl<S, D> context, TypeMap<S, D> typeMap) {
     D result = null;
 
     try {
-      result = map(context);
+      result = typeMap == null ? map(context) : typeMap(context, typeMap);
     } catch (ConfigurationException e) {
       throw e;
     } catch (ErrorsException e) {
       throw context.errors.toMappingException();
     } catch (Throwable t) {
-      context.errors.errorMapping(sourceType, destinationTypeToken.getType(), t);
+      context.errors.errorMapping(context.getSourceType(), context.getGenericDestinationType(),
+          t);
     }
 
     context.errors.throwMappingExceptionIfErrorsExist();
     return result;
   }
 
+  /**
+   * Batch entry point. Maps each of the {@code sources} to an instance of {@code destinationType},
+   * adding the results to the {@code destinations} in iteration order. {@code null} sources are
+   * mapped to {@code null}. The TypeMap or Converter to use is resolved once for each run of
+   * sources with the same type, rather than for every source.
+   * 
+   * @param boundSourceType the source type to map every source as, else {@code null} to use the
+   *          type of each source
+   * @param boundTarget the TypeMap or Converter to map every source with, else {@code null} to
+   *          resolve one for each source type
+   * @throws MappingException after all sources were mapped, describing the failures of each
+   *           source by its index
+   */
+  public <S, D> void mapAll(Iterable<? extends S> sources, Class<S> boundSourceType,
+      Class<D> destinationType, InlineCache.Target boundTarget, Collection<? super D> destinations) {
+    Errors errors = new Errors();
+    Class<S> lastSourceType = null;
+    InlineCache.Target target = boundTarget;
+    int index = 0;
+
+    for (S source : sources) {
+      D destination = null;
+      if (source != null) {
+        Class<S> sourceType = boundSourceType == null ? Types.<S>deProxy(source.getClass())
+            : boundSourceType;
+        MappingContextImpl<S, D> context = new MappingContextImpl<S, D>(source, sourceType, null,
+            destinationType, null, this);
+
+        if (boundTarget == null && sourceType != lastSourceType) {
+          target = resolve(context);
+          lastSourceType = sourceType;
+        }
+
+        try {
+          destination = mapWith(context, target);
+        } catch (ConfigurationException e) {
+          throw e;
+        } catch (ErrorsException e) {
+          // Errors were recorded against the context
+        } catch (Throwable t) {
+          context.errors.errorMapping(sourceType, destinationType, t);
+        }
+
+        for (ErrorMessage message : context.errors.getMessages())
+          errors.errorMappingElement(index, message);
+      }
+
+      destinations.add(destination);
+      index++;
+    }
+
+    errors.throwMappingExceptionIfErrorsExist();
+  }
+
   /**
    * Performs mapping using a TypeMap if one exists, else a converter if one applies, else a newly
    * created TypeMap. Recursive entry point.
    */
   public <S, D> D map(MappingContext<S, D> context) {
     MappingContextImpl<S, D> contextImpl = (MappingContextImpl<S, D>) context;
-    Class<D> destinationType = context.getDestinationType();
+    D circularDest = circularDestinationFor(contextImpl);
+    if (circularDest != null)
+      return circularDest;
 
-    // Resolve some circular dependencies
-    if (!Iterables.isIterable(destinationType)) {
-      D circularDest = contextImpl.destinationForSource();
-      if (circularDest != null)
-        return circularDest;
+    return mapWith(contextImpl, resolve(contextImpl));
+  }
+
+  /**
+   * Performs mapping like {@link #map(MappingContext)}, resolving the TypeMap or converter for the
+   * {@code context}'s source type through the call site's {@code cache}.
+   */
+  <S, D> D map(MappingContextImpl<S, D> context, InlineCache cache) {
+    D circularDest = circularDestinationFor(context);
+    if (circularDest != null)
+      return circularDest;
+
+    int version = typeMapStore.version();
+    InlineCache.Target target = cache.get(context.getSourceType(), version);
+    if (target == null) {
+      target = resolve(context);
+      cache.put(context.getSourceType(), target, version);
     }
 
-    D destination = null;
-    TypeMap<S, D> typeMap = typeMapStore.get(context.getSourceType(), context.getDestinationType());
-    if (typeMap != null) {
-      destination = typeMap(contextImpl, typeMap);
-    } else {
-      Converter<S, D> converter = converterFor(context);
-      if (converter != null) {
-        destination = convert(context, converter);
-      } else {
-        // Call getOrCreate in case TypeMap was created concurrently
-        typeMap = typeMapStore.getOrCreate(context.getSourceType(), context.getDestinationType(),
-            this);
-        destination = typeMap(contextImpl, typeMap);
-      }
+    return mapWith(context, target);
+  }
+
+  /**
+   * Maps the {@code element} of the {@code context}'s source to an instance of
+   * {@code destinationType}. The deproxied type of the {@code element} along with the TypeMap or
+   * converter to map it with are resolved through the {@code cache}, which should be shared by
+   * the elements of the source.
+   * 
+   * @throws IllegalArgumentException if {@code element} is null
+   */
+  @SuppressWarnings("unchecked")
+  public <D> D mapElement(MappingContext<?, ?> context, Object element, Class<D> destinationType,
+      InlineCache cache) {
+    Assert.notNull(element, "source");
+    int version = typeMapStore.version();
+    InlineCache.Target target = cache.get(element.getClass(), version);
+    Class<Object> sourceType = target == null ? Types.<Object>deProxy(element.getClass())
+        : (Class<Object>) target.sourceType;
+    MappingContextImpl<Object, D> elementContext = ((MappingContextImpl<?, ?>) context).create(
+        element, sourceType, destinationType);
+
+    D circularDest = circularDestinationFor(elementContext);
+    if (circularDest != null)
+      return circularDest;
+
+    if (target == null) {
+      target = resolve(elementContext);
+      cache.put(element.getClass(), target, version);
     }
 
-    return destination;
+    return mapWith(elementContext, target);
   }
 
   /**
    * Performs a type mapping for the {@code typeMap} and {@code context}.
    */
   <S, D> D typeMap(MappingContextImpl<S, D> context, TypeMap<S, D> typeMap) {
+    return typeMap(context, typeMap, null);
+  }
+
+  /**
+   * Performs a type mapping for the {@code typeMap} and {@code context}, only performing the
+   * {@code mappings} if they are not null.
+   */
+  <S, D> D typeMap(MappingContextImpl<S, D> context, TypeMap<S, D> typeMap,
+      List<Mapping> mappings) {
     context.setTypeMap(typeMap);
     if (context.getDestination() == null && Types.isInstantiable(context.getDestinationType())
-        && !configuration.isInstantiationInhibited(context.getDestinationType())) {
+        && !context.configuration.isInstantiationInhibited(context.getDestinationType())) {
       D destination = createDestination(context);
       if (destination == null)
         return null;
@@ -134,13 +268,75 @@ public class MappingEngineImpl implements MappingEngine {
       if (converter != null)
         return convert(context, converter);
 
-      for (Mapping mapping : typeMap.getMappings())
-        propertyMap(mapping, context);
+      LazySubgraphs lazySubgraphs = mappings == null ? lazySubgraphsFor(context, typeMap) : null;
+      if (lazySubgraphs == null) {
+        for (Mapping mapping : mappings == null ? typeMap.getMappings() : mappings)
+          propertyMap(mapping, context);
+      } else {
+        // Whether each subgraph is mapped lazily is decided at its first mapping
+        Boolean[] lazy = new Boolean[lazySubgraphs.size()];
+        for (Mapping mapping : typeMap.getMappings()) {
+          LazySubgraphs.Subgraph subgraph = lazySubgraphs.subgraphFor(mapping);
+          if (subgraph != null) {
+            if (lazy[subgraph.index] == null)
+              lazy[subgraph.index] = Boolean.valueOf(mapLazily(context, subgraph));
+            if (lazy[subgraph.index].booleanValue())
+              continue;
+          }
+
+          propertyMap(mapping, context);
+        }
+      }
     }
 
     return context.getDestination();
   }
 
+  /**
+   * Returns the subgraphs of the {@code typeMap} that can be mapped lazily for the
+   * {@code context}, else {@code null} if the {@code context} must be mapped eagerly.
+   */
+  private LazySubgraphs lazySubgraphsFor(MappingContextImpl<?, ?> context, TypeMap<?, ?> typeMap) {
+    if (!context.configuration.lazyMappingEnabled || context.providedDestination
+        || context.session != null || context.changedPaths != null
+        || context.getDestination() == null || !(typeMap instanceof TypeMapImpl)
+        || !LazySubgraphs.mapsPropertiesPlainly(typeMap))
+      return null;
+    LazySubgraphs subgraphs = ((TypeMapImpl<?, ?>) typeMap).lazySubgraphs();
+    return subgraphs.isEmpty() ? null : subgraphs;
+  }
+
+  /**
+   * Sets the destination property of the {@code subgraph} to a proxy that maps the subgraph from
+   * the corresponding source property value on first access.
+   * 
+   * @return whether the subgraph is mapped lazily, else it must be mapped eagerly
+   */
+  private boolean mapLazily(MappingContextImpl<?, ?> context, LazySubgraphs.Subgraph subgraph) {
+    final TypeMap<Object, Object> typeMap = subgraph.typeMap;
+    if (!LazySubgraphs.isPlain(typeMap) || context.isShadedWithin(subgraph.destinationPath))
+      return false;
+
+    // Null source values are mapped eagerly, which maps to any existing destination value
+    Object source = context.sourceValueFor(subgraph.sourcePath, subgraph.sourceAccessor,
+        context.getSource());
+    if (source == null)
+      return false;
+
+    final MappingContextImpl<Object, Object> lazyContext = context.createDetached(source,
+        typeMap.getSourceType(), typeMap.getDestinationType());
+    Object destination = lazyProxies.proxyFor(typeMap.getDestinationType(), new LazyLoader() {
+      public Object loadObject() {
+        return mapInitial(lazyContext, typeMap);
+      }
+    });
+    if (destination == null)
+      return false;
+
+    subgraph.mutator.setValue(context.getDestination(), destination);
+    return true;
+  }
+
   @SuppressWarnings("unchecked")
   private <S, D> void propertyMap(Mapping mapping, MappingContextImpl<S, D> context) {
     MappingImpl mappingImpl = (MappingImpl) mapping;
@@ -154,11 +350,19 @@ public class MappingEngineImpl implements MappingEngine {
       return;
 
     Object source = resolveSourceValue(context, mapping);
-    MappingContextImpl<Object, Object> propertyContext = propertyContextFor(context, source,
-        mapping);
+    Class<?> sourceType = sourceTypeFor(mapping);
+    MappingContextImpl<Object, Object> propertyContext = null;
 
     if (condition != null) {
-      if (!condition.applies(propertyContext)) {
+      // Evaluate built-in conditions against the source before creating a property context
+      CompiledCondition compiled = mappingImpl.compiledConditionFor(condition, sourceType);
+      Boolean applies = compiled.evaluate(source);
+      if (applies == null) {
+        propertyContext = propertyContextFor(context, source, sourceType, mapping);
+        applies = Boolean.valueOf(compiled.applies(propertyContext));
+      }
+
+      if (!applies.booleanValue()) {
         context.shadePath(mappingImpl.getPath());
         return;
       } else if (mapping.isSkipped())
@@ -173,6 +377,9 @@ public class MappingEngineImpl implements MappingEngine {
     else if (mapping instanceof SourceMapping)
       return;
 
+    if (propertyContext == null)
+      propertyContext = propertyContextFor(context, source, sourceType, mapping);
+
     // Create destination for property context prior to mapping/conversion
     createDestinationViaProvider(propertyContext);
 
@@ -184,16 +391,21 @@ public class MappingEngineImpl implements MappingEngine {
   private Object resolveSourceValue(MappingContextImpl<?, ?> context, Mapping mapping) {
     Object source = context.getSource();
     if (mapping instanceof PropertyMappingImpl) {
-      for (Accessor accessor : (List<Accessor>) ((PropertyMapping) mapping).getSourceProperties()) {
+      PropertyMappingImpl propertyMapping = (PropertyMappingImpl) mapping;
+      List<Accessor> accessors = (List<Accessor>) propertyMapping.getSourceProperties();
+      String[] sourcePaths = propertyMapping.getSourcePaths();
+      int last = accessors.size() - 1;
+      for (int i = 0; i <= last; i++) {
+        Accessor accessor = accessors.get(i);
         context.setParentSource(source);
-        source = accessor.getValue(source);
+        // Intermediate values are shared by mappings whose source paths have the same prefix
+        source = i < last ? context.sourceValueFor(sourcePaths[i], accessor, source)
+            : accessor.getValue(source);
         if (source == null)
           return null;
-        if (!Iterables.isIterable(source.getClass())) {
-          Object circularDest = context.sourceToDestination.get(source);
-          if (circularDest != null)
-            context.intermediateDestinations.add(circularDest);
-        }
+        Object circularDest = context.circularDestinationFor(source);
+        if (circularDest != null && !Iterables.isIterable(source.getClass()))
+          context.intermediateDestinations.add(circularDest);
       }
     } else if (mapping instanceof ConstantMapping)
       source = ((ConstantMapping) mapping).getConstant();
@@ -212,12 +424,11 @@ public class MappingEngineImpl implements MappingEngine {
       Converter<Object, Object> converter) {
     Object destination = context.getDestination();
     List<Mutator> mutatorChain = (List<Mutator>) mapping.getDestinationProperties();
-    StringBuilder destPathBuilder = new StringBuilder();
+    String[] destPaths = mapping.getDestinationPaths();
 
     for (int i = 0; i < mutatorChain.size(); i++) {
       Mutator mutator = mutatorChain.get(i);
-      destPathBuilder.append(mutator.getName()).append('.');
-      String destPath = destPathBuilder.toString();
+      String destPath = destPaths[i];
 
       // Handle last mutator in chain
       if (i == mutatorChain.size() - 1) {
@@ -239,13 +450,17 @@ public class MappingEngineImpl implements MappingEngine {
           destinationValue = convert(propertyContext, converter);
         } else if (Unknown.class.isAssignableFrom(propertyContext.getDestinationType())) {
           destinationValue = propertyContext.getSource();
-        } else if (propertyContext.getSource() != null)
-          destinationValue = map(propertyContext);
+        } else if (propertyContext.getSource() != null) {
+          if (context.providedDestination && typeMapStore.mergeKeysConfigured)
+            propertyContext.setDestination(mergeTargetFor(destination, mutator, propertyContext,
+                mapping));
+          destinationValue = map(propertyContext, mapping.inlineCache);
+        }
 
         context.destinationCache.put(destPath, destinationValue);
-        mutator.setValue(destination,
+        setValue(context, destination, mutator,
             destinationValue == null ? Primitives.defaultValue(mutator.getType())
-                : destinationValue);
+                : destinationValue, destPath);
         if (destinationValue == null)
           context.shadePath(mapping.getPath());
       } else {
@@ -253,15 +468,20 @@ public class MappingEngineImpl implements MappingEngine {
         Object intermediateDest = context.destinationCache.get(destPath);
 
         if (intermediateDest != null) {
-          mutator.setValue(destination, intermediateDest);
+          setValue(context, destination, mutator, intermediateDest, destPath);
         } else {
+          // Obtain from the destinations that the session mapped the source to
+          intermediateDest = context.sessionDestinationFor(mapping, i, mutator.getType());
+          if (intermediateDest != null)
+            setValue(context, destination, mutator, intermediateDest, destPath);
+
           // Obtain from circular destinations
-          if (!context.intermediateDestinations.isEmpty()) {
+          if (intermediateDest == null && !context.intermediateDestinations.isEmpty()) {
             for (Object intermediateDestination : context.intermediateDestinations) {
               // Match intermediate destinations to mutator by type
               if (intermediateDestination.getClass().equals(mutator.getType())) {
                 intermediateDest = intermediateDestination;
-                mutator.setValue(destination, intermediateDest);
+                setValue(context, destination, mutator, intermediateDest, destPath);
                 break;
               }
             }
@@ -281,7 +501,7 @@ public class MappingEngineImpl implements MappingEngine {
               if (propertyContext.getSource() == null)
                 return;
 
-              Provider<?> globalProvider = configuration.getProvider();
+              Provider<?> globalProvider = context.configuration.provider;
               if (globalProvider != null)
                 intermediateDest = globalProvider.get(new ProvisionRequestImpl(
                     context.parentSource(), mutator.getType()));
@@ -290,7 +510,8 @@ public class MappingEngineImpl implements MappingEngine {
               if (intermediateDest == null)
                 return;
 
-              mutator.setValue(destination, intermediateDest);
+              setValue(context, destination, mutator, intermediateDest, destPath);
+              context.trackIntermediateDestination(mapping, i, intermediateDest);
             }
           }
 
@@ -303,25 +524,25 @@ public class MappingEngineImpl implements MappingEngine {
   }
 
   /**
-   * Returns a property context.
+   * Returns the static source type of the {@code mapping}.
    */
-  @SuppressWarnings({ "rawtypes", "unchecked" })
-  private MappingContextImpl<Object, Object> propertyContextFor(MappingContextImpl<?, ?> context,
-      Object source, Mapping mapping) {
-    Class<?> sourceType;
-    boolean cyclic = false;
-
-    if (mapping instanceof PropertyMapping) {
-      PropertyMappingImpl propertyMapping = (PropertyMappingImpl) mapping;
-      sourceType = propertyMapping.getLastSourceProperty().getType();
-      cyclic = propertyMapping.cyclic;
-    } else if (mapping instanceof ConstantMapping) {
+  private Class<?> sourceTypeFor(Mapping mapping) {
+    if (mapping instanceof PropertyMapping)
+      return ((PropertyMapping) mapping).getLastSourceProperty().getType();
+    if (mapping instanceof ConstantMapping) {
       Object constant = ((ConstantMapping) mapping).getConstant();
-      sourceType = constant == null ? Object.class : Types.deProxy(constant.getClass());
-    } else {
-      sourceType = ((SourceMapping) mapping).getSourceType();
+      return constant == null ? Object.class : Types.deProxy(constant.getClass());
     }
+    return ((SourceMapping) mapping).getSourceType();
+  }
 
+  /**
+   * Returns a property context.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private MappingContextImpl<Object, Object> propertyContextFor(MappingContextImpl<?, ?> context,
+      Object source, Class<?> sourceType, Mapping mapping) {
+    boolean cyclic = mapping instanceof PropertyMapping && ((PropertyMappingImpl) mapping).cyclic;
     Class<Object> destinationType = (Class<Object>) mapping.getLastDestinationProperty().getType();
     return new MappingContextImpl(context, source, sourceType, null, destinationType, mapping,
         !cyclic);
@@ -342,16 +563,126 @@ public class MappingEngineImpl implements MappingEngine {
     }
   }
 
+  /**
+   * Returns the destination already mapped for the {@code context}'s source, else {@code null}.
+   * Used to resolve some circular dependencies.
+   */
+  private <S, D> D circularDestinationFor(MappingContextImpl<S, D> context) {
+    return Iterables.isIterable(context.getDestinationType()) ? null : context
+        .destinationForSource();
+  }
+
+  /**
+   * Resolves a TypeMap for the {@code context} if one exists, else a converter if one applies,
+   * else a newly created TypeMap.
+   */
+  private InlineCache.Target resolve(MappingContext<?, ?> context) {
+    return resolve(context.getSourceType(), context.getDestinationType());
+  }
+
+  /**
+   * Resolves a TypeMap for the {@code sourceType} and {@code destinationType} if one exists, else a
+   * converter if one applies, else a newly created TypeMap.
+   */
+  InlineCache.Target resolve(Class<?> sourceType, Class<?> destinationType) {
+    TypeMap<?, ?> typeMap = typeMapStore.get(sourceType, destinationType);
+    Converter<?, ?> converter = null;
+    if (typeMap == null) {
+      converter = converterFor(sourceType, destinationType);
+      if (converter == null) {
+        // Call getOrCreate in case TypeMap was created concurrently
+        typeMap = typeMapStore.getOrCreate(sourceType, destinationType, this);
+      }
+    }
+
+    return new InlineCache.Target(sourceType, typeMap, converter);
+  }
+
+  /**
+   * Maps the {@code context} with the TypeMap or converter of the {@code target}.
+   */
+  @SuppressWarnings("unchecked")
+  <S, D> D mapWith(MappingContextImpl<S, D> context, InlineCache.Target target) {
+    if (target.typeMap != null)
+      return typeMap(context, (TypeMap<S, D>) target.typeMap);
+    return convert(context, (Converter<S, D>) target.converter);
+  }
+
+  /**
+   * Returns whether instances of {@code type} are mapped to themselves, which is the case for
+   * immutable types that are mapped by a built-in converter rather than a TypeMap or a custom
+   * converter.
+   */
+  boolean copiesAsIs(Class<?> type) {
+    return Types.isImmutable(type) && convertsByDefault(type, type);
+  }
+
+  /**
+   * Returns whether instances of {@code sourceType} are mapped to {@code destinationType} by a
+   * built-in converter rather than a TypeMap or a custom converter.
+   */
+  boolean convertsByDefault(Class<?> sourceType, Class<?> destinationType) {
+    return typeMapStore.get(sourceType, destinationType) == null
+        && converterStore.isDefault(converterFor(sourceType, destinationType));
+  }
+
+  /**
+   * Sets the {@code value} against the {@code destination} via the {@code mutator}. When dirty
+   * checking, the {@code value} is only set if it differs from the current value, in which case the
+   * {@code destPath} is recorded as changed.
+   */
+  private void setValue(MappingContextImpl<?, ?> context, Object destination, Mutator mutator,
+      Object value, String destPath) {
+    if (context.changedPaths != null) {
+      Accessor accessor = TypeInfoRegistry.typeInfoFor(destination.getClass(), configuration)
+          .getAccessors()
+          .get(mutator.getName());
+      if (accessor != null) {
+        Object current = accessor.getValue(destination);
+        if (current == value || current != null && current.equals(value))
+          return;
+      }
+
+      context.changedPaths.add(context.destinationPathOf(destPath.substring(0,
+          destPath.length() - 1)));
+    }
+
+    mutator.setValue(destination, value);
+  }
+
+  /**
+   * Returns the existing collection of the {@code mutator}'s property on the {@code destination} if
+   * the elements of the {@code propertyContext}'s source can be merged into it, else {@code null}.
+   */
+  private Object mergeTargetFor(Object destination, Mutator mutator,
+      MappingContextImpl<Object, Object> propertyContext, MappingImpl mapping) {
+    if (!Collection.class.isAssignableFrom(propertyContext.getDestinationType()))
+      return null;
+    Accessor accessor = TypeInfoRegistry.typeInfoFor(destination.getClass(), configuration)
+        .getAccessors()
+        .get(mutator.getName());
+    Object collection = accessor == null ? null : accessor.getValue(destination);
+    if (collection == null)
+      return null;
+
+    PropertyInfo destInfo = mapping.getLastDestinationProperty();
+    Class<?> elementType = TypeResolver.resolveArgument(destInfo.getGenericType(),
+        destInfo.getInitialType());
+    if (elementType == Unknown.class)
+      return null;
+    return CollectionMerging.typeMapFor(propertyContext, propertyContext.getSource(), elementType) == null
+        ? null : collection;
+  }
+
   /**
    * Retrieves a converter from the store or from the cache.
    */
   @SuppressWarnings("unchecked")
-  private <S, D> Converter<S, D> converterFor(MappingContext<S, D> context) {
-    TypePair<?, ?> typePair = TypePair.of(context.getSourceType(), context.getDestinationType());
+  private <S, D> Converter<S, D> converterFor(Class<?> sourceType, Class<?> destinationType) {
+    TypePair<?, ?> typePair = TypePair.of(sourceType, destinationType);
     Converter<S, D> converter = (Converter<S, D>) converterCache.get(typePair);
     if (converter == null) {
-      converter = converterStore.getFirstSupported(context.getSourceType(),
-          context.getDestinationType());
+      converter = converterStore.getFirstSupported(sourceType, destinationType);
       if (converter != null)
         converterCache.put(typePair, converter);
     }
@@ -360,15 +691,7 @@ public class MappingEngineImpl implements MappingEngine {
   }
 
   private <T> T instantiate(Class<T> type, Errors errors) {
-    try {
-      Constructor<T> constructor = type.getDeclaredConstructor();
-      if (!constructor.isAccessible())
-        constructor.setAccessible(true);
-      return constructor.newInstance();
-    } catch (Exception e) {
-      errors.errorInstantiatingDestination(type, e);
-      return null;
-    }
+    return Instantiator.instantiatorFor(type).newInstance(errors);
   }
 
   /**
@@ -386,8 +709,8 @@ public class MappingEngineImpl implements MappingEngine {
     }
     if (provider == null && context.getTypeMap() != null)
       provider = context.getTypeMap().getProvider();
-    if (provider == null && configuration.getProvider() != null)
-      provider = (Provider<D>) configuration.getProvider();
+    if (provider == null && context.configuration.provider != null)
+      provider = (Provider<D>) context.configuration.provider;
     if (provider == null)
       return null;
 
@@ -395,7 +718,8 @@ public class MappingEngineImpl implements MappingEngine {
     if (destination != null
         && !context.getDestinationType().isAssignableFrom(destination.getClass()))
       context.errors.invalidProvidedDestinationInstance(destination, context.getDestinationType());
-    context.setDestination(destination);
+    // Provided destinations are tracked regardless of type so that they take precedence over mapping
+    context.setDestination(destination, true);
     return destination;
   }
 
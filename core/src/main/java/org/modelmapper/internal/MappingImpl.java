@@ -37,6 +37,21 @@ abstract class MappingImpl implements Mapping, Comparable<MappingImpl> {
   private Condition<?, ?> condition;
   protected Converter<?, ?> converter;
   private Provider<?> provider;
+  private volatile CompiledConditionEntry compiledCondition;
+  /** Caches how the mapping's source types are mapped to its destination type */
+  final InlineCache inlineCache = new InlineCache();
+  /** The destination paths of each mutator in the destination hierarchy, created lazily */
+  private String[] destinationPaths;
+
+  private static class CompiledConditionEntry {
+    private final Condition<?, ?> condition;
+    private final CompiledCondition compiled;
+
+    CompiledConditionEntry(Condition<?, ?> condition, CompiledCondition compiled) {
+      this.condition = condition;
+      this.compiled = compiled;
+    }
+  }
 
   /**
    * Creates an implicit mapping.
@@ -119,6 +134,22 @@ abstract class MappingImpl implements Mapping, Comparable<MappingImpl> {
     return skip;
   };
 
+  /**
+   * Returns the {@code condition} compiled for the mapping's static {@code sourceType}. The last
+   * compiled condition is cached since the same mapping is usually evaluated against the same
+   * condition.
+   */
+  CompiledCondition compiledConditionFor(Condition<?, ?> condition, Class<?> sourceType) {
+    CompiledConditionEntry entry = compiledCondition;
+    if (entry == null || entry.condition != condition) {
+      entry = new CompiledConditionEntry(condition, CompiledCondition.compile(condition,
+          sourceType));
+      compiledCondition = entry;
+    }
+
+    return entry.compiled;
+  }
+
   /**
    * Creates a merged mapping whose source path begins with the {@code mergedAccessors} and
    * destination path begins with the {@code mergedMutators}.
@@ -133,6 +164,16 @@ abstract class MappingImpl implements Mapping, Comparable<MappingImpl> {
     return path;
   }
 
+  /**
+   * Returns the paths of the destination hierarchy up to and including each destination mutator.
+   */
+  String[] getDestinationPaths() {
+    String[] paths = destinationPaths;
+    if (paths == null)
+      destinationPaths = paths = Strings.joinPrefixes(destinationMutators);
+    return paths;
+  }
+
   /**
    * Returns whether the mapping is explicit or implicit.
    */
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.modelmapper.MappingSession;
+import org.modelmapper.internal.util.Assert;
+import org.modelmapper.internal.util.Iterables;
+import org.modelmapper.internal.util.Types;
+
+/**
+ * MappingSession implementation that shares the source to destination identity map of its
+ * MappingContexts, along with their scratch collections, across map calls.
+ * 
+ * @author Jonathan Halterman
+ */
+public class MappingSessionImpl implements MappingSession {
+  /** Default bound on the number of source objects that a session remembers */
+  public static final int DEFAULT_MAX_SIZE = 10000;
+
+  /** Tracks destination objects for each source across map calls */
+  final Map<Object, Object> sourceToDestination = new IdentityHashMap<Object, Object>();
+  /** Scratch collections shared by the initial MappingContext of each map call */
+  final Map<String, Object> destinationCache = new HashMap<String, Object>();
+  final List<String> shadedPaths = new ArrayList<String>();
+  final List<Object> intermediateDestinations = new ArrayList<Object>();
+  final int maxSize;
+  /** Whether a source object was not remembered since the session was full */
+  private boolean full;
+  private final MappingEngineImpl engine;
+
+  /**
+   * Creates a session that maps with the {@code engine} and remembers up to {@code maxSize}
+   * source objects.
+   * 
+   * @throws IllegalArgumentException if {@code maxSize} is negative
+   */
+  public MappingSessionImpl(MappingEngineImpl engine, int maxSize) {
+    Assert.isTrue(maxSize >= 0, "maxSize must be non-negative");
+    this.engine = engine;
+    this.maxSize = maxSize;
+  }
+
+  public void clear() {
+    sourceToDestination.clear();
+    full = false;
+  }
+
+  public <D> D map(Object source, Class<D> destinationType) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destinationType, "destinationType");
+    return map(source, null, destinationType);
+  }
+
+  public void map(Object source, Object destination) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destination, "destination");
+    map(source, destination, Types.<Object>deProxy(destination.getClass()));
+  }
+
+  public int size() {
+    return sourceToDestination.size();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MappingSession[%s objects]", sourceToDestination.size());
+  }
+
+  private <D> D map(Object source, D destination, Class<D> destinationType) {
+    if (full)
+      clear();
+    destinationCache.clear();
+    shadedPaths.clear();
+    intermediateDestinations.clear();
+
+    MappingContextImpl<Object, D> context = new MappingContextImpl<Object, D>(source,
+        Types.<Object>deProxy(source.getClass()), destination, destinationType,
+        destinationType, engine, this);
+    boolean mapped = false;
+    try {
+      D result = engine.mapInitial(context);
+      mapped = true;
+      return result;
+    } finally {
+      // Destinations of a failed mapping may be partially mapped
+      if (!mapped)
+        clear();
+    }
+  }
+
+  /**
+   * Returns whether the destination mapped from an instance of the {@code sourceType} should be
+   * remembered, regardless of whether the type can take part in a cycle.
+   */
+  boolean tracks(Class<?> sourceType) {
+    if (sourceType.isPrimitive() || Types.isImmutable(sourceType)
+        || Iterables.isIterable(sourceType))
+      return false;
+    if (sourceToDestination.size() >= maxSize) {
+      full = true;
+      return false;
+    }
+    return true;
+  }
+}
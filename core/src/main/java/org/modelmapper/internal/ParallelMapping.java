@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.modelmapper.spi.MappingContext;
+
+/**
+ * Maps the elements of large collections, arrays and maps in parallel using the configured
+ * {@link org.modelmapper.config.Configuration#setParallelMappingExecutor parallel mapping
+ * executor}. Elements are split into contiguous chunks, one of which is mapped on the calling
+ * thread, and each result is written to the index of its source so that element order is
+ * preserved. Errors are recorded per chunk and merged into the context's Errors in chunk order once
+ * every chunk completes.
+ * 
+ * <p>
+ * Parallel mapping is only used when circular reference resolution is disabled, since resolving
+ * circular references requires tracking every mapped source across the whole object graph. The
+ * elements of a chunk are themselves mapped sequentially so that chunks never wait on the executor
+ * they run on.
+ * 
+ * @author Jonathan Halterman
+ */
+public final class ParallelMapping {
+  private static final int MIN_CHUNK_SIZE = 64;
+  private static final int CHUNKS_PER_PROCESSOR = 4;
+  /** Marks threads that are mapping a chunk */
+  private static final ThreadLocal<Boolean> MAPPING_CHUNK = new ThreadLocal<Boolean>();
+
+  private ParallelMapping() {
+  }
+
+  private static class Chunk implements Runnable {
+    private final MappingContextImpl<?, ?> context;
+    private final Object[] sources;
+    private final Object[] results;
+    private final Class<?>[] elementTypes;
+    private final InlineCache[] caches;
+    private final int start;
+    private final int end;
+    private final Errors errors = new Errors();
+    private Throwable failure;
+
+    Chunk(MappingContextImpl<?, ?> context, Object[] sources, Object[] results,
+        Class<?>[] elementTypes, InlineCache[] caches, int start, int end) {
+      this.context = context;
+      this.sources = sources;
+      this.results = results;
+      this.elementTypes = elementTypes;
+      this.caches = caches;
+      this.start = start;
+      this.end = end;
+    }
+
+    public void run() {
+      boolean nested = MAPPING_CHUNK.get() != null;
+      if (!nested)
+        MAPPING_CHUNK.set(Boolean.TRUE);
+
+      try {
+        MappingEngineImpl engine = (MappingEngineImpl) context.getMappingEngine();
+        for (int i = start; i < end; i++) {
+          MappingContextImpl<?, ?> elementContext = context.createConcurrent(sources[i],
+              elementTypes[i % elementTypes.length], errors);
+          results[i] = engine.map(elementContext, caches[i % caches.length]);
+        }
+      } catch (Throwable t) {
+        failure = t;
+      } finally {
+        if (!nested)
+          MAPPING_CHUNK.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns whether {@code size} elements of the {@code context}'s source should be mapped in
+   * parallel.
+   */
+  public static boolean isEnabled(MappingContext<?, ?> context, int size) {
+    MappingContextImpl<?, ?> contextImpl = (MappingContextImpl<?, ?>) context;
+    ConfigurationSnapshot configuration = contextImpl.configuration;
+    return configuration.parallelMappingExecutor != null
+        && size >= configuration.parallelMappingThreshold && !configuration.resolveCircular
+        && contextImpl.session == null
+        && MAPPING_CHUNK.get() == null;
+  }
+
+  /**
+   * Maps each of the {@code sources} in parallel, where the source at index {@code i} is mapped to
+   * an instance of {@code elementTypes[i % elementTypes.length]}.
+   * 
+   * @return the mapped elements, in the order of their {@code sources}
+   */
+  public static Object[] map(MappingContext<?, ?> context, Object[] sources,
+      Class<?>... elementTypes) {
+    MappingContextImpl<?, ?> contextImpl = (MappingContextImpl<?, ?>) context;
+    ExecutorService executor = contextImpl.configuration.parallelMappingExecutor;
+    Object[] results = new Object[sources.length];
+
+    // Chunks must contain whole groups of element types
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, sources.length
+        / (Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR) + 1);
+    if (chunkSize % elementTypes.length != 0)
+      chunkSize += elementTypes.length - chunkSize % elementTypes.length;
+    int chunkCount = (sources.length + chunkSize - 1) / chunkSize;
+    InlineCache[] caches = new InlineCache[elementTypes.length];
+    for (int i = 0; i < caches.length; i++)
+      caches[i] = new InlineCache();
+    Chunk[] chunks = new Chunk[chunkCount];
+    for (int i = 0; i < chunkCount; i++)
+      chunks[i] = new Chunk(contextImpl, sources, results, elementTypes, caches, i * chunkSize,
+          Math.min(sources.length, (i + 1) * chunkSize));
+
+    List<Future<?>> futures = new ArrayList<Future<?>>(chunkCount);
+    for (int i = 1; i < chunkCount; i++) {
+      try {
+        futures.add(executor.submit(chunks[i]));
+      } catch (RejectedExecutionException e) {
+        chunks[i].run();
+      }
+    }
+
+    chunks[0].run();
+    awaitAll(futures);
+
+    Throwable failure = null;
+    for (Chunk chunk : chunks) {
+      contextImpl.errors.merge(chunk.errors);
+      if (failure == null)
+        failure = chunk.failure;
+    }
+
+    if (failure instanceof ErrorsException)
+      throw contextImpl.errors.toException();
+    if (failure instanceof RuntimeException)
+      throw (RuntimeException) failure;
+    if (failure instanceof Error)
+      throw (Error) failure;
+    return results;
+  }
+
+  /**
+   * Waits for the {@code futures} to complete, deferring interruption until they have.
+   */
+  private static void awaitAll(List<Future<?>> futures) {
+    boolean interrupted = false;
+    for (Future<?> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // Failures are recorded by the chunk
+          break;
+        }
+      }
+    }
+
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+}
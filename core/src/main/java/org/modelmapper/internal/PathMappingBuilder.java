@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.modelmapper.Condition;
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.Converter;
+import org.modelmapper.PathMap;
+import org.modelmapper.Provider;
+import org.modelmapper.builder.PathMapExpression;
+import org.modelmapper.config.Configuration;
+import org.modelmapper.internal.MappingBuilderImpl.MappingOptions;
+import org.modelmapper.internal.util.Assert;
+import org.modelmapper.internal.util.Types;
+
+/**
+ * Builds explicit property mappings from dotted property paths. Paths are resolved against the
+ * accessors and mutators of each type's TypeInfo, so no proxies are created.
+ * 
+ * @author Jonathan Halterman
+ */
+public class PathMappingBuilder<S, D> implements PathMapExpression {
+  private static Method PATH_MAP_CONFIGURE;
+  private final Class<S> sourceType;
+  private final Class<D> destinationType;
+  private final Configuration configuration;
+  private final Errors errors = new Errors();
+  private final List<MappingImpl> propertyMappings = new LinkedList<MappingImpl>();
+  private MappingOptions options = new MappingOptions();
+
+  static {
+    PATH_MAP_CONFIGURE = Types.methodFor(PathMap.class, "configure", PathMappingBuilder.class);
+    PATH_MAP_CONFIGURE.setAccessible(true);
+  }
+
+  PathMappingBuilder(Class<S> sourceType, Class<D> destinationType, Configuration configuration) {
+    this.sourceType = sourceType;
+    this.destinationType = destinationType;
+    this.configuration = configuration;
+  }
+
+  public void map(String sourcePath, String destinationPath) {
+    Assert.notNull(sourcePath, "sourcePath");
+    Assert.notNull(destinationPath, "destinationPath");
+
+    try {
+      List<Accessor> accessors = accessorsFor(sourcePath);
+      List<Mutator> mutators = mutatorsFor(destinationPath);
+      if (accessors != null && mutators != null)
+        propertyMappings.add(new PropertyMappingImpl(accessors, mutators, options));
+    } finally {
+      options = new MappingOptions();
+    }
+  }
+
+  public void skip(String destinationPath) {
+    Assert.notNull(destinationPath, "destinationPath");
+
+    try {
+      options.skip = true;
+      List<Mutator> mutators = mutatorsFor(destinationPath);
+      if (mutators != null)
+        propertyMappings.add(new ConstantMappingImpl((Object) null, mutators, options));
+    } finally {
+      options = new MappingOptions();
+    }
+  }
+
+  public PathMapExpression using(Converter<?, ?> converter) {
+    Assert.state(options.converter == null, "using() can only be called once per mapping.");
+    options.converter = converter;
+    return this;
+  }
+
+  public PathMapExpression when(Condition<?, ?> condition) {
+    Assert.state(options.condition == null, "when() can only be called once per mapping.");
+    options.condition = condition;
+    return this;
+  }
+
+  public PathMapExpression withProvider(Provider<?> provider) {
+    Assert.state(options.provider == null, "withProvider() can only be called once per mapping.");
+    options.provider = provider;
+    return this;
+  }
+
+  /**
+   * Builds and returns all property mappings defined in the {@code pathMap}.
+   */
+  Collection<MappingImpl> build(PathMap<S, D> pathMap) {
+    try {
+      PATH_MAP_CONFIGURE.invoke(pathMap, this);
+    } catch (IllegalAccessException e) {
+      errors.errorAccessingConfigure(e);
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ConfigurationException)
+        errors.merge(((ConfigurationException) cause).getErrorMessages());
+      else
+        errors.addError("building mappings", cause);
+    }
+
+    errors.throwConfigurationExceptionIfErrorsExist();
+    return propertyMappings;
+  }
+
+  /**
+   * Resolves the accessors for each property in the {@code path}, starting from the source type.
+   * 
+   * @return accessors else {@code null} if a property could not be resolved
+   */
+  private List<Accessor> accessorsFor(String path) {
+    List<Accessor> accessors = new ArrayList<Accessor>();
+    Class<?> type = sourceType;
+    for (String propertyName : path.split("\\.")) {
+      Accessor accessor = TypeInfoRegistry.typeInfoFor(type, configuration)
+          .getAccessors()
+          .get(propertyName);
+      if (accessor == null) {
+        errors.invalidSourcePath(path, propertyName, type);
+        return null;
+      }
+
+      accessors.add(accessor);
+      type = accessor.getType();
+    }
+
+    return accessors;
+  }
+
+  /**
+   * Resolves the mutators for each property in the {@code path}, starting from the destination
+   * type.
+   * 
+   * @return mutators else {@code null} if a property could not be resolved
+   */
+  private List<Mutator> mutatorsFor(String path) {
+    List<Mutator> mutators = new ArrayList<Mutator>();
+    Class<?> type = destinationType;
+    for (String propertyName : path.split("\\.")) {
+      Mutator mutator = TypeInfoRegistry.typeInfoFor(type, configuration)
+          .getMutators()
+          .get(propertyName);
+      if (mutator == null) {
+        errors.invalidDestinationPath(path, propertyName, type);
+        return null;
+      }
+
+      mutators.add(mutator);
+      type = mutator.getType();
+    }
+
+    return mutators;
+  }
+}
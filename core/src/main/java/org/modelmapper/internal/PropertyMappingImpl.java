@@ -30,6 +30,8 @@ import org.modelmapper.spi.PropertyMapping;
 class PropertyMappingImpl extends MappingImpl implements PropertyMapping {
   protected final List<PropertyInfo> sourceAccessors;
   protected boolean cyclic;
+  /** The source paths of each accessor in the source hierarchy, created lazily */
+  private String[] sourcePaths;
 
   /**
    * Creates an implicit PropertyMapping.
@@ -82,6 +84,16 @@ class PropertyMappingImpl extends MappingImpl implements PropertyMapping {
     return sourceAccessors;
   }
 
+  /**
+   * Returns the paths of the source hierarchy up to and including each source accessor.
+   */
+  String[] getSourcePaths() {
+    String[] paths = sourcePaths;
+    if (paths == null)
+      sourcePaths = paths = Strings.joinPrefixes(sourceAccessors);
+    return paths;
+  }
+
   @Override
   public String toString() {
     return String.format("PropertyMapping[%s -> %s]", Strings.joinWithFirstType(sourceAccessors),
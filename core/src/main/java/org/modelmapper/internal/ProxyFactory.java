@@ -54,15 +54,42 @@ class ProxyFactory {
     return Enhancer.isEnhanced(type);
   }
 
+  /**
+   * Returns the shared proxy class for the {@code type}, which lives as long as the type's class
+   * loader.
+   * 
+   * @throws ErrorsException if the proxy class cannot be generated
+   */
   static Class<?> proxyClassFor(Class<?> type) throws ErrorsException {
+    Enhancer enhancer = enhancerFor(type);
+    enhancer.setUseCache(true);
+    return createClass(enhancer, type);
+  }
+
+  /**
+   * Returns a new proxy class for the {@code type} that is defined by the {@code classLoader} and
+   * not cached, so that it can be unloaded along with the {@code classLoader}.
+   * 
+   * @throws ErrorsException if the proxy class cannot be generated
+   */
+  static Class<?> proxyClassFor(Class<?> type, ClassLoader classLoader) throws ErrorsException {
+    Enhancer enhancer = enhancerFor(type);
+    enhancer.setUseCache(false);
+    enhancer.setClassLoader(classLoader);
+    return createClass(enhancer, type);
+  }
+
+  private static Enhancer enhancerFor(Class<?> type) {
     Enhancer enhancer = new Enhancer();
     enhancer.setSuperclass(type);
     enhancer.setUseFactory(false);
-    enhancer.setUseCache(true);
     enhancer.setNamingPolicy(NAMING_POLICY);
     enhancer.setCallbackFilter(METHOD_FILTER);
     enhancer.setCallbackTypes(new Class[] { MethodInterceptor.class, NoOp.class });
+    return enhancer;
+  }
 
+  private static Class<?> createClass(Enhancer enhancer, Class<?> type) throws ErrorsException {
     try {
       return enhancer.createClass();
     } catch (Throwable t) {
@@ -71,13 +98,19 @@ class ProxyFactory {
   }
 
   /**
+   * Returns a proxy for the {@code type} whose invocations are reported to the
+   * {@code mappingProgress}. Proxy classes are shared, but callbacks are registered for the current
+   * thread only while the proxy is constructed, so each proxy is bound to its own interceptor and
+   * proxies may be created concurrently. Proxy classes are obtained from the builder's
+   * {@link ProxySession}.
+   * 
    * @throws ErrorsException if the proxy for {@code type} cannot be generated or instantiated
    */
   static <T> T proxyFor(Class<T> type, MappingProgress<?> mappingProgress) throws ErrorsException {
     if (Modifier.isFinal(type.getModifiers()))
       return null;
 
-    Class<?> enhanced = proxyClassFor(type);
+    Class<?> enhanced = mappingProgress.builder.proxySession.proxyClassFor(type);
 
     try {
       Constructor<?> constructor = bestConstructorFor(enhanced);
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the proxy classes created while building the mappings for a single PropertyMap. Proxies
+ * are only needed during configuration, so where possible their classes are defined in a
+ * {@link ProxyClassLoader} owned by the session, allowing them to be unloaded once the session is
+ * released and its proxies are unreachable. Types whose proxies could not work from another class
+ * loader use the shared proxy classes of the {@link ProxyFactory} instead.
+ * 
+ * @author Jonathan Halterman
+ */
+final class ProxySession {
+  private final Map<ClassLoader, ProxyClassLoader> classLoaders = new HashMap<ClassLoader, ProxyClassLoader>();
+  private final Map<Class<?>, Class<?>> proxyClasses = new HashMap<Class<?>, Class<?>>();
+
+  /**
+   * A class loader for discardable proxy classes that resolves classes against the proxied type's
+   * class loader, falling back to the class loader of ModelMapper's proxy runtime.
+   */
+  static class ProxyClassLoader extends ClassLoader {
+    ProxyClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      try {
+        return super.loadClass(name, resolve);
+      } catch (ClassNotFoundException e) {
+        return ProxyFactory.class.getClassLoader().loadClass(name);
+      }
+    }
+  }
+
+  /**
+   * Returns whether proxies of the {@code type} can be defined in a separate class loader. This
+   * requires the type, its constructor and the signatures of its overridable methods to be
+   * accessible from outside of the type's package, since a separate class loader defines a
+   * separate runtime package. Package-private methods could not be intercepted.
+   */
+  static boolean isDiscardable(Class<?> type) {
+    if (type.getClassLoader() == null || !isAccessible(type))
+      return false;
+
+    int constructorModifiers = ProxyFactory.bestConstructorFor(type).getModifiers();
+    if (!Modifier.isPublic(constructorModifiers) && !Modifier.isProtected(constructorModifiers))
+      return false;
+
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (Method method : current.getDeclaredMethods()) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)
+            || Modifier.isFinal(modifiers))
+          continue;
+        if (!Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers))
+          return false;
+        if (!isAccessible(method.getReturnType()))
+          return false;
+        for (Class<?> parameterType : method.getParameterTypes())
+          if (!isAccessible(parameterType))
+            return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean isAccessible(Class<?> type) {
+    while (type.isArray())
+      type = type.getComponentType();
+    if (type.isPrimitive())
+      return true;
+    for (Class<?> current = type; current != null; current = current.getEnclosingClass())
+      if (!Modifier.isPublic(current.getModifiers()))
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns a proxy class for the {@code type}, defined in one of the session's class loaders if
+   * the {@code type} is {@link #isDiscardable(Class) discardable}.
+   * 
+   * @throws ErrorsException if the proxy class cannot be generated
+   */
+  Class<?> proxyClassFor(Class<?> type) throws ErrorsException {
+    Class<?> proxyClass = proxyClasses.get(type);
+    if (proxyClass == null) {
+      if (isDiscardable(type)) {
+        ProxyClassLoader classLoader = classLoaders.get(type.getClassLoader());
+        if (classLoader == null) {
+          classLoader = new ProxyClassLoader(type.getClassLoader());
+          classLoaders.put(type.getClassLoader(), classLoader);
+        }
+
+        proxyClass = ProxyFactory.proxyClassFor(type, classLoader);
+      } else
+        proxyClass = ProxyFactory.proxyClassFor(type);
+
+      proxyClasses.put(type, proxyClass);
+    }
+
+    return proxyClass;
+  }
+
+  /**
+   * Releases the session's proxy classes and class loaders.
+   */
+  void release() {
+    proxyClasses.clear();
+    classLoaders.clear();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.PropertyInfo;
+import org.modelmapper.spi.PropertyMapping;
+import org.modelmapper.spi.SourceMapping;
+
+/**
+ * Indexes the mappings of a TypeMap by the paths of their source properties, so that the mappings
+ * affected by a set of changed source paths can be found without examining every mapping. A
+ * mapping is affected by a changed path if its source path starts with the changed path, or if the
+ * changed path starts with its source path. Mappings from the source object itself are affected by
+ * any change, and constant mappings by none.
+ * 
+ * @author Jonathan Halterman
+ */
+final class SourcePathIndex {
+  private final List<Mapping> mappings;
+  /** Mapping indexes by every prefix of their source path, including the full path */
+  private final Map<String, BitSet> byPrefix = new HashMap<String, BitSet>();
+  /** Mapping indexes by their full source path */
+  private final Map<String, BitSet> byPath = new HashMap<String, BitSet>();
+  /** Indexes of the mappings that are affected by any change */
+  private final BitSet always = new BitSet();
+
+  SourcePathIndex(List<Mapping> mappings) {
+    this.mappings = mappings;
+    for (int i = 0; i < mappings.size(); i++) {
+      Mapping mapping = mappings.get(i);
+      if (mapping instanceof PropertyMapping) {
+        StringBuilder path = new StringBuilder();
+        for (PropertyInfo info : ((PropertyMapping) mapping).getSourceProperties()) {
+          if (path.length() > 0)
+            path.append('.');
+          path.append(info.getName());
+          bitsFor(byPrefix, path.toString()).set(i);
+        }
+
+        bitsFor(byPath, path.toString()).set(i);
+      } else if (mapping instanceof SourceMapping)
+        always.set(i);
+    }
+  }
+
+  /**
+   * Returns the mappings affected by the {@code changedPaths}, in mapping order.
+   */
+  List<Mapping> affectedBy(Collection<String> changedPaths) {
+    BitSet affected = (BitSet) always.clone();
+    for (String path : changedPaths) {
+      or(affected, byPrefix.get(path));
+      for (int dot = path.lastIndexOf('.'); dot > 0; dot = path.lastIndexOf('.', dot - 1))
+        or(affected, byPath.get(path.substring(0, dot)));
+    }
+
+    List<Mapping> result = new ArrayList<Mapping>(affected.cardinality());
+    for (int i = affected.nextSetBit(0); i >= 0; i = affected.nextSetBit(i + 1))
+      result.add(mappings.get(i));
+    return result;
+  }
+
+  private static BitSet bitsFor(Map<String, BitSet> index, String path) {
+    BitSet bits = index.get(path);
+    if (bits == null) {
+      bits = new BitSet();
+      index.put(path, bits);
+    }
+
+    return bits;
+  }
+
+  private static void or(BitSet affected, BitSet bits) {
+    if (bits != null)
+      affected.or(bits);
+  }
+}
@@ -16,12 +16,17 @@
 package org.modelmapper.internal;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.modelmapper.Condition;
 import org.modelmapper.Converter;
+import org.modelmapper.KeyExtractor;
+import org.modelmapper.PathMap;
 import org.modelmapper.PropertyMap;
 import org.modelmapper.Provider;
 import org.modelmapper.TypeMap;
@@ -51,6 +56,14 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
   private Converter<?, ?> propertyConverter;
   private Condition<?, ?> propertyCondition;
   private Provider<?> propertyProvider;
+  private KeyExtractor<S> sourceKeyExtractor;
+  private KeyExtractor<D> destinationKeyExtractor;
+  /** Indexes the mappings by source path, built lazily and reset when mappings are added */
+  private volatile SourcePathIndex sourcePathIndex;
+  /** The lazily mappable subgraphs, identified lazily and reset when mappings are added */
+  private volatile LazySubgraphs lazySubgraphs;
+  /** The immutable mappings of a frozen TypeMap, else null */
+  private volatile List<Mapping> frozenMappings;
 
   TypeMapImpl(Class<S> sourceType, Class<D> destinationType, Configuration configuration,
       MappingEngineImpl engine) {
@@ -60,13 +73,33 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     this.engine = engine;
   }
 
+  public void addMappings(PathMap<S, D> pathMap) {
+    Assert.notNull(pathMap, "pathMap");
+    assertNotFrozen();
+    if (sourceType.isEnum() || destinationType.isEnum())
+      new Errors().mappingForEnum().throwConfigurationExceptionIfErrorsExist();
+
+    Collection<MappingImpl> pathMappings = new PathMappingBuilder<S, D>(sourceType,
+        destinationType, configuration).build(pathMap);
+    synchronized (mappings) {
+      for (MappingImpl mapping : pathMappings) {
+        MappingImpl existingMapping = addMapping(mapping);
+        if (existingMapping != null && existingMapping.isExplicit())
+          new Errors().duplicateMapping(mapping.getLastDestinationProperty())
+              .throwConfigurationExceptionIfErrorsExist();
+      }
+    }
+  }
+
   public void addMappings(PropertyMap<S, D> propertyMap) {
+    assertNotFrozen();
     if (sourceType.isEnum() || destinationType.isEnum())
       new Errors().mappingForEnum().throwConfigurationExceptionIfErrorsExist();
 
+    Collection<MappingImpl> propertyMappings = new MappingBuilderImpl<S, D>(sourceType,
+        destinationType, configuration).build(propertyMap);
     synchronized (mappings) {
-      for (MappingImpl mapping : new MappingBuilderImpl<S, D>(sourceType, destinationType,
-          configuration).build(propertyMap)) {
+      for (MappingImpl mapping : propertyMappings) {
         MappingImpl existingMapping = addMapping(mapping);
         if (existingMapping != null && existingMapping.isExplicit())
           new Errors().duplicateMapping(mapping.getLastDestinationProperty())
@@ -83,11 +116,19 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     return converter;
   }
 
+  public KeyExtractor<D> getDestinationKeyExtractor() {
+    return destinationKeyExtractor;
+  }
+
   public Class<D> getDestinationType() {
     return destinationType;
   }
 
   public List<Mapping> getMappings() {
+    List<Mapping> result = frozenMappings;
+    if (result != null)
+      return result;
+
     synchronized (mappings) {
       return new ArrayList<Mapping>(mappings.values());
     }
@@ -109,6 +150,10 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     return provider;
   }
 
+  public KeyExtractor<S> getSourceKeyExtractor() {
+    return sourceKeyExtractor;
+  }
+
   public Class<S> getSourceType() {
     return sourceType;
   }
@@ -156,32 +201,65 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     context.errors.throwMappingExceptionIfErrorsExist();
   }
 
+  public void mapChanged(S source, D destination, Set<String> changedSourcePaths) {
+    Assert.notNull(source, "source");
+    Assert.notNull(destination, "destination");
+    Assert.notNull(changedSourcePaths, "changedSourcePaths");
+    Class<S> sourceType = Types.<S>deProxy(source.getClass());
+    MappingContextImpl<S, D> context = new MappingContextImpl<S, D>(source, sourceType,
+        destination, destinationType, null, engine);
+
+    try {
+      engine.typeMap(context, this, sourcePathIndex().affectedBy(changedSourcePaths));
+    } catch (Throwable t) {
+      context.errors.errorMapping(sourceType, destinationType, t);
+    }
+
+    context.errors.throwMappingExceptionIfErrorsExist();
+  }
+
   public TypeMap<S, D> setCondition(Condition<?, ?> condition) {
+    assertNotFrozen();
     this.condition = Assert.notNull(condition, "condition");
     return this;
   }
 
   public TypeMap<S, D> setConverter(Converter<S, D> converter) {
+    assertNotFrozen();
     this.converter = Assert.notNull(converter, "converter");
     return this;
   }
 
+  public TypeMap<S, D> setMergeKeys(KeyExtractor<S> sourceKeyExtractor,
+      KeyExtractor<D> destinationKeyExtractor) {
+    assertNotFrozen();
+    this.sourceKeyExtractor = Assert.notNull(sourceKeyExtractor, "sourceKeyExtractor");
+    this.destinationKeyExtractor = Assert.notNull(destinationKeyExtractor,
+        "destinationKeyExtractor");
+    engine.configuration.typeMapStore.mergeKeysConfigured = true;
+    return this;
+  }
+
   public TypeMap<S, D> setPropertyCondition(Condition<?, ?> condition) {
+    assertNotFrozen();
     propertyCondition = Assert.notNull(condition, "condition");
     return this;
   }
 
   public TypeMap<S, D> setPropertyConverter(Converter<?, ?> converter) {
+    assertNotFrozen();
     propertyConverter = Assert.notNull(converter, "converter");
     return this;
   }
 
   public TypeMap<S, D> setPropertyProvider(Provider<?> provider) {
+    assertNotFrozen();
     propertyProvider = Assert.notNull(provider, "provider");
     return this;
   }
 
   public TypeMap<S, D> setProvider(Provider<D> provider) {
+    assertNotFrozen();
     this.provider = Assert.notNull(provider, "provider");
     return this;
   }
@@ -208,10 +286,22 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     synchronized (mappings) {
       mappedProperties.put(mapping.getDestinationProperties().get(0).getName(),
           mapping.getDestinationProperties().get(0));
+      sourcePathIndex = null;
+      lazySubgraphs = null;
       return mappings.put(mapping.getPath(), mapping);
     }
   }
 
+  /**
+   * Freezes the TypeMap, caching an immutable copy of its mappings so that they can be read
+   * without locking. Subsequent attempts to modify the TypeMap fail.
+   */
+  void freeze() {
+    synchronized (mappings) {
+      frozenMappings = Collections.unmodifiableList(new ArrayList<Mapping>(mappings.values()));
+    }
+  }
+
   /**
    * Used by PropertyMapBuilder to determine if a mapping for the {@code path} already exists. No
    * need to synchronize here since the TypeMap is not exposed publicly yet.
@@ -228,4 +318,31 @@ class TypeMapImpl<S, D> implements TypeMap<S, D> {
     Mapping mapping = mappings.get(path);
     return mapping != null && mapping.isSkipped();
   }
+
+  /**
+   * Returns the lazily mappable subgraphs of the TypeMap. Identifying them may build implicit
+   * mappings for nested property types, so no lock is held while doing so.
+   */
+  LazySubgraphs lazySubgraphs() {
+    LazySubgraphs subgraphs = lazySubgraphs;
+    if (subgraphs == null)
+      lazySubgraphs = subgraphs = new LazySubgraphs(this, engine);
+    return subgraphs;
+  }
+
+  private SourcePathIndex sourcePathIndex() {
+    SourcePathIndex index = sourcePathIndex;
+    if (index == null)
+      synchronized (mappings) {
+        index = sourcePathIndex;
+        if (index == null)
+          sourcePathIndex = index = new SourcePathIndex(getMappings());
+      }
+
+    return index;
+  }
+
+  private void assertNotFrozen() {
+    Assert.state(frozenMappings == null, "%s is frozen and cannot be modified", this);
+  }
 }
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.TypeMap;
+import org.modelmapper.config.Configuration;
+import org.modelmapper.internal.MappingBuilderImpl.MappingOptions;
+import org.modelmapper.spi.ConstantMapping;
+import org.modelmapper.spi.Mapping;
+import org.modelmapper.spi.PropertyInfo;
+import org.modelmapper.spi.PropertyType;
+
+/**
+ * Writes and loads versioned binary snapshots of resolved TypeMap metadata. A snapshot contains the
+ * member references and paths of each mapping so that TypeMaps can be rebuilt without reflecting on
+ * and matching every property again.
+ *
+ * <p>
+ * Only TypeMaps whose mappings can be fully described by member references are written. TypeMaps
+ * with Converters, Conditions or Providers are left out and built normally on first use. When a
+ * snapshot is loaded, every recorded member is resolved and its type compared against the recorded
+ * type, and the members declared by the types of the TypeMap and their supertypes are compared
+ * against a recorded hash of their signatures. If any member of a TypeMap is missing or has
+ * changed, or members were added to or removed from its types, that TypeMap is built normally
+ * instead.
+ *
+ * @author Jonathan Halterman
+ */
+public final class TypeMapSnapshot {
+  static final int MAGIC = 0x4D4D5331;
+  static final int VERSION = 3;
+  private static final byte PROPERTY_MAPPING = 0;
+  private static final byte CONSTANT_MAPPING = 1;
+  private static final Map<String, Class<?>> PRIMITIVES = new HashMap<String, Class<?>>();
+
+  static {
+    for (Class<?> primitive : new Class<?>[] { Boolean.TYPE, Character.TYPE, Byte.TYPE,
+        Short.TYPE, Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE })
+      PRIMITIVES.put(primitive.getName(), primitive);
+  }
+
+  private TypeMapSnapshot() {
+  }
+
+  /** Thrown when a recorded member no longer matches the class it was recorded against. */
+  private static class StaleSnapshotException extends Exception {
+    private static final long serialVersionUID = 0;
+  }
+
+  /**
+   * Writes a snapshot of the TypeMaps in the {@code typeMapStore} to the {@code outputStream}.
+   *
+   * @return the number of TypeMaps written
+   */
+  public static int write(TypeMapStore typeMapStore, Configuration configuration,
+      OutputStream outputStream) throws IOException {
+    List<TypeMap<?, ?>> typeMaps = new ArrayList<TypeMap<?, ?>>();
+    for (TypeMap<?, ?> typeMap : typeMapStore.get())
+      if (isSnapshotable(typeMap))
+        typeMaps.add(typeMap);
+
+    DataOutputStream out = new DataOutputStream(outputStream);
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    out.writeUTF(fingerprintFor(configuration));
+    out.writeInt(typeMaps.size());
+
+    for (TypeMap<?, ?> typeMap : typeMaps) {
+      List<Mapping> mappings = typeMap.getMappings();
+      out.writeUTF(typeMap.getSourceType().getName());
+      out.writeUTF(typeMap.getDestinationType().getName());
+      out.writeInt(mappings.size());
+
+      for (Mapping mapping : mappings) {
+        MappingImpl mappingImpl = (MappingImpl) mapping;
+        if (mapping instanceof PropertyMappingImpl) {
+          PropertyMappingImpl propertyMapping = (PropertyMappingImpl) mapping;
+          out.writeByte(PROPERTY_MAPPING);
+          out.writeBoolean(propertyMapping.cyclic);
+          writeProperties(out, propertyMapping.getSourceProperties());
+        } else
+          out.writeByte(CONSTANT_MAPPING);
+
+        out.writeBoolean(mappingImpl.isExplicit());
+        out.writeBoolean(mapping.isSkipped());
+        writeProperties(out, mapping.getDestinationProperties());
+      }
+
+      out.writeInt(memberHashFor(typeMap.getSourceType(), typeMap.getDestinationType(), mappings));
+    }
+
+    out.flush();
+    return typeMaps.size();
+  }
+
+  /**
+   * Loads TypeMaps from the snapshot in the {@code inputStream} into the {@code typeMapStore}.
+   * TypeMaps that already exist in the store are left untouched. TypeMaps whose recorded members
+   * are stale are built normally, and types that can no longer be loaded are skipped. If the
+   * snapshot was written for a different configuration, every recorded TypeMap is built normally.
+   *
+   * @return the number of TypeMaps that were loaded from the snapshot
+   * @throws IOException if the snapshot cannot be read or has an unsupported format
+   */
+  public static int load(TypeMapStore typeMapStore, InheritingConfiguration configuration,
+      MappingEngineImpl engine, InputStream inputStream, ClassLoader classLoader)
+      throws IOException {
+    DataInputStream in = new DataInputStream(inputStream);
+    if (in.readInt() != MAGIC)
+      throw new IOException("Input is not a TypeMap snapshot");
+    int version = in.readShort();
+    if (version != VERSION)
+      throw new IOException("Unsupported TypeMap snapshot version " + version);
+    boolean configurationMatches = fingerprintFor(configuration).equals(in.readUTF());
+
+    int loaded = 0;
+    int typeMapCount = in.readInt();
+    for (int i = 0; i < typeMapCount; i++) {
+      Class<?> sourceType = load(in.readUTF(), classLoader);
+      Class<?> destinationType = load(in.readUTF(), classLoader);
+      TypeMapImpl<?, ?> typeMap = null;
+      if (configurationMatches && sourceType != null && destinationType != null)
+        typeMap = newTypeMap(sourceType, destinationType, configuration, engine);
+
+      int mappingCount = in.readInt();
+      for (int j = 0; j < mappingCount; j++) {
+        MappingImpl mapping = readMapping(in, configuration, classLoader, typeMap != null);
+        if (mapping == null)
+          typeMap = null;
+        else if (typeMap != null)
+          typeMap.addMapping(mapping);
+      }
+
+      int memberHash = in.readInt();
+      if (typeMap != null
+          && memberHash != memberHashFor(sourceType, destinationType, typeMap.getMappings()))
+        typeMap = null;
+
+      if (sourceType == null || destinationType == null
+          || typeMapStore.contains(sourceType, destinationType))
+        continue;
+
+      if (typeMap != null && typeMapStore.add(typeMap)) {
+        loaded++;
+      } else {
+        try {
+          typeMapStore.getOrCreate(sourceType, destinationType, engine);
+        } catch (ConfigurationException ignore) {
+        }
+      }
+    }
+
+    return loaded;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static TypeMapImpl<?, ?> newTypeMap(Class<?> sourceType, Class<?> destinationType,
+      InheritingConfiguration configuration, MappingEngineImpl engine) {
+    return new TypeMapImpl(sourceType, destinationType, configuration, engine);
+  }
+
+  /**
+   * Returns whether the {@code typeMap} can be fully described by member references.
+   */
+  static boolean isSnapshotable(TypeMap<?, ?> typeMap) {
+    if (typeMap.getConverter() != null || typeMap.getCondition() != null
+        || typeMap.getProvider() != null || typeMap.getPropertyConverter() != null
+        || typeMap.getPropertyCondition() != null || typeMap.getPropertyProvider() != null)
+      return false;
+
+    for (Mapping mapping : typeMap.getMappings()) {
+      if (mapping.getConverter() != null || mapping.getCondition() != null
+          || mapping.getProvider() != null)
+        return false;
+      if (mapping instanceof ConstantMapping) {
+        if (((ConstantMapping) mapping).getConstant() != null)
+          return false;
+      } else if (!(mapping instanceof PropertyMappingImpl))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns a fingerprint of the configuration settings that affect which members are matched.
+   */
+  static String fingerprintFor(Configuration configuration) {
+    return new StringBuilder().append(configuration.getMatchingStrategy().getClass().getName())
+        .append(';')
+        .append(configuration.getSourceNameTokenizer().getClass().getName())
+        .append(';')
+        .append(configuration.getSourceNamingConvention().getClass().getName())
+        .append(';')
+        .append(configuration.getSourceNameTransformer().getClass().getName())
+        .append(';')
+        .append(configuration.getDestinationNameTokenizer().getClass().getName())
+        .append(';')
+        .append(configuration.getDestinationNamingConvention().getClass().getName())
+        .append(';')
+        .append(configuration.getDestinationNameTransformer().getClass().getName())
+        .append(';')
+        .append(configuration.getFieldAccessLevel())
+        .append(';')
+        .append(configuration.getMethodAccessLevel())
+        .append(';')
+        .append(configuration.isFieldMatchingEnabled())
+        .append(';')
+        .append(configuration.isAmbiguityIgnored())
+        .toString();
+  }
+
+  /**
+   * Returns a hash of the signatures of the members declared by the {@code sourceType}, the
+   * {@code destinationType}, the intermediate property types of the {@code mappings}, and their
+   * supertypes. Members are hashed directly rather than through their TypeInfo so that checking a
+   * snapshot does not resolve the properties of every type.
+   */
+  static int memberHashFor(Class<?> sourceType, Class<?> destinationType, List<Mapping> mappings) {
+    Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+    addHierarchy(types, sourceType);
+    addHierarchy(types, destinationType);
+    for (Mapping mapping : mappings) {
+      if (mapping instanceof PropertyMappingImpl)
+        addIntermediateTypes(types, ((PropertyMappingImpl) mapping).getSourceProperties());
+      addIntermediateTypes(types, mapping.getDestinationProperties());
+    }
+
+    int hash = 1;
+    for (Class<?> type : types)
+      hash = 31 * hash + memberHashFor(type);
+    return hash;
+  }
+
+  private static void addIntermediateTypes(Set<Class<?>> types,
+      List<? extends PropertyInfo> properties) {
+    for (int i = 0; i < properties.size() - 1; i++)
+      addHierarchy(types, properties.get(i).getType());
+  }
+
+  /** Adds the {@code type} and its supertypes, other than {@code Object}, to the {@code types}. */
+  private static void addHierarchy(Set<Class<?>> types, Class<?> type) {
+    if (type == null || type == Object.class || !types.add(type))
+      return;
+    addHierarchy(types, type.getSuperclass());
+    for (Class<?> interfaceType : type.getInterfaces())
+      addHierarchy(types, interfaceType);
+  }
+
+  /**
+   * Returns an order independent hash of the modifiers, names and types of the non-synthetic fields
+   * and methods declared by the {@code type}.
+   */
+  private static int memberHashFor(Class<?> type) {
+    int hash = 0;
+    for (Field field : type.getDeclaredFields())
+      if (!field.isSynthetic())
+        hash += (field.getModifiers() * 31 + field.getName().hashCode()) * 31
+            + field.getType().getName().hashCode();
+    for (Method method : type.getDeclaredMethods())
+      if (!method.isSynthetic()) {
+        int methodHash = (method.getModifiers() * 31 + method.getName().hashCode()) * 31
+            + method.getReturnType().getName().hashCode();
+        for (Class<?> parameterType : method.getParameterTypes())
+          methodHash = methodHash * 31 + parameterType.getName().hashCode();
+        hash += methodHash;
+      }
+    return hash;
+  }
+
+  private static void writeProperties(DataOutputStream out, List<? extends PropertyInfo> properties)
+      throws IOException {
+    out.writeInt(properties.size());
+    for (PropertyInfo property : properties) {
+      boolean field = PropertyType.FIELD.equals(property.getPropertyType());
+      out.writeBoolean(field);
+      out.writeUTF(property.getInitialType().getName());
+      out.writeUTF(property.getMember().getDeclaringClass().getName());
+      out.writeUTF(property.getMember().getName());
+      out.writeUTF(property.getName());
+      out.writeUTF(property.getType().getName());
+      if (!field) {
+        Class<?>[] parameterTypes = ((Method) property.getMember()).getParameterTypes();
+        out.writeUTF(parameterTypes.length == 0 ? "" : parameterTypes[0].getName());
+      }
+    }
+  }
+
+  /**
+   * Reads a mapping, returning null if the mapping could not be resolved against the current
+   * classes or if {@code resolve} is false.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static MappingImpl readMapping(DataInputStream in, Configuration configuration,
+      ClassLoader classLoader, boolean resolve) throws IOException {
+    byte kind = in.readByte();
+    boolean cyclic = false;
+    List<PropertyInfo> accessors = null;
+    if (kind == PROPERTY_MAPPING) {
+      cyclic = in.readBoolean();
+      accessors = readProperties(in, configuration, classLoader, resolve);
+    }
+
+    boolean explicit = in.readBoolean();
+    boolean skip = in.readBoolean();
+    List<PropertyInfo> mutators = readProperties(in, configuration, classLoader, resolve);
+    if (mutators == null || (kind == PROPERTY_MAPPING && accessors == null))
+      return null;
+
+    if (!explicit)
+      return kind == PROPERTY_MAPPING ? new PropertyMappingImpl(accessors, mutators, cyclic)
+          : new ConstantMappingImpl((Object) null, (List) mutators);
+
+    MappingOptions options = new MappingOptions();
+    options.skip = skip;
+    return kind == PROPERTY_MAPPING ? new PropertyMappingImpl(accessors, (List) mutators, options)
+        : new ConstantMappingImpl((Object) null, (List) mutators, options);
+  }
+
+  private static List<PropertyInfo> readProperties(DataInputStream in,
+      Configuration configuration, ClassLoader classLoader, boolean resolve) throws IOException {
+    int count = in.readInt();
+    List<PropertyInfo> properties = resolve ? new ArrayList<PropertyInfo>(count) : null;
+
+    for (int i = 0; i < count; i++) {
+      boolean field = in.readBoolean();
+      String initialTypeName = in.readUTF();
+      String declaringClassName = in.readUTF();
+      String memberName = in.readUTF();
+      String name = in.readUTF();
+      String typeName = in.readUTF();
+      String parameterTypeName = field ? null : in.readUTF();
+
+      if (properties != null) {
+        try {
+          properties.add(resolveProperty(configuration, classLoader, field, initialTypeName,
+              declaringClassName, memberName, name, typeName, parameterTypeName));
+        } catch (StaleSnapshotException e) {
+          properties = null;
+        }
+      }
+    }
+
+    return properties;
+  }
+
+  private static PropertyInfo resolveProperty(Configuration configuration,
+      ClassLoader classLoader, boolean field, String initialTypeName, String declaringClassName,
+      String memberName, String name, String typeName, String parameterTypeName)
+      throws StaleSnapshotException {
+    Class<?> initialType = load(initialTypeName, classLoader);
+    Class<?> declaringClass = load(declaringClassName, classLoader);
+    if (initialType == null || declaringClass == null)
+      throw new StaleSnapshotException();
+
+    PropertyInfo property;
+    try {
+      if (field) {
+        Field member = declaringClass.getDeclaredField(memberName);
+        property = PropertyInfoRegistry.fieldPropertyFor(initialType, member, configuration, name);
+      } else if (parameterTypeName.length() == 0) {
+        Method member = declaringClass.getDeclaredMethod(memberName);
+        if (!PropertyResolver.ACCESSORS.isValid(member))
+          throw new StaleSnapshotException();
+        property = PropertyInfoRegistry.accessorFor(initialType, member, configuration, name);
+      } else {
+        Class<?> parameterType = load(parameterTypeName, classLoader);
+        if (parameterType == null)
+          throw new StaleSnapshotException();
+        Method member = declaringClass.getDeclaredMethod(memberName, parameterType);
+        if (!PropertyResolver.MUTATORS.isValid(member))
+          throw new StaleSnapshotException();
+        property = PropertyInfoRegistry.mutatorFor(initialType, member, configuration, name);
+      }
+    } catch (NoSuchFieldException e) {
+      throw new StaleSnapshotException();
+    } catch (NoSuchMethodException e) {
+      throw new StaleSnapshotException();
+    } catch (SecurityException e) {
+      throw new StaleSnapshotException();
+    }
+
+    if (!property.getType().getName().equals(typeName))
+      throw new StaleSnapshotException();
+    return property;
+  }
+
+  private static Class<?> load(String className, ClassLoader classLoader) {
+    if (className.length() == 0)
+      return null;
+    Class<?> primitive = PRIMITIVES.get(className);
+    if (primitive != null)
+      return primitive;
+    try {
+      return Class.forName(className, false, classLoader);
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+}
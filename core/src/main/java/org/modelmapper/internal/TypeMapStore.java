@@ -20,8 +20,10 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.modelmapper.Converter;
+import org.modelmapper.PathMap;
 import org.modelmapper.PropertyMap;
 import org.modelmapper.TypeMap;
 import org.modelmapper.config.Configuration;
@@ -33,8 +35,16 @@ public final class TypeMapStore {
   private final Map<TypePair<?, ?>, TypeMap<?, ?>> typeMaps = new ConcurrentHashMap<TypePair<?, ?>, TypeMap<?, ?>>();
   private final Map<TypePair<?, ?>, TypeMap<?, ?>> immutableTypeMaps = Collections
       .unmodifiableMap(typeMaps);
+  /** Resolved TypeMaps, or NONE, by requested type pair. Only used once the store is frozen. */
+  private final Map<TypePair<?, ?>, Object> resolvedTypeMaps = new ConcurrentHashMap<TypePair<?, ?>, Object>();
+  private static final Object NONE = new Object();
   private final Object lock = new Object();
   private final InheritingConfiguration config;
+  private volatile boolean frozen;
+  /** Whether merge keys have been set on any TypeMap, which enables collection merging */
+  volatile boolean mergeKeysConfigured;
+  /** Incremented whenever a TypeMap is added */
+  private final AtomicInteger version = new AtomicInteger();
 
   TypeMapStore(InheritingConfiguration config) {
     this.config = config;
@@ -46,13 +56,58 @@ public final class TypeMapStore {
    */
   public <S, D> TypeMap<S, D> create(Class<S> sourceType, Class<D> destinationType,
       Configuration configuration, MappingEngineImpl engine) {
+    assertNotFrozen(sourceType, destinationType);
     TypeMapImpl<S, D> typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, configuration,
         engine);
     new PropertyMappingBuilder<S, D>(typeMap, config.typeMapStore, config.converterStore).build();
     typeMaps.put(TypePair.of(sourceType, destinationType), typeMap);
+    version.incrementAndGet();
     return typeMap;
   }
 
+  /**
+   * Adds the pre-built {@code typeMap} unless a TypeMap already exists for its exact source and
+   * destination types.
+   * 
+   * @return whether the {@code typeMap} was added
+   */
+  boolean add(TypeMapImpl<?, ?> typeMap) {
+    synchronized (lock) {
+      TypePair<?, ?> typePair = TypePair.of(typeMap.getSourceType(), typeMap.getDestinationType());
+      if (typeMaps.containsKey(typePair))
+        return false;
+      assertNotFrozen(typeMap.getSourceType(), typeMap.getDestinationType());
+      typeMaps.put(typePair, typeMap);
+      version.incrementAndGet();
+      return true;
+    }
+  }
+
+  /**
+   * Returns whether a TypeMap exists for exactly the {@code sourceType} and
+   * {@code destinationType}.
+   */
+  boolean contains(Class<?> sourceType, Class<?> destinationType) {
+    return typeMaps.containsKey(TypePair.of(sourceType, destinationType));
+  }
+
+  /**
+   * Freezes the store and its TypeMaps. Lookups are resolved once and then served from an index,
+   * and attempts to create TypeMaps, including implicitly while mapping, fail.
+   */
+  public void freeze() {
+    synchronized (lock) {
+      if (frozen)
+        return;
+
+      for (TypeMap<?, ?> typeMap : typeMaps.values())
+        ((TypeMapImpl<?, ?>) typeMap).freeze();
+      for (TypePair<?, ?> typePair : typeMaps.keySet())
+        resolve(typePair);
+      frozen = true;
+    }
+  }
+
   public Collection<TypeMap<?, ?>> get() {
     return immutableTypeMaps.values();
   }
@@ -65,8 +120,39 @@ public final class TypeMapStore {
     return find(sourceType, destinationType);
   }
   
+  /**
+   * Returns whether the store has been {@link #freeze() frozen}.
+   */
+  public boolean isFrozen() {
+    return frozen;
+  }
+
   @SuppressWarnings("unchecked")
   private <S, D> TypeMap<S, D> find(Class<S> sourceType, Class<D> destinationType) {
+    if (frozen) {
+      TypePair<S, D> typePair = TypePair.of(sourceType, destinationType);
+      Object typeMap = resolvedTypeMaps.get(typePair);
+      if (typeMap == null)
+        typeMap = resolve(typePair);
+      return typeMap == NONE ? null : (TypeMap<S, D>) typeMap;
+    }
+
+    return scan(sourceType, destinationType);
+  }
+
+  /**
+   * Resolves and records the TypeMap for the {@code typePair}, recording NONE if none exists.
+   */
+  private Object resolve(TypePair<?, ?> typePair) {
+    Object typeMap = scan(typePair.getSourceType(), typePair.getDestinationType());
+    if (typeMap == null)
+      typeMap = NONE;
+    resolvedTypeMaps.put(typePair, typeMap);
+    return typeMap;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <S, D> TypeMap<S, D> scan(Class<S> sourceType, Class<D> destinationType) {
     // TODO "best" match instead of first
     for (Entry<TypePair<?, ?>, TypeMap<?, ?>> tm : typeMaps.entrySet()) {
       if (tm.getKey().getSourceType().isAssignableFrom(sourceType) && tm.getKey().getDestinationType().isAssignableFrom(destinationType))
@@ -96,6 +182,7 @@ public final class TypeMapStore {
     TypeMapImpl<S, D> typeMap = (TypeMapImpl<S, D>) find(sourceType, destinationType);
 
     if (typeMap == null) {
+      assertNotFrozen(sourceType, destinationType);
       typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, config, engine);
       if (propertyMap != null)
         typeMap.addMappings(propertyMap);
@@ -104,6 +191,7 @@ public final class TypeMapStore {
             .build();
 
       typeMaps.put(TypePair.of(sourceType, destinationType), typeMap);
+      version.incrementAndGet();
     } else if (propertyMap != null)
       typeMap.addMappings(propertyMap);
 
@@ -112,7 +200,42 @@ public final class TypeMapStore {
     return typeMap;
   }
 
+  /**
+   * Gets or creates a TypeMap, adding the mappings defined in the {@code pathMap} to it. Newly
+   * created TypeMaps are configured with implicit mappings for the remaining properties.
+   */
+  public <S, D> TypeMap<S, D> getOrCreate(Class<S> sourceType, Class<D> destinationType,
+      PathMap<S, D> pathMap, MappingEngineImpl engine) {
+    TypeMapImpl<S, D> typeMap = (TypeMapImpl<S, D>) find(sourceType, destinationType);
+
+    if (typeMap == null) {
+      assertNotFrozen(sourceType, destinationType);
+      typeMap = new TypeMapImpl<S, D>(sourceType, destinationType, config, engine);
+      typeMap.addMappings(pathMap);
+      new PropertyMappingBuilder<S, D>(typeMap, config.typeMapStore, config.converterStore)
+          .build();
+      typeMaps.put(TypePair.of(sourceType, destinationType), typeMap);
+      version.incrementAndGet();
+    } else
+      typeMap.addMappings(pathMap);
+
+    return typeMap;
+  }
+
   public Object lock() {
     return lock;
   }
+
+  /**
+   * Returns a version number that changes whenever a TypeMap is added to the store.
+   */
+  int version() {
+    return version.get();
+  }
+
+  private void assertNotFrozen(Class<?> sourceType, Class<?> destinationType) {
+    if (frozen)
+      new Errors().frozenTypeMapCreation(sourceType, destinationType)
+          .throwConfigurationExceptionIfErrorsExist();
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import org.modelmapper.spi.MappingContext;
+
+/**
+ * Determines when the elements of a collection, or the keys and values of a map, can be copied to
+ * a destination as-is rather than mapped one at a time. This is the case when the destination
+ * element type is an immutable value type that is mapped to itself by a built-in converter, and
+ * every source element is a non-null instance of exactly that type.
+ * 
+ * @author Jonathan Halterman
+ */
+public final class ValueCopying {
+  private ValueCopying() {
+  }
+
+  /**
+   * Returns whether the {@code elements} can be copied as-is to {@code elementType} elements.
+   */
+  public static boolean canCopy(MappingContext<?, ?> context, Iterable<?> elements,
+      Class<?> elementType) {
+    if (!engineFor(context).copiesAsIs(elementType))
+      return false;
+    for (Object element : elements)
+      if (!isInstance(element, elementType))
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns whether the entries of the {@code map} can be copied as-is to a map with
+   * {@code keyType} keys and {@code valueType} values.
+   */
+  public static boolean canCopy(MappingContext<?, ?> context, Map<?, ?> map, Class<?> keyType,
+      Class<?> valueType) {
+    MappingEngineImpl engine = engineFor(context);
+    if (!engine.copiesAsIs(keyType) || !engine.copiesAsIs(valueType))
+      return false;
+    for (Map.Entry<?, ?> entry : map.entrySet())
+      if (!isInstance(entry.getKey(), keyType) || !isInstance(entry.getValue(), valueType))
+        return false;
+    return true;
+  }
+
+  /**
+   * Returns whether {@code sourceType} elements are converted to {@code elementType} elements by a
+   * built-in converter, such that they can be converted without mapping each element.
+   */
+  public static boolean convertsByDefault(MappingContext<?, ?> context, Class<?> sourceType,
+      Class<?> elementType) {
+    return engineFor(context).convertsByDefault(sourceType, elementType);
+  }
+
+  /**
+   * Returns an unmodifiable view of the {@code source} for a {@code destinationType} destination
+   * if collection sharing is enabled for the {@code context}, else {@code null}.
+   */
+  @SuppressWarnings("unchecked")
+  public static Collection<Object> sharedViewOf(MappingContext<?, ?> context,
+      Collection<?> source, Class<?> destinationType) {
+    if (!((MappingContextImpl<?, ?>) context).configuration.collectionSharingEnabled)
+      return null;
+    if (destinationType == List.class && source instanceof List)
+      return Collections.unmodifiableList((List<Object>) source);
+    if (destinationType == Set.class && source instanceof Set)
+      return Collections.unmodifiableSet((Set<Object>) source);
+    if (destinationType == SortedSet.class && source instanceof SortedSet)
+      return Collections.unmodifiableSortedSet((SortedSet<Object>) source);
+    if (destinationType == Collection.class)
+      return Collections.unmodifiableCollection((Collection<Object>) source);
+    return null;
+  }
+
+  /**
+   * Returns an unmodifiable view of the {@code source} for a {@code destinationType} destination
+   * if collection sharing is enabled for the {@code context}, else {@code null}.
+   */
+  @SuppressWarnings("unchecked")
+  public static Map<Object, Object> sharedViewOf(MappingContext<?, ?> context, Map<?, ?> source,
+      Class<?> destinationType) {
+    if (!((MappingContextImpl<?, ?>) context).configuration.collectionSharingEnabled)
+      return null;
+    if (destinationType == Map.class)
+      return Collections.unmodifiableMap((Map<Object, Object>) source);
+    if (destinationType == SortedMap.class && source instanceof SortedMap)
+      return Collections.unmodifiableSortedMap((SortedMap<Object, Object>) source);
+    return null;
+  }
+
+  private static MappingEngineImpl engineFor(MappingContext<?, ?> context) {
+    return (MappingEngineImpl) context.getMappingEngine();
+  }
+
+  private static boolean isInstance(Object element, Class<?> type) {
+    if (element == null)
+      return false;
+    Class<?> elementType = element.getClass();
+    return elementType == type || type.isEnum() && element instanceof Enum
+        && ((Enum<?>) element).getDeclaringClass() == type;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.TypeMap;
+
+/**
+ * Writes and replays warmup profiles. A warmup profile records the source and destination type
+ * pairs of the TypeMaps in a TypeMapStore, one tab separated pair of class names per line, so that
+ * the same TypeMaps can be built ahead of time when an application starts.
+ *
+ * @author Jonathan Halterman
+ */
+public final class WarmupProfile {
+  static final String HEADER = "# ModelMapper warmup profile v1";
+  private static final String CHARSET = "UTF-8";
+
+  private WarmupProfile() {
+  }
+
+  /**
+   * Writes the type pairs of the TypeMaps in the {@code typeMapStore} to the {@code outputStream}.
+   * TypeMaps with a Converter are not recorded since they are cheap to create.
+   */
+  public static void write(TypeMapStore typeMapStore, OutputStream outputStream)
+      throws IOException {
+    Writer writer = new OutputStreamWriter(outputStream, CHARSET);
+    writer.write(HEADER);
+    writer.write('\n');
+    for (TypeMap<?, ?> typeMap : typeMapStore.get()) {
+      if (typeMap.getConverter() != null)
+        continue;
+      writer.write(typeMap.getSourceType().getName());
+      writer.write('\t');
+      writer.write(typeMap.getDestinationType().getName());
+      writer.write('\n');
+    }
+
+    writer.flush();
+  }
+
+  /**
+   * Reads type pairs from the {@code inputStream} and gets or creates a TypeMap for each of them.
+   * Pairs whose types cannot be loaded by the {@code classLoader} or whose TypeMaps cannot be
+   * created are skipped, since they usually stem from a profile recorded against older classes.
+   *
+   * @return the number of TypeMaps that were built or already existed
+   */
+  public static int replay(TypeMapStore typeMapStore, MappingEngineImpl engine,
+      InputStream inputStream, ClassLoader classLoader) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, CHARSET));
+    String line = reader.readLine();
+    if (line == null)
+      return 0;
+    if (!HEADER.equals(line))
+      throw new IOException("Unsupported warmup profile format: " + line);
+
+    int count = 0;
+    while ((line = reader.readLine()) != null) {
+      int separator = line.indexOf('\t');
+      if (separator == -1)
+        continue;
+
+      Class<?> sourceType = load(line.substring(0, separator), classLoader);
+      Class<?> destinationType = load(line.substring(separator + 1), classLoader);
+      if (sourceType == null || destinationType == null)
+        continue;
+
+      try {
+        typeMapStore.getOrCreate(sourceType, destinationType, engine);
+        count++;
+      } catch (ConfigurationException ignore) {
+      }
+    }
+
+    return count;
+  }
+
+  private static Class<?> load(String className, ClassLoader classLoader) {
+    try {
+      return Class.forName(className, false, classLoader);
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+}
@@ -17,8 +17,10 @@ package org.modelmapper.internal.converter;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
+import java.util.Arrays;
 import java.util.Collection;
 
+import org.modelmapper.internal.ValueCopying;
 import org.modelmapper.internal.util.Iterables;
 import org.modelmapper.internal.util.Types;
 import org.modelmapper.spi.MappingContext;
@@ -34,6 +36,28 @@ class ArrayConverter extends IterableConverter<Object, Object> {
         : MatchResult.NONE;
   }
 
+  @Override
+  protected Object convertDirectly(MappingContext<Object, Object> context, Class<?> elementType) {
+    if (context.getDestination() != null)
+      return null;
+
+    Object source = context.getSource();
+    if (source instanceof Collection) {
+      Collection<?> elements = (Collection<?>) source;
+      if (ValueCopying.canCopy(context, elements, elementType))
+        return elements.toArray((Object[]) Array.newInstance(elementType, elements.size()));
+    } else if (source instanceof Object[]) {
+      Object[] elements = (Object[]) source;
+      if (ValueCopying.canCopy(context, Arrays.asList(elements), elementType)) {
+        Object destination = Array.newInstance(elementType, elements.length);
+        System.arraycopy(elements, 0, destination, 0, elements.length);
+        return destination;
+      }
+    }
+
+    return PrimitiveArrays.toArray(context, source, elementType);
+  }
+
   @Override
   protected void setElement(Object destination, Object element, int index) {
     Array.set(destination, index, element);
@@ -48,7 +72,8 @@ class ArrayConverter extends IterableConverter<Object, Object> {
   }
 
   @Override
-  protected Object createDestination(MappingContext<Object, Object> context, int length) {
+  protected Object createDestination(MappingContext<Object, Object> context, int length,
+      Class<?> elementType) {
     Class<?> destType = context.getDestinationType();
     return Array.newInstance(destType.isArray() ? destType.getComponentType() : destType, length);
   }
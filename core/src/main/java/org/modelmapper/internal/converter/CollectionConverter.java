@@ -15,12 +15,14 @@
  */
 package org.modelmapper.internal.converter;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.ParameterizedType;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
 
+import org.modelmapper.TypeMap;
+import org.modelmapper.internal.CollectionMerging;
+import org.modelmapper.internal.ValueCopying;
 import org.modelmapper.internal.util.Iterables;
 import org.modelmapper.internal.util.TypeResolver;
 import org.modelmapper.internal.util.TypeResolver.Unknown;
@@ -42,15 +44,52 @@ class CollectionConverter extends IterableConverter<Object, Collection<Object>>
   }
 
   @Override
-  protected Collection<Object> createDestination(
-      MappingContext<Object, Collection<Object>> context, int length) {
-    if (context.getDestinationType().isInterface())
-      if (Set.class.isAssignableFrom(context.getDestinationType()))
-        return new HashSet<Object>();
-      else
-        return new ArrayList<Object>(length);
+  protected Collection<Object> convertDirectly(MappingContext<Object, Collection<Object>> context,
+      Class<?> elementType) {
+    Object source = context.getSource();
+    if (context.getDestination() != null) {
+      TypeMap<?, ?> typeMap = CollectionMerging.typeMapFor(context, source, elementType);
+      if (typeMap != null) {
+        CollectionMerging.merge(context, source, context.getDestination(), typeMap, elementType);
+        return context.getDestination();
+      }
+    }
+
+    if (PrimitiveArrays.isBoxable(context, source, elementType)) {
+      Collection<Object> destination = context.getDestination() == null ? createDestination(
+          context, Array.getLength(source), elementType) : context.getDestination();
+      PrimitiveArrays.addAll(source, destination);
+      return destination;
+    }
+
+    Collection<?> elements = source instanceof Object[] ? Arrays.asList((Object[]) source)
+        : source instanceof Collection ? (Collection<?>) source : null;
+    if (elements == null || !ValueCopying.canCopy(context, elements, elementType))
+      return null;
+
+    Collection<Object> destination = context.getDestination();
+    if (destination == null) {
+      Collection<Object> shared = source instanceof Collection ? ValueCopying.sharedViewOf(context,
+          elements, context.getDestinationType()) : null;
+      if (shared != null)
+        return shared;
+      destination = createDestination(context, elements.size(), elementType);
+    }
 
-    return context.getMappingEngine().createDestination(context);
+    destination.addAll(elements);
+    return destination;
+  }
+
+  @Override
+  protected Collection<Object> createDestination(
+      MappingContext<Object, Collection<Object>> context, int length, Class<?> elementType) {
+    Object source = context.getSource();
+    Iterable<?> elements = source instanceof Object[] ? Arrays.asList((Object[]) source)
+        : source instanceof Iterable ? (Iterable<?>) source : null;
+    Collection<Object> destination = CollectionFactory.createCollection(
+        context.getDestinationType(), length, elementType, elements);
+    return destination == null ? context.getMappingEngine().createDestination(context)
+        : destination;
   }
 
   @Override
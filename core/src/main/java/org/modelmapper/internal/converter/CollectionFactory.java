@@ -0,0 +1,184 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal.converter;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Creates destination collections and maps for interface and abstract destination types. Each
+ * destination type is resolved against an ordered table of factories, the first of which creates
+ * an instance that is assignable to the destination type and supports its element type and source
+ * elements. Hash based collections are presized for the number of source elements so that they are
+ * never rehashed while being populated. EnumSets and EnumMaps, which reject null elements and keys,
+ * are only created when every source element or key is an instance of the enum type, since other
+ * elements, such as names, can map to null.
+ * 
+ * @author Jonathan Halterman
+ */
+final class CollectionFactory {
+  /** Ordered such that more general types precede the more specialized types they subsume */
+  private static final Factory[] COLLECTION_FACTORIES = {
+      new Factory(ArrayList.class) {
+        Object create(int size, Class<?> elementType) {
+          return new ArrayList<Object>(size);
+        }
+      }, new Factory(EnumSet.class) {
+        @Override
+        boolean supports(Class<?> elementType, Iterable<?> elements) {
+          return elementType.isEnum() && containsOnly(elements, elementType);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Object create(int size, Class<?> elementType) {
+          return EnumSet.noneOf((Class) elementType);
+        }
+      }, new Factory(HashSet.class) {
+        Object create(int size, Class<?> elementType) {
+          return new HashSet<Object>(capacityFor(size));
+        }
+      }, new Factory(TreeSet.class) {
+        Object create(int size, Class<?> elementType) {
+          return new TreeSet<Object>();
+        }
+      }, new Factory(ArrayDeque.class) {
+        Object create(int size, Class<?> elementType) {
+          return new ArrayDeque<Object>(Math.max(size, 1));
+        }
+      } };
+  private static final Factory[] MAP_FACTORIES = { new Factory(EnumMap.class) {
+    @Override
+    boolean supports(Class<?> keyType, Iterable<?> keys) {
+      return keyType.isEnum() && containsOnly(keys, keyType);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Object create(int size, Class<?> keyType) {
+      return new EnumMap(keyType);
+    }
+  }, new Factory(HashMap.class) {
+    Object create(int size, Class<?> keyType) {
+      return new HashMap<Object, Object>(capacityFor(size));
+    }
+  }, new Factory(TreeMap.class) {
+    Object create(int size, Class<?> keyType) {
+      return new TreeMap<Object, Object>();
+    }
+  }, new Factory(ConcurrentHashMap.class) {
+    Object create(int size, Class<?> keyType) {
+      return new ConcurrentHashMap<Object, Object>(capacityFor(size));
+    }
+  }, new Factory(ConcurrentSkipListMap.class) {
+    Object create(int size, Class<?> keyType) {
+      return new ConcurrentSkipListMap<Object, Object>();
+    }
+  } };
+
+  /**
+   * Creates collections or maps of a particular implementation type.
+   */
+  private abstract static class Factory {
+    final Class<?> type;
+
+    Factory(Class<?> type) {
+      this.type = type;
+    }
+
+    /**
+     * Returns whether instances can be created for the {@code elementType} and the source
+     * {@code elements}, which may be null if unknown.
+     */
+    boolean supports(Class<?> elementType, Iterable<?> elements) {
+      return true;
+    }
+
+    /**
+     * Creates an instance for {@code size} elements of the {@code elementType}.
+     */
+    abstract Object create(int size, Class<?> elementType);
+  }
+
+  private CollectionFactory() {
+  }
+
+  /**
+   * Returns the initial capacity of a hash based collection or map that holds {@code size}
+   * elements without being rehashed at the default load factor.
+   */
+  static int capacityFor(int size) {
+    return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+  }
+
+  /**
+   * Creates a collection of {@code size} {@code elementType} elements, to be mapped from the
+   * source {@code elements}, for the interface or abstract {@code type}, else returns {@code null}
+   * if the {@code type} is concrete or no factory supports it.
+   * 
+   * @param elements the source elements, else {@code null} if unknown
+   */
+  @SuppressWarnings("unchecked")
+  static Collection<Object> createCollection(Class<?> type, int size, Class<?> elementType,
+      Iterable<?> elements) {
+    return (Collection<Object>) create(COLLECTION_FACTORIES, type, size, elementType, elements);
+  }
+
+  /**
+   * Creates a map of {@code size} entries with {@code keyType} keys, to be mapped from the source
+   * {@code keys}, for the interface or abstract {@code type}, else returns {@code null} if the
+   * {@code type} is concrete or no factory supports it.
+   * 
+   * @param keys the source keys, else {@code null} if unknown
+   */
+  @SuppressWarnings("unchecked")
+  static Map<Object, Object> createMap(Class<?> type, int size, Class<?> keyType,
+      Iterable<?> keys) {
+    return (Map<Object, Object>) create(MAP_FACTORIES, type, size, keyType, keys);
+  }
+
+  private static Object create(Factory[] factories, Class<?> type, int size, Class<?> elementType,
+      Iterable<?> elements) {
+    if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers()))
+      return null;
+    for (Factory factory : factories)
+      if (type.isAssignableFrom(factory.type) && factory.supports(elementType, elements))
+        return factory.create(size, elementType);
+    return null;
+  }
+
+  /**
+   * Returns whether the {@code elements} are known and each is a non-null instance of the
+   * {@code type}.
+   */
+  private static boolean containsOnly(Iterable<?> elements, Class<?> type) {
+    if (elements == null)
+      return false;
+    for (Object element : elements)
+      if (!type.isInstance(element))
+        return false;
+    return true;
+  }
+}
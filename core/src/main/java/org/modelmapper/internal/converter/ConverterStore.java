@@ -15,9 +15,12 @@
  */
 package org.modelmapper.internal.converter;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.modelmapper.Converter;
 import org.modelmapper.spi.ConditionalConverter;
 import org.modelmapper.spi.ConditionalConverter.MatchResult;
 
@@ -30,12 +33,21 @@ public final class ConverterStore {
       new MapConverter(), new AssignableConverter(), new NumberConverter(), new BooleanConverter(),
       new CharacterConverter(), new DateConverter(), new CalendarConverter() };
   private final List<ConditionalConverter<?, ?>> converters = new CopyOnWriteArrayList<ConditionalConverter<?, ?>>();
+  /** The converters of a frozen store, else null */
+  private volatile ConditionalConverter<?, ?>[] frozenConverters;
 
   public ConverterStore() {
     for (ConditionalConverter<?, ?> converter : defaultConverters)
       converters.add(converter);
   }
 
+  /**
+   * Freezes the store such that its converters can no longer be modified.
+   */
+  public void freeze() {
+    frozenConverters = converters.toArray(new ConditionalConverter<?, ?>[converters.size()]);
+  }
+
   /**
    * Returns the first converter that supports converting from {@code sourceType} to
    * {@code destinationType}.
@@ -43,13 +55,25 @@ public final class ConverterStore {
   @SuppressWarnings("unchecked")
   public <S, D> ConditionalConverter<S, D> getFirstSupported(Class<?> sourceType,
       Class<?> destinationType) {
-    for (ConditionalConverter<?, ?> converter : converters)
+    ConditionalConverter<?, ?>[] frozen = frozenConverters;
+    for (ConditionalConverter<?, ?> converter : frozen == null ? converters : Arrays.asList(frozen))
       if (!MatchResult.NONE.equals(converter.match(sourceType, destinationType)))
         return (ConditionalConverter<S, D>) converter;
     return null;
   }
 
+  /**
+   * Returns whether the {@code converter} is one of the store's built-in converters.
+   */
+  public boolean isDefault(Converter<?, ?> converter) {
+    for (Converter<?, ?> defaultConverter : defaultConverters)
+      if (defaultConverter == converter)
+        return true;
+    return false;
+  }
+
   public List<ConditionalConverter<?, ?>> getConverters() {
-    return converters;
+    ConditionalConverter<?, ?>[] frozen = frozenConverters;
+    return frozen == null ? converters : Collections.unmodifiableList(Arrays.asList(frozen));
   }
 }
@@ -19,6 +19,9 @@ import java.lang.reflect.Array;
 import java.util.Collection;
 import java.util.Iterator;
 
+import org.modelmapper.internal.InlineCache;
+import org.modelmapper.internal.MappingEngineImpl;
+import org.modelmapper.internal.ParallelMapping;
 import org.modelmapper.internal.util.ArrayIterator;
 import org.modelmapper.spi.ConditionalConverter;
 import org.modelmapper.spi.MappingContext;
@@ -32,27 +35,54 @@ import org.modelmapper.spi.MappingContext;
 abstract class IterableConverter<S, D> implements ConditionalConverter<S, D> {
   public D convert(MappingContext<S, D> context) {
     S source = context.getSource();
-    int sourceLength = getSourceLength(source);
-    D destination = context.getDestination() == null ? createDestination(context, sourceLength)
-        : context.getDestination();
     Class<?> elementType = getElementType(context);
+    D converted = convertDirectly(context, elementType);
+    if (converted != null)
+      return converted;
+
+    int sourceLength = getSourceLength(source);
+    D destination = context.getDestination() == null ? createDestination(context, sourceLength,
+        elementType) : context.getDestination();
+
+    if (ParallelMapping.isEnabled(context, sourceLength)) {
+      Object[] sourceElements = new Object[sourceLength];
+      int index = 0;
+      for (Iterator<Object> iterator = getSourceIterator(source); iterator.hasNext(); index++)
+        sourceElements[index] = iterator.next();
+
+      Object[] elements = ParallelMapping.map(context, sourceElements, elementType);
+      for (index = 0; index < elements.length; index++)
+        setElement(destination, elements[index], index);
+      return destination;
+    }
 
+    MappingEngineImpl engine = (MappingEngineImpl) context.getMappingEngine();
+    InlineCache cache = new InlineCache();
     int index = 0;
     for (Iterator<Object> iterator = getSourceIterator(source); iterator.hasNext(); index++) {
-      Object sourceElement = iterator.next();
-      MappingContext<?, ?> elementContext = context.create(sourceElement, elementType);
-      Object element = context.getMappingEngine().map(elementContext);
+      Object element = engine.mapElement(context, iterator.next(), elementType, cache);
       setElement(destination, element, index);
     }
 
     return destination;
   }
 
+  /**
+   * Converts the source of the {@code context} without mapping each element, when its elements can
+   * be copied as-is to {@code elementType} elements. Returns {@code null} by default.
+   * 
+   * @return the destination, else {@code null} if the elements must be mapped individually
+   */
+  protected D convertDirectly(MappingContext<S, D> context, Class<?> elementType) {
+    return null;
+  }
+
   /**
    * Creates a destination instance for the {@code destinationType} where the destination supports
-   * element {@code length}.
+   * element {@code length} and elements of the {@code elementType}.
    */
-  protected abstract D createDestination(MappingContext<S, D> context, int length);
+  protected abstract D createDestination(MappingContext<S, D> context, int length,
+      Class<?> elementType);
 
   /**
    * Gets the contained element type for the {@code type} and nullable {@code genericType}.
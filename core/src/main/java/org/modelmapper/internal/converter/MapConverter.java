@@ -15,10 +15,13 @@
  */
 package org.modelmapper.internal.converter;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.modelmapper.internal.InlineCache;
+import org.modelmapper.internal.MappingEngineImpl;
+import org.modelmapper.internal.ParallelMapping;
+import org.modelmapper.internal.ValueCopying;
 import org.modelmapper.internal.util.TypeResolver;
 import org.modelmapper.internal.util.TypeResolver.Unknown;
 import org.modelmapper.spi.ConditionalConverter;
@@ -35,8 +38,6 @@ import org.modelmapper.spi.PropertyMapping;
 class MapConverter implements ConditionalConverter<Map<?, ?>, Map<Object, Object>> {
   public Map<Object, Object> convert(MappingContext<Map<?, ?>, Map<Object, Object>> context) {
     Map<?, ?> source = context.getSource();
-    Map<Object, Object> destination = context.getDestination() == null ? createDestination(context)
-        : context.getDestination();
     Mapping mapping = context.getMapping();
 
     Class<?> keyElementType = Object.class;
@@ -51,11 +52,45 @@ class MapConverter implements ConditionalConverter<Map<?, ?>, Map<Object, Object
       }
     }
 
+    Map<Object, Object> destination = context.getDestination();
+    if (ValueCopying.canCopy(context, source, keyElementType, valueElementType)) {
+      if (destination == null) {
+        Map<Object, Object> shared = ValueCopying.sharedViewOf(context, source,
+            context.getDestinationType());
+        if (shared != null)
+          return shared;
+        destination = createDestination(context, source.size(), keyElementType);
+      }
+
+      destination.putAll(source);
+      return destination;
+    }
+
+    if (destination == null)
+      destination = createDestination(context, source.size(), keyElementType);
+
+    if (ParallelMapping.isEnabled(context, source.size())) {
+      // Keys and values are interleaved such that each maps to its own element type
+      Object[] sourceElements = new Object[source.size() * 2];
+      int index = 0;
+      for (Entry<?, ?> entry : source.entrySet()) {
+        sourceElements[index++] = entry.getKey();
+        sourceElements[index++] = entry.getValue();
+      }
+
+      Object[] elements = ParallelMapping.map(context, sourceElements, keyElementType,
+          valueElementType);
+      for (index = 0; index < elements.length; index += 2)
+        destination.put(elements[index], elements[index + 1]);
+      return destination;
+    }
+
+    MappingEngineImpl engine = (MappingEngineImpl) context.getMappingEngine();
+    InlineCache keyCache = new InlineCache();
+    InlineCache valueCache = new InlineCache();
     for (Entry<?, ?> entry : source.entrySet()) {
-      MappingContext<?, ?> keyContext = context.create(entry.getKey(), keyElementType);
-      MappingContext<?, ?> valueContext = context.create(entry.getValue(), valueElementType);
-      Object key = context.getMappingEngine().map(keyContext);
-      Object value = context.getMappingEngine().map(valueContext);
+      Object key = engine.mapElement(context, entry.getKey(), keyElementType, keyCache);
+      Object value = engine.mapElement(context, entry.getValue(), valueElementType, valueCache);
       destination.put(key, value);
     }
 
@@ -68,10 +103,10 @@ class MapConverter implements ConditionalConverter<Map<?, ?>, Map<Object, Object
   }
 
   protected Map<Object, Object> createDestination(
-      MappingContext<Map<?, ?>, Map<Object, Object>> context) {
-    if (context.getDestinationType().isInterface())
-      return new HashMap<Object, Object>();
-
-    return context.getMappingEngine().createDestination(context);
+      MappingContext<Map<?, ?>, Map<Object, Object>> context, int size, Class<?> keyType) {
+    Map<Object, Object> destination = CollectionFactory.createMap(context.getDestinationType(),
+        size, keyType, context.getSource().keySet());
+    return destination == null ? context.getMappingEngine().createDestination(context)
+        : destination;
   }
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal.converter;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.modelmapper.internal.ValueCopying;
+import org.modelmapper.internal.util.Primitives;
+import org.modelmapper.spi.MappingContext;
+
+/**
+ * Copies elements between primitive arrays, primitive wrapper arrays and collections of primitive
+ * wrappers without mapping each element. Only conversions that cannot lose information are
+ * performed: identical primitive component types, primitive widening that preserves every value,
+ * and boxing or unboxing of non-null values. Elements are only copied when they would otherwise be
+ * mapped by a built-in converter rather than a TypeMap or a custom converter.
+ * 
+ * @author Jonathan Halterman
+ */
+final class PrimitiveArrays {
+  private static final Class<?>[] TYPES = { Boolean.TYPE, Byte.TYPE, Short.TYPE, Character.TYPE,
+      Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE };
+  private static final int NONE = -1;
+  private static final int BOOLEAN = 0;
+  private static final int BYTE = 1;
+  private static final int SHORT = 2;
+  private static final int CHAR = 3;
+  private static final int INT = 4;
+  private static final int LONG = 5;
+  private static final int FLOAT = 6;
+  private static final int DOUBLE = 7;
+
+  private PrimitiveArrays() {
+  }
+
+  /**
+   * Returns whether the elements of the {@code source} can be added directly to a collection of
+   * {@code elementType} elements.
+   */
+  static boolean isBoxable(MappingContext<?, ?> context, Object source, Class<?> elementType) {
+    Class<?> componentType = source.getClass().getComponentType();
+    if (componentType == null || !componentType.isPrimitive())
+      return false;
+    Class<?> wrapperType = Primitives.wrapperFor(componentType);
+    return elementType.isAssignableFrom(wrapperType)
+        && ValueCopying.convertsByDefault(context, wrapperType, elementType);
+  }
+
+  /**
+   * Adds the boxed elements of the primitive array {@code source} to the {@code destination}.
+   */
+  static void addAll(Object source, Collection<Object> destination) {
+    int kind = kindOf(source.getClass().getComponentType());
+    int length = Array.getLength(source);
+    for (int i = 0; i < length; i++)
+      destination.add(boxedAt(source, kind, i));
+  }
+
+  /**
+   * Returns a new array of {@code componentType} elements containing the elements of the array or
+   * collection {@code source}, else {@code null} if the elements must be mapped individually.
+   */
+  static Object toArray(MappingContext<?, ?> context, Object source, Class<?> componentType) {
+    int targetKind = kindOf(componentType);
+    Class<?> sourceComponentType = source.getClass().getComponentType();
+    if (sourceComponentType == null) {
+      if (targetKind == NONE || !(source instanceof Collection)
+          || !convertsByDefault(context, componentType, componentType))
+        return null;
+      return unbox((Collection<?>) source, componentType, targetKind);
+    }
+
+    int sourceKind = kindOf(sourceComponentType);
+    boolean identical = sourceComponentType == componentType && targetKind != NONE;
+    boolean widening = sourceKind != NONE && targetKind != NONE
+        && widens(sourceKind, targetKind);
+    boolean boxing = sourceKind != NONE
+        && componentType == Primitives.wrapperFor(sourceComponentType);
+    boolean unboxing = targetKind != NONE
+        && sourceComponentType == Primitives.wrapperFor(componentType);
+    if (!identical && !widening && !boxing && !unboxing
+        || !convertsByDefault(context, sourceComponentType, componentType))
+      return null;
+
+    if (identical)
+      return copy(source, componentType);
+    if (widening)
+      return widen(source, sourceKind, targetKind);
+    if (boxing)
+      return box(source, sourceKind, componentType);
+    return unbox((Object[]) source, componentType, targetKind);
+  }
+
+  /**
+   * Returns whether the elements of a {@code sourceComponentType} array, which are mapped as their
+   * wrappers, would be mapped to {@code componentType} elements by a built-in converter.
+   */
+  private static boolean convertsByDefault(MappingContext<?, ?> context,
+      Class<?> sourceComponentType, Class<?> componentType) {
+    return ValueCopying.convertsByDefault(context, Primitives.wrapperFor(sourceComponentType),
+        componentType);
+  }
+
+  private static int kindOf(Class<?> type) {
+    for (int i = 0; i < TYPES.length; i++)
+      if (TYPES[i] == type)
+        return i;
+    return NONE;
+  }
+
+  /**
+   * Returns whether a primitive widening conversion that preserves every value exists from
+   * {@code source} to {@code target}. Conversions from and to boolean and char, and from int and
+   * long to floating point types that cannot represent all of their values, are left to the
+   * element converters.
+   */
+  private static boolean widens(int source, int target) {
+    if (source == BOOLEAN || source == CHAR || target == CHAR || target <= source)
+      return false;
+    return source < INT || target < FLOAT || source == INT && target == DOUBLE;
+  }
+
+  private static Object copy(Object source, Class<?> componentType) {
+    int length = Array.getLength(source);
+    Object target = Array.newInstance(componentType, length);
+    System.arraycopy(source, 0, target, 0, length);
+    return target;
+  }
+
+  private static Object widen(Object source, int sourceKind, int targetKind) {
+    int length = Array.getLength(source);
+    if (sourceKind == FLOAT) {
+      float[] floats = (float[]) source;
+      double[] target = new double[length];
+      for (int i = 0; i < length; i++)
+        target[i] = floats[i];
+      return target;
+    }
+
+    switch (targetKind) {
+      case SHORT: {
+        short[] target = new short[length];
+        for (int i = 0; i < length; i++)
+          target[i] = (short) longAt(source, sourceKind, i);
+        return target;
+      }
+      case INT: {
+        int[] target = new int[length];
+        for (int i = 0; i < length; i++)
+          target[i] = (int) longAt(source, sourceKind, i);
+        return target;
+      }
+      case LONG: {
+        long[] target = new long[length];
+        for (int i = 0; i < length; i++)
+          target[i] = longAt(source, sourceKind, i);
+        return target;
+      }
+      case FLOAT: {
+        float[] target = new float[length];
+        for (int i = 0; i < length; i++)
+          target[i] = longAt(source, sourceKind, i);
+        return target;
+      }
+      default: {
+        double[] target = new double[length];
+        for (int i = 0; i < length; i++)
+          target[i] = longAt(source, sourceKind, i);
+        return target;
+      }
+    }
+  }
+
+  private static Object box(Object source, int sourceKind, Class<?> wrapperType) {
+    int length = Array.getLength(source);
+    Object[] target = (Object[]) Array.newInstance(wrapperType, length);
+    for (int i = 0; i < length; i++)
+      target[i] = boxedAt(source, sourceKind, i);
+    return target;
+  }
+
+  private static Object unbox(Object[] source, Class<?> componentType, int targetKind) {
+    for (Object element : source)
+      if (element == null)
+        return null;
+
+    Object target = Array.newInstance(componentType, source.length);
+    for (int i = 0; i < source.length; i++)
+      setUnboxed(target, targetKind, i, source[i]);
+    return target;
+  }
+
+  private static Object unbox(Collection<?> source, Class<?> componentType, int targetKind) {
+    Class<?> wrapperType = Primitives.wrapperFor(componentType);
+    Object target = Array.newInstance(componentType, source.size());
+    int i = 0;
+    for (Iterator<?> iterator = source.iterator(); iterator.hasNext(); i++) {
+      Object element = iterator.next();
+      if (element == null || element.getClass() != wrapperType)
+        return null;
+      setUnboxed(target, targetKind, i, element);
+    }
+
+    return target;
+  }
+
+  /**
+   * Reads the integral element at {@code index} of the {@code array} of {@code kind}.
+   */
+  private static long longAt(Object array, int kind, int index) {
+    switch (kind) {
+      case BYTE:
+        return ((byte[]) array)[index];
+      case SHORT:
+        return ((short[]) array)[index];
+      case INT:
+        return ((int[]) array)[index];
+      default:
+        return ((long[]) array)[index];
+    }
+  }
+
+  private static Object boxedAt(Object array, int kind, int index) {
+    switch (kind) {
+      case BOOLEAN:
+        return Boolean.valueOf(((boolean[]) array)[index]);
+      case BYTE:
+        return Byte.valueOf(((byte[]) array)[index]);
+      case SHORT:
+        return Short.valueOf(((short[]) array)[index]);
+      case CHAR:
+        return Character.valueOf(((char[]) array)[index]);
+      case INT:
+        return Integer.valueOf(((int[]) array)[index]);
+      case LONG:
+        return Long.valueOf(((long[]) array)[index]);
+      case FLOAT:
+        return Float.valueOf(((float[]) array)[index]);
+      default:
+        return Double.valueOf(((double[]) array)[index]);
+    }
+  }
+
+  private static void setUnboxed(Object array, int kind, int index, Object value) {
+    switch (kind) {
+      case BOOLEAN:
+        ((boolean[]) array)[index] = ((Boolean) value).booleanValue();
+        break;
+      case BYTE:
+        ((byte[]) array)[index] = ((Byte) value).byteValue();
+        break;
+      case SHORT:
+        ((short[]) array)[index] = ((Short) value).shortValue();
+        break;
+      case CHAR:
+        ((char[]) array)[index] = ((Character) value).charValue();
+        break;
+      case INT:
+        ((int[]) array)[index] = ((Integer) value).intValue();
+        break;
+      case LONG:
+        ((long[]) array)[index] = ((Long) value).longValue();
+        break;
+      case FLOAT:
+        ((float[]) array)[index] = ((Float) value).floatValue();
+        break;
+      default:
+        ((double[]) array)[index] = ((Double) value).doubleValue();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.internal.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Traits of a class that are checked on every mapping, computed once per class and cached so that
+ * checking them is a single lookup rather than repeated string scans and reflection.
+ * 
+ * @author Jonathan Halterman
+ */
+public final class ClassTraits {
+  private static final Map<Class<?>, ClassTraits> cache = new ConcurrentHashMap<Class<?>, ClassTraits>();
+
+  /** The proxied type if the class is a proxy, else the class itself */
+  public final Class<?> deProxiedType;
+  /** Whether the class is an array or Collection */
+  public final boolean iterable;
+  /** Whether instances of the class can be created for a destination */
+  public final boolean instantiable;
+  /** Whether the class is an immutable JDK value type whose instances can be shared as-is */
+  public final boolean immutable;
+
+  private ClassTraits(Class<?> type) {
+    deProxiedType = Types.resolveProxiedType(type);
+    iterable = type.isArray() || Collection.class.isAssignableFrom(type);
+    instantiable = !type.isEnum() && !Primitives.isPrimitiveWrapper(type);
+    immutable = type.isEnum() || type == String.class || Primitives.isPrimitiveWrapper(type)
+        || type == BigDecimal.class || type == BigInteger.class || type == UUID.class;
+  }
+
+  /**
+   * Returns the traits for the {@code type}. Traits of ModelMapper's configuration proxies are not
+   * cached since the proxies are only used while configuring mappings and may be unloaded.
+   */
+  public static ClassTraits of(Class<?> type) {
+    ClassTraits traits = cache.get(type);
+    if (traits == null) {
+      traits = new ClassTraits(type);
+      if (!type.getName().contains("$$EnhancerByModelMapper$$"))
+        cache.put(type, traits);
+    }
+
+    return traits;
+  }
+}
@@ -15,8 +15,6 @@
  */
 package org.modelmapper.internal.util;
 
-import java.util.Collection;
-
 /**
  * @author Jonathan Halterman
  */
@@ -25,6 +23,6 @@ public final class Iterables {
   }
 
   public static boolean isIterable(Class<?> type) {
-    return type.isArray() || Collection.class.isAssignableFrom(type);
+    return ClassTraits.of(type).iterable;
   }
 }
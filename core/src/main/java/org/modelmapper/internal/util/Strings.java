@@ -37,6 +37,19 @@ public final class Strings {
     return sb.toString();
   }
 
+  /**
+   * Returns the joined paths of each leading sublist of the {@code properties}, with a
+   * <code>.</code> delimiter including a trailing delimiter, such that the last path equals
+   * {@link #join(List)}.
+   */
+  public static String[] joinPrefixes(List<? extends PropertyInfo> properties) {
+    String[] prefixes = new String[properties.size()];
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < prefixes.length; i++)
+      prefixes[i] = sb.append(properties.get(i).getName()).append('.').toString();
+    return prefixes;
+  }
+
   public static String joinWithFirstType(List<? extends PropertyInfo> properties) {
     StringBuilder sb = new StringBuilder();
     String delim = "";
@@ -63,30 +63,22 @@ public final class Types {
    */
   @SuppressWarnings("unchecked")
   public static <T> Class<T> deProxy(Class<?> type) {
-    // Ignore JDK proxies
-    if (type.isInterface())
-      return (Class<T>) type;
-
-    // CGLib
-    if (type.getName().contains("$$EnhancerByCGLIB$$"))
-      return (Class<T>) type.getSuperclass();
-
-    // Javassist
-    try {
-      if (JAVASSIST_IS_PROXY_CLASS_METHOD != null && JAVASSIST_IS_PROXY_CLASS_METHOD != null
-          && (Boolean) JAVASSIST_IS_PROXY_CLASS_METHOD.invoke(null, type))
-        return (Class<T>) type.getSuperclass();
-    } catch (Exception ignore) {
-    }
+    return (Class<T>) ClassTraits.of(type).deProxiedType;
+  }
 
-    return (Class<T>) type;
+  /**
+   * Returns true if the {@code type} is an immutable JDK value type such as String, a primitive
+   * wrapper, BigDecimal, BigInteger, UUID or an enum.
+   */
+  public static boolean isImmutable(Class<?> type) {
+    return ClassTraits.of(type).immutable;
   }
 
   /**
    * Returns true if the {@code type} is instantiable.
    */
   public static boolean isInstantiable(Class<?> type) {
-    return !type.isEnum() && !Primitives.isPrimitiveWrapper(type);
+    return ClassTraits.of(type).instantiable;
   }
 
   /**
@@ -147,4 +139,35 @@ public final class Types {
     }
     return null;
   }
-}
\ No newline at end of file
+
+  /**
+   * Returns whether the {@code type} is a cglib proxy.
+   */
+  static boolean isEnhanced(Class<?> type) {
+    return type.getName().contains("$$EnhancerBy");
+  }
+
+  /**
+   * Resolves the proxied type, if any, else returns the given {@code type}. Used by
+   * {@link ClassTraits}.
+   */
+  static Class<?> resolveProxiedType(Class<?> type) {
+    // Ignore JDK proxies
+    if (type.isInterface())
+      return type;
+
+    // CGLib
+    if (isEnhanced(type))
+      return type.getSuperclass();
+
+    // Javassist
+    try {
+      if (JAVASSIST_IS_PROXY_CLASS_METHOD != null
+          && (Boolean) JAVASSIST_IS_PROXY_CLASS_METHOD.invoke(null, type))
+        return type.getSuperclass();
+    } catch (Exception ignore) {
+    }
+
+    return type;
+  }
+}
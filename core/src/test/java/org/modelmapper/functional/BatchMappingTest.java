@@ -0,0 +1,89 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.modelmapper.spi.ErrorMessage;
+import org.testng.annotations.Test;
+
+/**
+ * Tests mapping batches of sources via mapAll.
+ */
+@Test(groups = "functional")
+public class BatchMappingTest extends AbstractTest {
+  static class Order {
+    String name;
+
+    Order(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      if ("fail".equals(name))
+        throw new IllegalStateException("failed");
+      return name;
+    }
+  }
+
+  static class SpecialOrder {
+    public String getName() {
+      return "special";
+    }
+  }
+
+  static class OrderDTO {
+    String name;
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  public void shouldMapAllSources() {
+    List<OrderDTO> dtos = modelMapper.mapAll(
+        Arrays.asList(new Order("a"), null, new SpecialOrder(), new Order("b")), OrderDTO.class);
+
+    assertEquals(dtos.size(), 4);
+    assertEquals(dtos.get(0).name, "a");
+    assertNull(dtos.get(1));
+    assertEquals(dtos.get(2).name, "special");
+    assertEquals(dtos.get(3).name, "b");
+  }
+
+  public void shouldMapAllWithConverters() {
+    assertEquals(modelMapper.mapAll(Arrays.asList("1", "2"), Integer.class),
+        Arrays.asList(1, 2));
+  }
+
+  public void shouldMapAllIntoProvidedCollection() {
+    Set<Integer> numbers = new LinkedHashSet<Integer>();
+    modelMapper.mapAll(Arrays.asList("3", "4", "3"), Integer.class, numbers);
+    assertEquals(numbers.size(), 2);
+    assertTrue(numbers.contains(3));
+  }
+
+  public void shouldReportErrorsByIndex() {
+    List<Order> orders = Arrays.asList(new Order("a"), new Order("fail"), new Order("b"),
+        new Order("fail"));
+
+    try {
+      modelMapper.mapperFor(Order.class, OrderDTO.class).mapAll(orders);
+      fail();
+    } catch (MappingException e) {
+      List<ErrorMessage> messages = new ArrayList<ErrorMessage>(e.getErrorMessages());
+      assertEquals(messages.size(), 2);
+      assertTrue(messages.get(0).getMessage().startsWith("Error mapping element 1:"));
+      assertTrue(messages.get(1).getMessage().startsWith("Error mapping element 3:"));
+    }
+  }
+}
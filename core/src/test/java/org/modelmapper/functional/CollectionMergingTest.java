@@ -0,0 +1,97 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.KeyExtractor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that collections are merged into existing destination collections by key.
+ */
+@Test(groups = "functional")
+public class CollectionMergingTest extends AbstractTest {
+  static class ItemDTO {
+    Long id;
+    String name;
+
+    ItemDTO(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  static class Item {
+    Long id;
+    String name;
+
+    Item() {
+    }
+
+    Item(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  static class OrderDTO {
+    List<ItemDTO> items;
+  }
+
+  static class Order {
+    List<Item> items;
+  }
+
+  private void configureMergeKeys() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    modelMapper.createTypeMap(ItemDTO.class, Item.class).setMergeKeys(
+        new KeyExtractor<ItemDTO>() {
+          public Object keyOf(ItemDTO instance) {
+            return instance.id;
+          }
+        }, new KeyExtractor<Item>() {
+          public Object keyOf(Item instance) {
+            return instance.id;
+          }
+        });
+  }
+
+  public void shouldMergeIntoExistingCollection() {
+    configureMergeKeys();
+    Item first = new Item(1L, "a");
+    Item second = new Item(2L, "b");
+    Order order = new Order();
+    order.items = new ArrayList<Item>(Arrays.asList(first, second));
+    List<Item> items = order.items;
+
+    OrderDTO dto = new OrderDTO();
+    dto.items = Arrays.asList(new ItemDTO(2L, "B"), new ItemDTO(null, "c"));
+    modelMapper.map(dto, order);
+
+    assertSame(order.items, items);
+    assertEquals(order.items.size(), 2);
+    assertSame(order.items.get(0), second);
+    assertEquals(second.name, "B");
+    assertEquals(order.items.get(1).name, "c");
+  }
+
+  public void shouldReplaceCollectionWithoutMergeKeys() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    Order order = new Order();
+    order.items = new ArrayList<Item>(Arrays.asList(new Item(1L, "a")));
+    List<Item> items = order.items;
+
+    OrderDTO dto = new OrderDTO();
+    dto.items = Arrays.asList(new ItemDTO(1L, "A"));
+    modelMapper.map(dto, order);
+
+    assertNotSame(order.items, items);
+    assertEquals(order.items.get(0).name, "A");
+  }
+}
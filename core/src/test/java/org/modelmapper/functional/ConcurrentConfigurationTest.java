@@ -0,0 +1,82 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Fixtures;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that PropertyMaps can be configured concurrently.
+ */
+@Test(groups = "functional")
+public class ConcurrentConfigurationTest extends AbstractTest {
+  static class Customer {
+    String name;
+
+    String getName() {
+      return name;
+    }
+  }
+
+  static class Order {
+    Customer customer;
+
+    Customer getCustomer() {
+      return customer;
+    }
+  }
+
+  static class OrderDTO {
+    String buyer;
+
+    void setBuyer(String buyer) {
+      this.buyer = buyer;
+    }
+  }
+
+  public void shouldConfigurePropertyMapsConcurrently() throws Exception {
+    int threads = 8;
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<String>> results = new ArrayList<Future<String>>();
+
+    try {
+      for (int i = 0; i < threads * 4; i++) {
+        final String name = "customer" + i;
+        results.add(executor.submit(new Callable<String>() {
+          public String call() throws Exception {
+            ModelMapper modelMapper = Fixtures.createModelMapper();
+            start.await();
+            modelMapper.addMappings(new PropertyMap<Order, OrderDTO>() {
+              protected void configure() {
+                map().setBuyer(source.getCustomer().getName());
+              }
+            });
+
+            Order order = new Order();
+            order.customer = new Customer();
+            order.customer.name = name;
+            return modelMapper.map(order, OrderDTO.class).buyer;
+          }
+        }));
+      }
+
+      start.countDown();
+      for (int i = 0; i < results.size(); i++)
+        assertEquals(results.get(i).get(), "customer" + i);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that circular reference resolution only tracks instances of types that can take part in a
+ * cycle.
+ */
+@Test(groups = "functional")
+public class CycleAnalysisTest extends AbstractTest {
+  static class Address {
+    String street;
+  }
+
+  static class Order {
+    Address billing;
+    Address shipping;
+  }
+
+  static class AddressDTO {
+    String street;
+  }
+
+  static class OrderDTO {
+    AddressDTO billing;
+    AddressDTO shipping;
+  }
+
+  static class Parent {
+    String name;
+    List<Child> children = new ArrayList<Child>();
+  }
+
+  static class Child {
+    String name;
+    Parent parent;
+  }
+
+  static class ParentDTO {
+    String name;
+    List<ChildDTO> children;
+  }
+
+  static class ChildDTO {
+    String name;
+    ParentDTO parent;
+  }
+
+  static class Animal {
+    String name;
+  }
+
+  static class Dog extends Animal {
+    Node owner;
+  }
+
+  static class Node {
+    List<Animal> pets = new ArrayList<Animal>();
+  }
+
+  static class PetDTO {
+    String name;
+    NodeDTO owner;
+  }
+
+  static class NodeDTO {
+    List<PetDTO> pets;
+  }
+
+  public void shouldMapSharedAcyclicReferencesSeparately() {
+    Order order = new Order();
+    order.billing = new Address();
+    order.billing.street = "main";
+    order.shipping = order.billing;
+
+    OrderDTO dto = modelMapper.map(order, OrderDTO.class);
+    assertEquals(dto.billing.street, "main");
+    assertEquals(dto.shipping.street, "main");
+    assertNotSame(dto.billing, dto.shipping);
+  }
+
+  public void shouldResolveCyclicReferences() {
+    Parent parent = new Parent();
+    parent.name = "parent";
+    Child child = new Child();
+    child.name = "child";
+    child.parent = parent;
+    parent.children.add(child);
+
+    ParentDTO dto = modelMapper.map(parent, ParentDTO.class);
+    assertEquals(dto.children.size(), 1);
+    assertEquals(dto.children.get(0).name, "child");
+    assertSame(dto.children.get(0).parent, dto);
+  }
+
+  public void shouldResolveCyclicReferencesThroughSubtypes() {
+    Node node = new Node();
+    Dog dog = new Dog();
+    dog.name = "rex";
+    dog.owner = node;
+    node.pets.add(dog);
+
+    NodeDTO dto = modelMapper.map(node, NodeDTO.class);
+    assertEquals(dto.pets.size(), 1);
+    assertEquals(dto.pets.get(0).name, "rex");
+    assertSame(dto.pets.get(0).owner, dto);
+  }
+}
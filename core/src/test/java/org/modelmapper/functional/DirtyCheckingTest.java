@@ -0,0 +1,219 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.KeyExtractor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that dirty checking only sets destination properties whose values change.
+ */
+@Test(groups = "functional")
+public class DirtyCheckingTest extends AbstractTest {
+  static class OrderDTO {
+    String name;
+    int quantity;
+    String addressStreet;
+
+    OrderDTO(String name, int quantity, String addressStreet) {
+      this.name = name;
+      this.quantity = quantity;
+      this.addressStreet = addressStreet;
+    }
+  }
+
+  static class Address {
+    String street;
+
+    public String getStreet() {
+      return street;
+    }
+
+    public void setStreet(String street) {
+      this.street = street;
+    }
+  }
+
+  static class Order {
+    String name;
+    int quantity;
+    Address address = new Address();
+    int writes;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      writes++;
+      this.name = name;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      writes++;
+      this.quantity = quantity;
+    }
+
+    public Address getAddress() {
+      return address;
+    }
+
+    public void setAddress(Address address) {
+      writes++;
+      this.address = address;
+    }
+  }
+
+  public void shouldReportChangedPaths() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    Order order = new Order();
+    order.name = "a";
+    order.quantity = 1;
+    order.address.street = "main";
+
+    assertEquals(modelMapper.mapChanges(new OrderDTO("a", 2, "high"), order), new HashSet<String>(
+        Arrays.asList("quantity", "address.street")));
+    assertEquals(order.writes, 1);
+    assertEquals(order.quantity, 2);
+    assertEquals(order.address.street, "high");
+  }
+
+  public void shouldReportNoChanges() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    Order order = new Order();
+    order.name = "a";
+    order.quantity = 1;
+    order.address.street = "main";
+
+    assertTrue(modelMapper.mapChanges(new OrderDTO("a", 1, "main"), order).isEmpty());
+    assertEquals(order.writes, 0);
+  }
+
+  static class Line {
+    String name;
+  }
+
+  static class BasketDTO {
+    Line line;
+  }
+
+  static class BasketEntity {
+    LineEntity line = new LineEntity();
+  }
+
+  static class LineEntity {
+    String name;
+  }
+
+  public void shouldReportNestedChangedPaths() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    BasketDTO dto = new BasketDTO();
+    dto.line = new Line();
+    dto.line.name = "b";
+    BasketEntity basket = new BasketEntity();
+    LineEntity line = basket.line;
+    line.name = "a";
+
+    assertEquals(modelMapper.mapChanges(dto, basket), new HashSet<String>(
+        Arrays.asList("line.name")));
+    assertEquals(line.name, "b");
+  }
+
+  public void shouldSkipUnchangedValuesWhenEnabled() {
+    modelMapper.getConfiguration().enableFieldMatching(true).enableDirtyChecking(true);
+    Order order = new Order();
+    order.name = "a";
+
+    modelMapper.map(new OrderDTO("a", 3, null), order);
+    assertEquals(order.writes, 1);
+    assertEquals(order.quantity, 3);
+  }
+
+  static class ItemDTO {
+    Long id;
+    String name;
+
+    ItemDTO(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  static class Item {
+    Long id;
+    String name;
+
+    Item() {
+    }
+
+    Item(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  static class CartDTO {
+    List<ItemDTO> items;
+  }
+
+  static class Cart {
+    List<Item> items;
+  }
+
+  private Cart mergeableCart() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    modelMapper.createTypeMap(ItemDTO.class, Item.class).setMergeKeys(
+        new KeyExtractor<ItemDTO>() {
+          public Object keyOf(ItemDTO instance) {
+            return instance.id;
+          }
+        }, new KeyExtractor<Item>() {
+          public Object keyOf(Item instance) {
+            return instance.id;
+          }
+        });
+
+    Cart cart = new Cart();
+    cart.items = new ArrayList<Item>(Arrays.asList(new Item(1L, "a"), new Item(2L, "b"),
+        new Item(3L, "c")));
+    return cart;
+  }
+
+  public void shouldReportMergedCollectionWithRemovedElements() {
+    Cart cart = mergeableCart();
+    CartDTO dto = new CartDTO();
+    dto.items = Arrays.asList(new ItemDTO(1L, "a"), new ItemDTO(2L, "b"));
+
+    assertEquals(modelMapper.mapChanges(dto, cart), new HashSet<String>(Arrays.asList("items")));
+    assertEquals(cart.items.size(), 2);
+  }
+
+  public void shouldReportMergedCollectionWithAddedElements() {
+    Cart cart = mergeableCart();
+    CartDTO dto = new CartDTO();
+    dto.items = Arrays.asList(new ItemDTO(1L, "a"), new ItemDTO(2L, "b"), new ItemDTO(3L, "c"),
+        new ItemDTO(null, "d"));
+
+    assertTrue(modelMapper.mapChanges(dto, cart).contains("items"));
+    assertEquals(cart.items.size(), 4);
+  }
+
+  public void shouldReportNoChangesForUnchangedMergedCollection() {
+    Cart cart = mergeableCart();
+    CartDTO dto = new CartDTO();
+    dto.items = Arrays.asList(new ItemDTO(1L, "a"), new ItemDTO(2L, "b"), new ItemDTO(3L, "c"));
+
+    assertTrue(modelMapper.mapChanges(dto, cart).isEmpty());
+  }
+}
@@ -0,0 +1,89 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.TypeMap;
+import org.modelmapper.ValidationException;
+import org.modelmapper.spi.ConditionalConverter;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a frozen ModelMapper maps with its existing TypeMaps and rejects modification.
+ */
+@Test(groups = "functional")
+public class FrozenModelMapperTest extends AbstractTest {
+  static class Order {
+    String customerName;
+  }
+
+  static class OrderDTO {
+    String customerName;
+
+    void setCustomerName(String customerName) {
+      this.customerName = customerName;
+    }
+  }
+
+  static class Other {
+    String value;
+  }
+
+  static class Unmapped {
+    String customerName;
+    String missing;
+  }
+
+  public void shouldMapWithExistingTypeMaps() {
+    TypeMap<Order, OrderDTO> typeMap = modelMapper.createTypeMap(Order.class, OrderDTO.class);
+    modelMapper.freeze();
+
+    Order order = new Order();
+    order.customerName = "joe";
+    assertEquals(modelMapper.map(order, OrderDTO.class).customerName, "joe");
+    assertSame(modelMapper.getTypeMap(Order.class, OrderDTO.class), typeMap);
+    assertSame(typeMap.getMappings(), typeMap.getMappings());
+  }
+
+  @Test(expectedExceptions = ConfigurationException.class)
+  public void shouldRejectImplicitTypeMapCreation() {
+    modelMapper.freeze();
+    modelMapper.map(new Order(), Other.class);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void shouldRejectTypeMapModification() {
+    modelMapper.createTypeMap(Order.class, OrderDTO.class);
+    modelMapper.freeze();
+    modelMapper.addMappings(new PropertyMap<Order, OrderDTO>() {
+      protected void configure() {
+        skip().setCustomerName(null);
+      }
+    });
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void shouldRejectConverterModification() {
+    modelMapper.freeze();
+    List<ConditionalConverter<?, ?>> converters = modelMapper.getConfiguration().getConverters();
+    converters.add(converters.get(0));
+  }
+
+  public void shouldValidateBeforeFreezing() {
+    modelMapper.createTypeMap(Order.class, Unmapped.class);
+    try {
+      modelMapper.freeze();
+      fail();
+    } catch (ValidationException expected) {
+    }
+
+    // Not frozen, so TypeMaps can still be created
+    modelMapper.createTypeMap(Order.class, OrderDTO.class);
+  }
+}
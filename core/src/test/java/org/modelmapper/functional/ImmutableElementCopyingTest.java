@@ -0,0 +1,97 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that collections and maps of immutable values are copied rather than mapped per element.
+ */
+@Test(groups = "functional")
+public class ImmutableElementCopyingTest extends AbstractTest {
+  enum Color {
+    RED, GREEN
+  }
+
+  static class Source {
+    List<String> tags;
+    Set<Color> colors;
+    Map<String, BigDecimal> prices;
+    String[] ids;
+  }
+
+  static class Dest {
+    List<String> tags;
+    Set<Color> colors;
+    Map<String, BigDecimal> prices;
+    List<String> ids;
+  }
+
+  private Source source() {
+    Source source = new Source();
+    source.tags = new ArrayList<String>(Arrays.asList("a", "b"));
+    source.colors = new HashSet<Color>(Arrays.asList(Color.RED));
+    source.prices = new HashMap<String, BigDecimal>();
+    source.prices.put("x", BigDecimal.ONE);
+    source.ids = new String[] { "1", "2" };
+    return source;
+  }
+
+  public void shouldCopyImmutableElements() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    Source source = source();
+    Dest dest = modelMapper.map(source, Dest.class);
+
+    assertEquals(dest.tags, source.tags);
+    assertNotSame(dest.tags, source.tags);
+    assertEquals(dest.colors, source.colors);
+    assertEquals(dest.prices, source.prices);
+    assertNotSame(dest.prices, source.prices);
+    assertEquals(dest.ids, Arrays.asList("1", "2"));
+
+    source.tags.add("c");
+    assertEquals(dest.tags.size(), 2);
+  }
+
+  public void shouldShareUnmodifiableViewsWhenEnabled() {
+    modelMapper.getConfiguration().enableFieldMatching(true).enableCollectionSharing(true);
+    Source source = source();
+    Dest dest = modelMapper.map(source, Dest.class);
+
+    source.tags.add("c");
+    assertEquals(dest.tags, Arrays.asList("a", "b", "c"));
+    assertEquals(dest.prices, source.prices);
+    try {
+      dest.tags.add("d");
+      fail();
+    } catch (UnsupportedOperationException expected) {
+    }
+
+    assertEquals(dest.ids, Arrays.asList("1", "2"));
+  }
+
+  public void shouldMapElementsWithCustomConverter() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    modelMapper.addConverter(new AbstractConverter<String, String>() {
+      protected String convert(String source) {
+        return source.toUpperCase();
+      }
+    });
+
+    Dest dest = modelMapper.map(source(), Dest.class);
+    assertEquals(dest.tags, Arrays.asList("A", "B"));
+  }
+}
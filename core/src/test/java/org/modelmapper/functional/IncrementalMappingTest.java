@@ -0,0 +1,89 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.TypeMap;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that only the mappings affected by changed source properties are performed.
+ */
+@Test(groups = "functional")
+public class IncrementalMappingTest extends AbstractTest {
+  static class Address {
+    String street;
+    String city;
+  }
+
+  static class Customer {
+    String name;
+    int age;
+    Address address;
+  }
+
+  static class CustomerDTO {
+    String name;
+    int age;
+    String addressStreet;
+    String addressCity;
+  }
+
+  private TypeMap<Customer, CustomerDTO> typeMap;
+  private Customer customer;
+
+  private CustomerDTO mapped() {
+    modelMapper.getConfiguration().enableFieldMatching(true);
+    typeMap = modelMapper.createTypeMap(Customer.class, CustomerDTO.class);
+    customer = new Customer();
+    customer.name = "joe";
+    customer.age = 30;
+    customer.address = new Address();
+    customer.address.street = "main";
+    customer.address.city = "springfield";
+    return typeMap.map(customer);
+  }
+
+  public void shouldOnlyMapChangedProperties() {
+    CustomerDTO dto = mapped();
+    customer.name = "jim";
+    customer.age = 31;
+
+    typeMap.mapChanged(customer, dto, Collections.singleton("name"));
+    assertEquals(dto.name, "jim");
+    assertEquals(dto.age, 30);
+  }
+
+  public void shouldMapPropertiesBelowChangedPath() {
+    CustomerDTO dto = mapped();
+    customer.name = "jim";
+    customer.address.street = "high";
+    customer.address.city = "shelbyville";
+
+    typeMap.mapChanged(customer, dto, Collections.singleton("address"));
+    assertEquals(dto.addressStreet, "high");
+    assertEquals(dto.addressCity, "shelbyville");
+    assertEquals(dto.name, "joe");
+  }
+
+  public void shouldMapNestedChangedPath() {
+    CustomerDTO dto = mapped();
+    customer.address.street = "high";
+    customer.address.city = "shelbyville";
+
+    typeMap.mapChanged(customer, dto, Collections.singleton("address.street"));
+    assertEquals(dto.addressStreet, "high");
+    assertEquals(dto.addressCity, "springfield");
+  }
+
+  public void shouldMapNothingWithoutChanges() {
+    CustomerDTO dto = mapped();
+    customer.name = "jim";
+
+    typeMap.mapChanged(customer, dto, new HashSet<String>());
+    assertEquals(dto.name, "joe");
+  }
+}
@@ -0,0 +1,137 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Conditions;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that nested destination properties are mapped on first access when lazy mapping is
+ * enabled.
+ */
+@Test(groups = "functional")
+public class LazyMappingTest extends AbstractTest {
+  static class Customer {
+    String name;
+    int reads;
+
+    public String getName() {
+      reads++;
+      return name;
+    }
+  }
+
+  static class Order {
+    String id;
+    Customer customer;
+
+    public String getId() {
+      return id;
+    }
+
+    public Customer getCustomer() {
+      return customer;
+    }
+  }
+
+  static class CustomerDTO {
+    String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  static class OrderDTO {
+    String id;
+    CustomerDTO customer;
+
+    public String getId() {
+      return id;
+    }
+
+    public void setId(String id) {
+      this.id = id;
+    }
+
+    public CustomerDTO getCustomer() {
+      return customer;
+    }
+
+    public void setCustomer(CustomerDTO customer) {
+      this.customer = customer;
+    }
+  }
+
+  static Order order(Customer customer) {
+    Order order = new Order();
+    order.id = "42";
+    order.customer = customer;
+    return order;
+  }
+
+  static Customer customer(String name) {
+    Customer customer = new Customer();
+    customer.name = name;
+    return customer;
+  }
+
+  public void shouldMapNestedPropertiesOnFirstAccess() {
+    modelMapper.getConfiguration().enableLazyMapping(true);
+    Customer customer = customer("joe");
+    OrderDTO dto = modelMapper.map(order(customer), OrderDTO.class);
+
+    assertEquals(dto.getId(), "42");
+    assertEquals(customer.reads, 0);
+    assertTrue(dto.getCustomer().getClass() != CustomerDTO.class);
+    assertEquals(dto.getCustomer().getName(), "joe");
+    assertEquals(dto.getCustomer().getName(), "joe");
+    assertEquals(customer.reads, 1);
+  }
+
+  public void shouldNotRegisterTypeMapsForSubgraphs() {
+    modelMapper.getConfiguration().enableLazyMapping(true);
+    Customer customer = customer("joe");
+    OrderDTO dto = modelMapper.map(order(customer), OrderDTO.class);
+
+    assertTrue(dto.getCustomer().getClass() != CustomerDTO.class);
+    assertEquals(dto.getCustomer().getName(), "joe");
+    assertEquals(modelMapper.getTypeMaps().size(), 1);
+    assertNull(modelMapper.getTypeMap(Customer.class, CustomerDTO.class));
+  }
+
+  public void shouldMapEagerlyByDefault() {
+    Customer customer = customer("joe");
+    OrderDTO dto = modelMapper.map(order(customer), OrderDTO.class);
+
+    assertEquals(customer.reads, 1);
+    assertEquals(dto.getCustomer().getClass(), CustomerDTO.class);
+    assertEquals(dto.getCustomer().getName(), "joe");
+  }
+
+  public void shouldMapCustomizedTypeMapsEagerly() {
+    modelMapper.getConfiguration().enableLazyMapping(true);
+    modelMapper.createTypeMap(Order.class, OrderDTO.class).setPropertyCondition(
+        Conditions.isNotNull());
+    Customer customer = customer("joe");
+    OrderDTO dto = modelMapper.map(order(customer), OrderDTO.class);
+
+    assertEquals(customer.reads, 1);
+    assertEquals(dto.getCustomer().getClass(), CustomerDTO.class);
+  }
+
+  public void shouldMapNullSourcePropertiesEagerly() {
+    modelMapper.getConfiguration().enableLazyMapping(true);
+    OrderDTO dto = modelMapper.map(order(null), OrderDTO.class);
+
+    assertEquals(dto.getId(), "42");
+    assertNull(dto.getCustomer());
+  }
+}
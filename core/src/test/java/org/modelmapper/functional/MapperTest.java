@@ -0,0 +1,120 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Mapper;
+import org.modelmapper.MappingException;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.testng.annotations.Test;
+
+/**
+ * Tests mapping through Mappers bound to a TypeMap or Converter.
+ */
+@Test(groups = "functional")
+public class MapperTest extends AbstractTest {
+  static class Customer {
+    String name;
+  }
+
+  static class Order {
+    Customer customer;
+    int quantity;
+  }
+
+  static class OrderDTO {
+    String customerName;
+    int quantity;
+
+    void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+  }
+
+  static class ExtendedOrder extends Order {
+  }
+
+  static class Failing {
+    String value;
+
+    String getValue() {
+      throw new IllegalStateException();
+    }
+  }
+
+  static class FailingDTO {
+    String value;
+  }
+
+  private static Order order(String customerName, int quantity) {
+    Order order = new Order();
+    order.customer = new Customer();
+    order.customer.name = customerName;
+    order.quantity = quantity;
+    return order;
+  }
+
+  public void shouldMapWithBoundTypeMap() {
+    Mapper<Order, OrderDTO> mapper = modelMapper.mapperFor(Order.class, OrderDTO.class);
+    assertSame(mapper.getTypeMap(), modelMapper.getTypeMap(Order.class, OrderDTO.class));
+
+    OrderDTO dto = mapper.map(order("joe", 5));
+    assertEquals(dto.customerName, "joe");
+    assertEquals(dto.quantity, 5);
+
+    OrderDTO existing = new OrderDTO();
+    mapper.map(order("bob", 3), existing);
+    assertEquals(existing.customerName, "bob");
+    assertEquals(existing.quantity, 3);
+  }
+
+  public void shouldMapSubtypes() {
+    Mapper<Order, OrderDTO> mapper = modelMapper.mapperFor(Order.class, OrderDTO.class);
+    ExtendedOrder order = new ExtendedOrder();
+    order.quantity = 7;
+    assertEquals(mapper.map(order).quantity, 7);
+  }
+
+  public void shouldUseExplicitMappings() {
+    modelMapper.addMappings(new PropertyMap<Order, OrderDTO>() {
+      protected void configure() {
+        skip().setQuantity(0);
+      }
+    });
+
+    assertEquals(modelMapper.mapperFor(Order.class, OrderDTO.class).map(order("joe", 5)).quantity,
+        0);
+  }
+
+  public void shouldMapAll() {
+    Mapper<Order, OrderDTO> mapper = modelMapper.mapperFor(Order.class, OrderDTO.class);
+    List<OrderDTO> dtos = mapper.mapAll(Arrays.asList(order("joe", 1), null, order("bob", 2)));
+
+    assertEquals(dtos.size(), 3);
+    assertEquals(dtos.get(0).customerName, "joe");
+    assertNull(dtos.get(1));
+    assertEquals(dtos.get(2).customerName, "bob");
+  }
+
+  public void shouldBindToConverterWithoutCreatingTypeMap() {
+    Mapper<String, Integer> mapper = modelMapper.mapperFor(String.class, Integer.class);
+
+    assertNull(mapper.getTypeMap());
+    assertEquals(mapper.map("5"), Integer.valueOf(5));
+    assertEquals(mapper.mapAll(Arrays.asList("6", null)), Arrays.asList(6, null));
+    assertNull(modelMapper.getTypeMap(String.class, Integer.class));
+    assertEquals(modelMapper.map("7", Integer.class), Integer.valueOf(7));
+  }
+
+  @Test(expectedExceptions = MappingException.class)
+  public void shouldReportMappingErrors() {
+    modelMapper.getConfiguration().setMethodAccessLevel(AccessLevel.PACKAGE_PRIVATE);
+    modelMapper.mapperFor(Failing.class, FailingDTO.class).map(new Failing());
+  }
+}
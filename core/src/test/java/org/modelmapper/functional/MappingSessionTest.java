@@ -0,0 +1,96 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingSession;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a MappingSession maps source objects shared across map calls only once.
+ */
+@Test(groups = "functional")
+public class MappingSessionTest extends AbstractTest {
+  static class Customer {
+    String name;
+  }
+
+  static class Order {
+    Customer customer;
+    Customer billedCustomer;
+  }
+
+  static class CustomerDTO {
+    String name;
+  }
+
+  static class CustomerSummary {
+    String name;
+  }
+
+  static class OrderDTO {
+    CustomerDTO customer;
+    CustomerDTO billedCustomer;
+  }
+
+  static Order order(Customer customer) {
+    Order order = new Order();
+    order.customer = customer;
+    order.billedCustomer = customer;
+    return order;
+  }
+
+  static Customer customer(String name) {
+    Customer customer = new Customer();
+    customer.name = name;
+    return customer;
+  }
+
+  public void shouldShareDestinationsAcrossMapCalls() {
+    Customer customer = customer("joe");
+    MappingSession session = modelMapper.openSession();
+    OrderDTO first = session.map(order(customer), OrderDTO.class);
+    OrderDTO second = session.map(order(customer), OrderDTO.class);
+
+    assertEquals(first.customer.name, "joe");
+    assertSame(first.customer, first.billedCustomer);
+    assertSame(first.customer, second.customer);
+    assertNotSame(first, second);
+    assertSame(session.map(customer, CustomerDTO.class), first.customer);
+  }
+
+  public void shouldNotShareDestinationsWithoutSession() {
+    Customer customer = customer("joe");
+    OrderDTO first = modelMapper.map(order(customer), OrderDTO.class);
+    OrderDTO second = modelMapper.map(order(customer), OrderDTO.class);
+
+    assertNotSame(first.customer, second.customer);
+  }
+
+  public void shouldMapToOtherDestinationTypes() {
+    Customer customer = customer("joe");
+    MappingSession session = modelMapper.openSession();
+    CustomerDTO dto = session.map(customer, CustomerDTO.class);
+    CustomerSummary summary = session.map(customer, CustomerSummary.class);
+
+    assertEquals(dto.name, "joe");
+    assertEquals(summary.name, "joe");
+  }
+
+  public void shouldDiscardRememberedObjectsPastBound() {
+    MappingSession session = modelMapper.openSession(2);
+    Customer customer = customer("joe");
+    CustomerDTO dto = session.map(customer, CustomerDTO.class);
+    session.map(customer("a"), CustomerDTO.class);
+    session.map(customer("b"), CustomerDTO.class);
+    assertEquals(session.size(), 2);
+
+    session.map(customer("c"), CustomerDTO.class);
+    assertNotSame(session.map(customer, CustomerDTO.class), dto);
+
+    session.clear();
+    assertEquals(session.size(), 0);
+  }
+}
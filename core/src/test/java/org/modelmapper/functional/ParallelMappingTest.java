@@ -0,0 +1,118 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.MappingException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the elements of large collections and maps can be mapped in parallel.
+ */
+@Test(groups = "functional")
+public class ParallelMappingTest extends AbstractTest {
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  static class Item {
+    int value;
+  }
+
+  static class ItemDTO {
+    static final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+    int value;
+
+    void setValue(int value) {
+      if (value < 0)
+        throw new IllegalArgumentException("negative");
+      threads.add(Thread.currentThread().getName());
+      this.value = value;
+    }
+  }
+
+  static class Order {
+    List<Item> items = new ArrayList<Item>();
+    Map<String, Item> itemsByName = new HashMap<String, Item>();
+  }
+
+  static class OrderDTO {
+    List<ItemDTO> items;
+    Map<String, ItemDTO> itemsByName;
+  }
+
+  @BeforeMethod
+  protected void configure() {
+    modelMapper.getConfiguration()
+        .setParallelMappingExecutor(executor)
+        .setParallelMappingThreshold(100)
+        .setResolveCircular(false);
+    ItemDTO.threads.clear();
+  }
+
+  @AfterClass
+  protected void shutdown() {
+    executor.shutdown();
+  }
+
+  private static Order order(int size) {
+    Order order = new Order();
+    for (int i = 0; i < size; i++) {
+      Item item = new Item();
+      item.value = i;
+      order.items.add(item);
+      order.itemsByName.put("item" + i, item);
+    }
+
+    return order;
+  }
+
+  public void shouldMapLargeCollectionsInOrder() {
+    OrderDTO dto = modelMapper.map(order(5000), OrderDTO.class);
+
+    assertEquals(dto.items.size(), 5000);
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(dto.items.get(i).value, i);
+      assertEquals(dto.itemsByName.get("item" + i).value, i);
+    }
+
+    assertTrue(ItemDTO.threads.size() > 1);
+  }
+
+  public void shouldMapSmallCollectionsSequentially() {
+    OrderDTO dto = modelMapper.map(order(50), OrderDTO.class);
+    assertEquals(dto.items.size(), 50);
+    assertEquals(ItemDTO.threads.size(), 1);
+  }
+
+  public void shouldMapSequentiallyWhenResolvingCircularReferences() {
+    modelMapper.getConfiguration().setResolveCircular(true);
+    assertEquals(modelMapper.map(order(500), OrderDTO.class).items.size(), 500);
+    assertEquals(ItemDTO.threads.size(), 1);
+  }
+
+  public void shouldReportErrorsFromAllChunks() {
+    Order order = order(1000);
+    order.items.get(10).value = -1;
+    order.items.get(990).value = -1;
+
+    try {
+      modelMapper.map(order, OrderDTO.class);
+      fail();
+    } catch (MappingException e) {
+      assertEquals(e.getErrorMessages().size(), 2);
+    }
+  }
+}
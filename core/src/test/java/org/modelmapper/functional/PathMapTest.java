@@ -0,0 +1,111 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import org.modelmapper.AbstractConverter;
+import org.modelmapper.AbstractTest;
+import org.modelmapper.ConfigurationException;
+import org.modelmapper.PathMap;
+import org.modelmapper.TypeMap;
+import org.testng.annotations.Test;
+
+/**
+ * Tests mappings defined with dotted property paths.
+ */
+@Test(groups = "functional")
+public class PathMapTest extends AbstractTest {
+  static class Address {
+    String street;
+
+    String getStreet() {
+      return street;
+    }
+  }
+
+  static class Customer {
+    String name;
+    Address billingAddress;
+
+    String getName() {
+      return name;
+    }
+
+    Address getBillingAddress() {
+      return billingAddress;
+    }
+  }
+
+  static final class Order {
+    Customer customer;
+    String comment;
+
+    Customer getCustomer() {
+      return customer;
+    }
+
+    String getComment() {
+      return comment;
+    }
+  }
+
+  static final class OrderDTO {
+    String billingStreet;
+    String buyer;
+    String comment;
+
+    void setBillingStreet(String billingStreet) {
+      this.billingStreet = billingStreet;
+    }
+
+    void setBuyer(String buyer) {
+      this.buyer = buyer;
+    }
+
+    void setComment(String comment) {
+      this.comment = comment;
+    }
+  }
+
+  public void shouldMapPaths() {
+    TypeMap<Order, OrderDTO> typeMap = modelMapper.addMappings(new PathMap<Order, OrderDTO>() {
+      protected void configure() {
+        map("customer.billingAddress.street", "billingStreet");
+        using(new AbstractConverter<String, String>() {
+          protected String convert(String source) {
+            return source.toUpperCase();
+          }
+        }).map("customer.name", "buyer");
+        skip("comment");
+      }
+    });
+
+    Order order = new Order();
+    order.customer = new Customer();
+    order.customer.name = "joe";
+    order.customer.billingAddress = new Address();
+    order.customer.billingAddress.street = "main";
+    order.comment = "fragile";
+
+    OrderDTO dto = modelMapper.map(order, OrderDTO.class);
+    assertEquals(dto.billingStreet, "main");
+    assertEquals(dto.buyer, "JOE");
+    assertNull(dto.comment);
+    assertTrue(typeMap.getUnmappedProperties().isEmpty());
+  }
+
+  public void shouldThrowOnInvalidPath() {
+    try {
+      modelMapper.addMappings(new PathMap<Order, OrderDTO>() {
+        protected void configure() {
+          map("customer.shippingAddress.street", "billingStreet");
+        }
+      });
+      fail();
+    } catch (ConfigurationException e) {
+      assertTrue(e.getMessage().contains("shippingAddress"), e.getMessage());
+    }
+  }
+}
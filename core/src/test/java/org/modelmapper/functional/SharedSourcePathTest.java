@@ -0,0 +1,82 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+
+import org.modelmapper.AbstractTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that getters on source paths shared by several mappings are called once per source.
+ */
+@Test(groups = "functional")
+public class SharedSourcePathTest extends AbstractTest {
+  static int customerReads;
+  static int addressReads;
+
+  public static class Address {
+    String street = "main";
+    String city = "springfield";
+
+    public String getStreet() {
+      return street;
+    }
+
+    public String getCity() {
+      return city;
+    }
+  }
+
+  public static class Customer {
+    String name = "joe";
+    Address address = new Address();
+
+    public String getName() {
+      return name;
+    }
+
+    public Address getAddress() {
+      addressReads++;
+      return address;
+    }
+  }
+
+  public static class Order {
+    Customer customer = new Customer();
+
+    public Customer getCustomer() {
+      customerReads++;
+      return customer;
+    }
+  }
+
+  public static class OrderDTO {
+    String customerName;
+    String customerAddressStreet;
+    String customerAddressCity;
+
+    public void setCustomerName(String customerName) {
+      this.customerName = customerName;
+    }
+
+    public void setCustomerAddressStreet(String customerAddressStreet) {
+      this.customerAddressStreet = customerAddressStreet;
+    }
+
+    public void setCustomerAddressCity(String customerAddressCity) {
+      this.customerAddressCity = customerAddressCity;
+    }
+  }
+
+  public void shouldReadSharedSourcePathsOnce() {
+    modelMapper.createTypeMap(Order.class, OrderDTO.class);
+    customerReads = 0;
+    addressReads = 0;
+
+    OrderDTO dto = modelMapper.map(new Order(), OrderDTO.class);
+    assertEquals(dto.customerName, "joe");
+    assertEquals(dto.customerAddressStreet, "main");
+    assertEquals(dto.customerAddressCity, "springfield");
+    assertEquals(customerReads, 1);
+    assertEquals(addressReads, 1);
+  }
+}
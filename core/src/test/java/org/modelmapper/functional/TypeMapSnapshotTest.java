@@ -0,0 +1,123 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Fixtures;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.TypeMap;
+import org.modelmapper.convention.NameTokenizers;
+import org.modelmapper.spi.NameTokenizer;
+import org.modelmapper.spi.NameableType;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that TypeMaps can be written to and rebuilt from a snapshot.
+ */
+@Test(groups = "functional")
+public class TypeMapSnapshotTest extends AbstractTest {
+  static class Address {
+    String street;
+    int number;
+  }
+
+  static class Order {
+    Address address;
+    String comment;
+  }
+
+  static class OrderDTO {
+    String addressStreet;
+    int addressNumber;
+    String comment;
+
+    void setComment(String comment) {
+      this.comment = comment;
+    }
+  }
+
+  /** OrderDTO with a property that was added after a snapshot was written. */
+  static class OrderDTX {
+    String addressStreet;
+    int addressNumber;
+    String comment;
+    String note;
+
+    void setComment(String comment) {
+      this.comment = comment;
+    }
+  }
+
+  private byte[] snapshot() throws Exception {
+    modelMapper.addMappings(new PropertyMap<Order, OrderDTO>() {
+      protected void configure() {
+        skip().setComment(null);
+      }
+    });
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(modelMapper.writeTypeMapSnapshot(out), 1);
+    return out.toByteArray();
+  }
+
+  public void shouldLoadSnapshot() throws Exception {
+    byte[] snapshot = snapshot();
+    ModelMapper loaded = Fixtures.createModelMapper();
+    assertEquals(loaded.loadTypeMapSnapshot(new ByteArrayInputStream(snapshot)), 1);
+
+    TypeMap<Order, OrderDTO> typeMap = loaded.getTypeMap(Order.class, OrderDTO.class);
+    assertEquals(typeMap.getMappings().size(),
+        modelMapper.getTypeMap(Order.class, OrderDTO.class).getMappings().size());
+    assertEquals(typeMap.getUnmappedProperties().size(), 0);
+
+    Order order = new Order();
+    order.address = new Address();
+    order.address.street = "main";
+    order.address.number = 42;
+    order.comment = "fragile";
+    OrderDTO dto = typeMap.map(order);
+    assertEquals(dto.addressStreet, "main");
+    assertEquals(dto.addressNumber, 42);
+    assertEquals(dto.comment, null);
+  }
+
+  public void shouldBuildNormallyForDifferentConfiguration() throws Exception {
+    byte[] snapshot = snapshot();
+    ModelMapper loaded = Fixtures.createModelMapper();
+    loaded.getConfiguration().enableFieldMatching(false);
+
+    assertEquals(loaded.loadTypeMapSnapshot(new ByteArrayInputStream(snapshot)), 0);
+    assertNotNull(loaded.getTypeMap(Order.class, OrderDTO.class));
+  }
+
+  public void shouldBuildNormallyForDifferentNameTokenizer() throws Exception {
+    byte[] snapshot = snapshot();
+    ModelMapper loaded = Fixtures.createModelMapper();
+    loaded.getConfiguration().setSourceNameTokenizer(new NameTokenizer() {
+      public String[] tokenize(String name, NameableType nameableType) {
+        return NameTokenizers.CAMEL_CASE.tokenize(name, nameableType);
+      }
+    });
+
+    assertEquals(loaded.loadTypeMapSnapshot(new ByteArrayInputStream(snapshot)), 0);
+    assertNotNull(loaded.getTypeMap(Order.class, OrderDTO.class));
+  }
+
+  public void shouldBuildNormallyWhenPropertiesWereAdded() throws Exception {
+    // Rewrite the snapshot as if it were written for OrderDTX before its note property was added
+    String recorded = new String(snapshot(), "ISO-8859-1");
+    byte[] snapshot = recorded.replace(OrderDTO.class.getName(), OrderDTX.class.getName())
+        .getBytes("ISO-8859-1");
+    ModelMapper loaded = Fixtures.createModelMapper();
+
+    assertEquals(loaded.loadTypeMapSnapshot(new ByteArrayInputStream(snapshot)), 0);
+    TypeMap<Order, OrderDTX> typeMap = loaded.getTypeMap(Order.class, OrderDTX.class);
+    assertEquals(typeMap.getUnmappedProperties().size(), 1);
+    assertEquals(typeMap.getUnmappedProperties().get(0).getName(), "note");
+  }
+}
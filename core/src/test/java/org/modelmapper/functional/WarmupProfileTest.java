@@ -0,0 +1,48 @@
+package org.modelmapper.functional;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.modelmapper.AbstractTest;
+import org.modelmapper.Fixtures;
+import org.modelmapper.ModelMapper;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that TypeMaps created while mapping can be recorded and rebuilt from a warmup profile.
+ */
+@Test(groups = "functional")
+public class WarmupProfileTest extends AbstractTest {
+  static class Order {
+    String customerName;
+  }
+
+  static class OrderDTO {
+    String customerName;
+  }
+
+  public void shouldReplayImplicitlyCreatedTypeMaps() throws Exception {
+    Order order = new Order();
+    order.customerName = "joe";
+    modelMapper.map(order, OrderDTO.class);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    modelMapper.writeWarmupProfile(out);
+
+    ModelMapper warmedUp = Fixtures.createModelMapper();
+    assertNull(warmedUp.getTypeMap(Order.class, OrderDTO.class));
+    assertEquals(warmedUp.warmUp(new ByteArrayInputStream(out.toByteArray())), 1);
+    assertNotNull(warmedUp.getTypeMap(Order.class, OrderDTO.class));
+    assertEquals(warmedUp.map(order, OrderDTO.class).customerName, "joe");
+  }
+
+  public void shouldSkipUnknownTypes() throws Exception {
+    String profile = "# ModelMapper warmup profile v1\ncom.example.Missing\t"
+        + OrderDTO.class.getName() + "\n";
+    assertEquals(modelMapper.warmUp(new ByteArrayInputStream(profile.getBytes("UTF-8"))), 0);
+  }
+}
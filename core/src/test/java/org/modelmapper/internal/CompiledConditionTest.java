@@ -0,0 +1,54 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.modelmapper.Condition;
+import org.modelmapper.Conditions;
+import org.modelmapper.spi.MappingContext;
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class CompiledConditionTest {
+  private static final Condition<Object, Object> CUSTOM = new Condition<Object, Object>() {
+    public boolean applies(MappingContext<Object, Object> context) {
+      return true;
+    }
+  };
+
+  private static CompiledCondition compile(Condition<?, ?> condition) {
+    return CompiledCondition.compile(condition, String.class);
+  }
+
+  public void shouldCompileNullChecks() {
+    assertSame(compile(Conditions.isNull()), CompiledCondition.IS_NULL);
+    assertSame(compile(Conditions.isNotNull()), CompiledCondition.IS_NOT_NULL);
+    assertSame(compile(Conditions.not((Condition) Conditions.isNull())),
+        CompiledCondition.IS_NOT_NULL);
+    assertEquals(CompiledCondition.IS_NULL.evaluate(null), Boolean.TRUE);
+    assertEquals(CompiledCondition.IS_NULL.evaluate("a"), Boolean.FALSE);
+  }
+
+  public void shouldFoldTypeChecks() {
+    assertSame(compile(Conditions.isType(CharSequence.class)), CompiledCondition.ALWAYS);
+    assertSame(compile(Conditions.isType(Integer.class)), CompiledCondition.NEVER);
+    assertSame(
+        compile(Conditions.and((Condition) Conditions.isType(Integer.class),
+            (Condition) Conditions.isNotNull())), CompiledCondition.NEVER);
+    assertSame(
+        compile(Conditions.or((Condition) Conditions.isType(Integer.class),
+            (Condition) Conditions.isNotNull())), CompiledCondition.IS_NOT_NULL);
+  }
+
+  public void shouldDeferCustomConditionsToContext() {
+    assertNull(compile(CUSTOM).evaluate("a"));
+    CompiledCondition and = compile(Conditions.and(CUSTOM, (Condition) Conditions.isNotNull()));
+    assertEquals(and.evaluate(null), Boolean.FALSE);
+    assertNull(and.evaluate("a"));
+  }
+}
@@ -0,0 +1,109 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class CycleAnalyzerTest {
+  private InheritingConfiguration configuration;
+  private CycleAnalyzer analyzer;
+
+  static class Address {
+    String street;
+    int number;
+  }
+
+  static class Customer {
+    String name;
+    Address address;
+    List<Address> addresses;
+    Map<String, Address> addressesByName;
+  }
+
+  static class Node {
+    Node next;
+  }
+
+  static class Parent {
+    List<Child> children;
+  }
+
+  static class Child {
+    Parent parent;
+  }
+
+  static class Pet {
+    String name;
+  }
+
+  static class Dog extends Pet {
+    Owner owner;
+  }
+
+  static class Owner {
+    List<Pet> pets;
+  }
+
+  static class Holder {
+    Object value;
+  }
+
+  @SuppressWarnings("rawtypes")
+  static class RawHolder {
+    List values;
+  }
+
+  static class Hidden {
+    private Hidden self;
+  }
+
+  @BeforeMethod
+  protected void init() {
+    configuration = new InheritingConfiguration();
+    configuration.enableFieldMatching(true).setFieldAccessLevel(AccessLevel.PACKAGE_PRIVATE);
+    analyzer = new CycleAnalyzer(configuration);
+  }
+
+  private boolean isCyclic(Class<?> type) {
+    return analyzer.isCyclic(type, configuration.snapshot());
+  }
+
+  public void shouldTreatAcyclicTypesAsAcyclic() {
+    assertFalse(isCyclic(Address.class));
+    assertFalse(isCyclic(Customer.class));
+    assertFalse(isCyclic(String.class));
+  }
+
+  public void shouldDetectDirectAndIndirectCycles() {
+    assertTrue(isCyclic(Node.class));
+    assertTrue(isCyclic(Parent.class));
+    assertTrue(isCyclic(Child.class));
+  }
+
+  public void shouldNotAnalyzeSubtypesOfPropertyTypes() {
+    assertFalse(isCyclic(Pet.class));
+    assertFalse(isCyclic(Owner.class));
+    assertTrue(isCyclic(Dog.class));
+  }
+
+  public void shouldTreatUnknownPropertyTypesAsCyclic() {
+    assertTrue(isCyclic(Holder.class));
+    assertTrue(isCyclic(RawHolder.class));
+  }
+
+  public void shouldReanalyzeWhenConfigurationChanges() {
+    assertFalse(isCyclic(Hidden.class));
+    configuration.setFieldAccessLevel(AccessLevel.PRIVATE);
+    assertTrue(isCyclic(Hidden.class));
+  }
+}
@@ -2,6 +2,8 @@ package org.modelmapper.internal;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import org.modelmapper.config.Configuration.AccessLevel;
 import org.testng.annotations.Test;
@@ -50,4 +52,26 @@ public class InheritingConfigurationTest {
     config2.setMethodAccessLevel(AccessLevel.PRIVATE);
     assertFalse(config1.equals(config2));
   }
+
+  public void shouldReuseSnapshotUntilChanged() {
+    InheritingConfiguration config = new InheritingConfiguration();
+    ConfigurationSnapshot snapshot = config.snapshot();
+    assertSame(config.snapshot(), snapshot);
+
+    config.setResolveCircular(false);
+    assertFalse(config.snapshot() == snapshot);
+    assertFalse(config.isResolveCircular());
+  }
+
+  public void shouldRebuildSnapshotWhenParentChanges() {
+    InheritingConfiguration parent = new InheritingConfiguration();
+    InheritingConfiguration child = new InheritingConfiguration(parent, true);
+    assertFalse(child.isFieldMatchingEnabled());
+
+    parent.enableFieldMatching(true);
+    assertTrue(child.isFieldMatchingEnabled());
+    child.setFieldAccessLevel(AccessLevel.PRIVATE);
+    assertEquals(child.getFieldAccessLevel(), AccessLevel.PRIVATE);
+    assertEquals(parent.getFieldAccessLevel(), AccessLevel.PUBLIC);
+  }
 }
@@ -0,0 +1,42 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class InlineCacheTest {
+  private static InlineCache.Target target(Class<?> type) {
+    return new InlineCache.Target(type, null, null);
+  }
+
+  public void shouldCacheUpToMaxEntries() {
+    InlineCache cache = new InlineCache();
+    Class<?>[] types = { String.class, Integer.class, Long.class, Short.class, Byte.class };
+    InlineCache.Target[] targets = new InlineCache.Target[types.length];
+    for (int i = 0; i < types.length; i++) {
+      targets[i] = target(types[i]);
+      cache.put(types[i], targets[i], 1);
+    }
+
+    for (int i = 0; i < InlineCache.MAX_ENTRIES; i++)
+      assertSame(cache.get(types[i], 1), targets[i]);
+    assertNull(cache.get(Byte.class, 1));
+  }
+
+  public void shouldDiscardEntriesForOtherVersions() {
+    InlineCache cache = new InlineCache();
+    InlineCache.Target target = target(String.class);
+    cache.put(String.class, target, 1);
+
+    assertSame(cache.get(String.class, 1), target);
+    assertNull(cache.get(String.class, 2));
+
+    cache.put(Integer.class, target(Integer.class), 2);
+    assertNull(cache.get(String.class, 2));
+  }
+}
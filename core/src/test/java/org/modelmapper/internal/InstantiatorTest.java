@@ -0,0 +1,48 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class InstantiatorTest {
+  static class Instantiable {
+    private Instantiable() {
+    }
+  }
+
+  static abstract class Abstract {
+  }
+
+  static class NoDefaultConstructor {
+    NoDefaultConstructor(String value) {
+    }
+  }
+
+  public void shouldInstantiateThroughPrivateConstructor() {
+    Errors errors = new Errors();
+    assertNotNull(Instantiator.instantiatorFor(Instantiable.class).newInstance(errors));
+    assertEquals(errors.hasErrors(), false);
+  }
+
+  public void shouldCacheInstantiators() {
+    assertSame(Instantiator.instantiatorFor(Instantiable.class),
+        Instantiator.instantiatorFor(Instantiable.class));
+  }
+
+  public void shouldReportCachedFailures() {
+    for (Class<?> type : new Class<?>[] { Abstract.class, NoDefaultConstructor.class }) {
+      Errors errors = new Errors();
+      assertNull(Instantiator.instantiatorFor(type).newInstance(errors));
+      assertNull(Instantiator.instantiatorFor(type).newInstance(errors));
+      assertEquals(errors.getMessages().size(), 2);
+      assertSame(errors.getMessages().get(0), errors.getMessages().get(1));
+    }
+  }
+}
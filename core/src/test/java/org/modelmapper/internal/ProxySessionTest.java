@@ -0,0 +1,90 @@
+package org.modelmapper.internal;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.PropertyMap;
+import org.modelmapper.internal.ProxySession.ProxyClassLoader;
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class ProxySessionTest {
+  public static class Source {
+    private String value;
+
+    public String getValue() {
+      return value;
+    }
+
+    public void setValue(String value) {
+      this.value = value;
+    }
+  }
+
+  public static class Dest {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+
+  static class PackagePrivate {
+    String getValue() {
+      return null;
+    }
+  }
+
+  public void shouldDefineDiscardableProxiesInSessionClassLoader() {
+    ProxySession session = new ProxySession();
+    Class<?> proxyClass = session.proxyClassFor(Source.class);
+    assertTrue(proxyClass.getClassLoader() instanceof ProxyClassLoader);
+    assertTrue(Source.class.isAssignableFrom(proxyClass));
+    assertEquals(session.proxyClassFor(Source.class), proxyClass);
+  }
+
+  public void shouldUseSharedProxiesForPackagePrivateTypes() {
+    assertFalse(ProxySession.isDiscardable(PackagePrivate.class));
+    Class<?> proxyClass = new ProxySession().proxyClassFor(PackagePrivate.class);
+    assertEquals(proxyClass.getClassLoader(), PackagePrivate.class.getClassLoader());
+  }
+
+  public void shouldReleaseProxyClassLoader() throws Exception {
+    ProxySession session = new ProxySession();
+    WeakReference<ClassLoader> classLoader = new WeakReference<ClassLoader>(session.proxyClassFor(
+        Dest.class).getClassLoader());
+    session.release();
+
+    for (int i = 0; i < 20 && classLoader.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertNull(classLoader.get());
+  }
+
+  public void shouldMapWithDiscardableProxies() {
+    ModelMapper modelMapper = new ModelMapper();
+    modelMapper.addMappings(new PropertyMap<Source, Dest>() {
+      protected void configure() {
+        map().setName(source.getValue());
+      }
+    });
+
+    Source source = new Source();
+    source.setValue("joe");
+    assertEquals(modelMapper.map(source, Dest.class).getName(), "joe");
+  }
+}
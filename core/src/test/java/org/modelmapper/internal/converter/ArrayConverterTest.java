@@ -1,6 +1,7 @@
 package org.modelmapper.internal.converter;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -8,6 +9,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.modelmapper.AbstractConverter;
 import org.modelmapper.spi.ConditionalConverter.MatchResult;
 import org.testng.annotations.Test;
 
@@ -73,6 +75,45 @@ public class ArrayConverterTest extends AbstractConverterTest {
     assertEquals((String[]) convert(source, String[].class), source);
   }
 
+  public void shouldCopyPrimitiveArray() {
+    int[] source = new int[] { 1, 2, 3 };
+    int[] dest = (int[]) convert(source, int[].class);
+    assertFalse(dest == source);
+    assertEquals(dest, source);
+  }
+
+  public void shouldWidenPrimitiveArray() {
+    assertEquals((long[]) convert(new int[] { 1, -2, Integer.MAX_VALUE }, long[].class), new long[] {
+        1, -2, Integer.MAX_VALUE });
+    assertEquals((double[]) convert(new byte[] { 1, -2 }, double[].class), new double[] { 1, -2 });
+    assertEquals((double[]) convert(new float[] { 1.5f }, double[].class), new double[] { 1.5 });
+  }
+
+  public void shouldBoxAndUnboxPrimitiveArray() {
+    assertEquals((Integer[]) convert(new int[] { 1, 2 }, Integer[].class), new Integer[] { 1, 2 });
+    assertEquals((int[]) convert(new Integer[] { 1, 2 }, int[].class), new int[] { 1, 2 });
+  }
+
+  public void shouldConvertPrimitiveArrayElementsWithCustomConverters() {
+    modelMapper.addConverter(new AbstractConverter<Integer, Integer>() {
+      protected Integer convert(Integer source) {
+        return source * 10;
+      }
+    });
+
+    assertEquals(modelMapper.map(new int[] { 1, 2 }, Integer[].class), new Integer[] { 10, 20 });
+  }
+
+  public void shouldConvertLossyWideningElementsIndividually() {
+    assertEquals((float[]) convert(new int[] { 1, 2 }, float[].class), new float[] { 1, 2 });
+    assertEquals((double[]) convert(new long[] { 1, 2 }, double[].class), new double[] { 1, 2 });
+  }
+
+  public void shouldUnboxCollectionToPrimitiveArray() {
+    assertEquals((int[]) convert(Arrays.asList(1, 2, 3), int[].class), new int[] { 1, 2, 3 });
+    assertEquals((long[]) convert(Arrays.asList(1, 2, 3), long[].class), new long[] { 1, 2, 3 });
+  }
+
   public void testMatches() {
     assertEquals(converter.match(ArrayList.class, Object[].class), MatchResult.FULL);
     assertEquals(converter.match(Object[].class, String[].class), MatchResult.FULL);
@@ -6,6 +6,7 @@ import static org.testng.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +31,18 @@ public class CollectionConverterTest extends AbstractConverterTest {
     List rawlist = Arrays.asList(7, 8, 9);
   }
 
+  enum Color {
+    RED, GREEN
+  }
+
+  static class Names {
+    List<String> colors = Arrays.asList("RED", "BLUE");
+  }
+
+  static class Colors {
+    Set<Color> colors;
+  }
+
   static class D {
  //   List<String> a;
  //   Collection<String> b;
@@ -88,6 +101,11 @@ public class CollectionConverterTest extends AbstractConverterTest {
     assertEquals(convert(source, Collection.class), source);
   }
 
+  public void shouldConvertElementsThatMapToNullToSetOfEnums() {
+    Colors colors = modelMapper.map(new Names(), Colors.class);
+    assertEquals(colors.colors, new HashSet<Color>(Arrays.asList(Color.RED, null)));
+  }
+
   public void testMatches() {
     assertEquals(converter.match(ArrayList.class, List.class), MatchResult.FULL);
     assertEquals(converter.match(Object[].class, Set.class), MatchResult.FULL);
@@ -0,0 +1,82 @@
+package org.modelmapper.internal.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class CollectionFactoryTest {
+  enum Color {
+    RED, GREEN
+  }
+
+  private static final List<Color> COLORS = Arrays.asList(Color.RED, Color.GREEN);
+
+  public void shouldCreateCollections() {
+    assertTrue(CollectionFactory.createCollection(List.class, 3, String.class, null) instanceof ArrayList);
+    assertTrue(CollectionFactory.createCollection(Collection.class, 3, Color.class, COLORS) instanceof ArrayList);
+    assertTrue(CollectionFactory.createCollection(AbstractList.class, 3, String.class, null) instanceof ArrayList);
+    assertTrue(CollectionFactory.createCollection(Set.class, 3, String.class, null) instanceof HashSet);
+    assertTrue(CollectionFactory.createCollection(Set.class, 3, Color.class, COLORS) instanceof EnumSet);
+    assertTrue(CollectionFactory.createCollection(SortedSet.class, 3, String.class, null) instanceof TreeSet);
+    assertTrue(CollectionFactory.createCollection(NavigableSet.class, 3, Color.class, COLORS) instanceof TreeSet);
+    assertTrue(CollectionFactory.createCollection(Queue.class, 3, String.class, null) instanceof ArrayDeque);
+    assertTrue(CollectionFactory.createCollection(Deque.class, 0, String.class, null) instanceof ArrayDeque);
+  }
+
+  public void shouldCreateMaps() {
+    assertTrue(CollectionFactory.createMap(Map.class, 3, String.class, null) instanceof HashMap);
+    assertTrue(CollectionFactory.createMap(Map.class, 3, Color.class, COLORS) instanceof EnumMap);
+    assertTrue(CollectionFactory.createMap(SortedMap.class, 3, String.class, null) instanceof TreeMap);
+    assertTrue(CollectionFactory.createMap(ConcurrentMap.class, 3, String.class, null) instanceof ConcurrentHashMap);
+  }
+
+  public void shouldNotCreateEnumTypesUnlessElementsAreEnumConstants() {
+    assertTrue(CollectionFactory.createCollection(Set.class, 2, Color.class,
+        Arrays.asList(Color.RED, null)) instanceof HashSet);
+    assertTrue(CollectionFactory.createCollection(Set.class, 1, Color.class, Arrays.asList("RED")) instanceof HashSet);
+    assertTrue(CollectionFactory.createCollection(Set.class, 1, Color.class, null) instanceof HashSet);
+    assertTrue(CollectionFactory.createMap(Map.class, 2, Color.class,
+        Arrays.asList(Color.RED, null)) instanceof HashMap);
+    assertTrue(CollectionFactory.createMap(Map.class, 1, Color.class, Arrays.asList("RED")) instanceof HashMap);
+  }
+
+  public void shouldNotCreateConcreteTypes() {
+    assertNull(CollectionFactory.createCollection(LinkedList.class, 3, String.class, null));
+    assertNull(CollectionFactory.createMap(HashMap.class, 3, String.class, null));
+  }
+
+  public void shouldPresizeForDefaultLoadFactor() {
+    assertEquals(CollectionFactory.capacityFor(0), 1);
+    assertEquals(CollectionFactory.capacityFor(12), 17);
+    assertTrue(CollectionFactory.capacityFor(1000) * 0.75f >= 1000);
+  }
+}
@@ -0,0 +1,49 @@
+package org.modelmapper.internal.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.NoOp;
+
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class ClassTraitsTest {
+  public void shouldComputeTraits() {
+    ClassTraits traits = ClassTraits.of(ArrayList.class);
+    assertTrue(traits.iterable);
+    assertTrue(traits.instantiable);
+    assertFalse(traits.immutable);
+    assertEquals(traits.deProxiedType, ArrayList.class);
+
+    assertTrue(ClassTraits.of(int[].class).iterable);
+    assertTrue(ClassTraits.of(Integer.class).immutable);
+    assertFalse(ClassTraits.of(Integer.class).instantiable);
+    assertTrue(ClassTraits.of(TimeUnit.class).immutable);
+    assertFalse(ClassTraits.of(TimeUnit.class).instantiable);
+  }
+
+  public void shouldCacheTraits() {
+    assertSame(ClassTraits.of(String.class), ClassTraits.of(String.class));
+  }
+
+  public void shouldCacheTraitsOfOtherCglibProxies() {
+    Enhancer enhancer = new Enhancer();
+    enhancer.setSuperclass(ArrayList.class);
+    enhancer.setCallbackType(NoOp.class);
+    Class<?> proxyClass = enhancer.createClass();
+
+    assertTrue(proxyClass.getName().contains("$$EnhancerByCGLIB$$"));
+    assertSame(ClassTraits.of(proxyClass), ClassTraits.of(proxyClass));
+    assertEquals(ClassTraits.of(proxyClass).deProxiedType, ArrayList.class);
+  }
+}
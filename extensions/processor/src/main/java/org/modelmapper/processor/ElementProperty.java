@@ -0,0 +1,41 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A JavaBeans property of a type being processed, backed by an accessor or mutator method.
+ * 
+ * @author Jonathan Halterman
+ */
+final class ElementProperty {
+  /** The transformed property name */
+  final String name;
+  final String methodName;
+  final TypeMirror type;
+
+  ElementProperty(String name, String methodName, TypeMirror type) {
+    this.name = name;
+    this.methodName = methodName;
+    this.type = type;
+  }
+
+  @Override
+  public String toString() {
+    return methodName + "()";
+  }
+}
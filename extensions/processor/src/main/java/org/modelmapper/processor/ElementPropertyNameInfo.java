@@ -0,0 +1,109 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Stack;
+
+import org.modelmapper.spi.MatchingStrategy.PropertyNameInfo;
+import org.modelmapper.spi.NameTokenizer;
+import org.modelmapper.spi.NameableType;
+import org.modelmapper.spi.PropertyInfo;
+
+/**
+ * PropertyNameInfo for source and destination properties resolved from language model elements.
+ * Since no reflective members exist at compile time, {@link #getSourceProperties()} and
+ * {@link #getDestinationProperties()} are empty, which the built-in matching strategies do not rely
+ * on.
+ * 
+ * @author Jonathan Halterman
+ */
+class ElementPropertyNameInfo implements PropertyNameInfo {
+  private final NameTokenizer tokenizer;
+  private final String[] sourceClassTokens;
+  private final Stack<String[]> sourcePropertyTypeTokens = new Stack<String[]>();
+  private final Stack<String[]> sourcePropertyTokens = new Stack<String[]>();
+  private final Stack<String[]> destinationPropertyTokens = new Stack<String[]>();
+  private final Stack<ElementProperty> sourceProperties = new Stack<ElementProperty>();
+  private final Stack<ElementProperty> destinationProperties = new Stack<ElementProperty>();
+
+  ElementPropertyNameInfo(String sourceClassName, NameTokenizer tokenizer) {
+    this.tokenizer = tokenizer;
+    sourceClassTokens = tokenizer.tokenize(sourceClassName, NameableType.CLASS);
+  }
+
+  public List<PropertyInfo> getDestinationProperties() {
+    return Collections.emptyList();
+  }
+
+  public List<String[]> getDestinationPropertyTokens() {
+    return destinationPropertyTokens;
+  }
+
+  public String[] getSourceClassTokens() {
+    return sourceClassTokens;
+  }
+
+  public List<PropertyInfo> getSourceProperties() {
+    return Collections.emptyList();
+  }
+
+  public List<String[]> getSourcePropertyTokens() {
+    return sourcePropertyTokens;
+  }
+
+  public List<String[]> getSourcePropertyTypeTokens() {
+    return sourcePropertyTypeTokens;
+  }
+
+  List<ElementProperty> destinationPath() {
+    return destinationProperties;
+  }
+
+  List<ElementProperty> sourcePath() {
+    return sourceProperties;
+  }
+
+  void clearSource() {
+    sourceProperties.clear();
+    sourcePropertyTokens.clear();
+    sourcePropertyTypeTokens.clear();
+  }
+
+  void popDestination() {
+    destinationProperties.pop();
+    destinationPropertyTokens.pop();
+  }
+
+  void popSource() {
+    sourceProperties.pop();
+    sourcePropertyTokens.pop();
+    sourcePropertyTypeTokens.pop();
+  }
+
+  void pushDestination(ElementProperty destinationProperty) {
+    destinationPropertyTokens.push(tokenizer.tokenize(destinationProperty.name,
+        NameableType.METHOD));
+    destinationProperties.push(destinationProperty);
+  }
+
+  void pushSource(ElementProperty sourceProperty, String sourcePropertyTypeName) {
+    sourcePropertyTokens.push(tokenizer.tokenize(sourceProperty.name, NameableType.METHOD));
+    sourcePropertyTypeTokens.push(tokenizer.tokenize(sourcePropertyTypeName, NameableType.CLASS));
+    sourceProperties.push(sourceProperty);
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+/**
+ * Marker implemented by mappers generated by the {@link MapperProcessor}. Generated mappers are
+ * {@link org.modelmapper.Converter Converters} and are listed as services of this interface so that
+ * they can be discovered via {@link GeneratedMappers}.
+ * 
+ * @author Jonathan Halterman
+ */
+public interface GeneratedMapper {
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.util.ServiceLoader;
+
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+
+/**
+ * Registers mappers generated by the {@link MapperProcessor} with a ModelMapper.
+ * 
+ * <pre>
+ * ModelMapper modelMapper = new ModelMapper();
+ * GeneratedMappers.registerAll(modelMapper);
+ * </pre>
+ * 
+ * @author Jonathan Halterman
+ */
+public final class GeneratedMappers {
+  private GeneratedMappers() {
+  }
+
+  /**
+   * Registers each generated mapper visible to the current thread's context class loader as a
+   * converter with the {@code modelMapper}.
+   * 
+   * @return the number of registered mappers
+   */
+  public static int registerAll(ModelMapper modelMapper) {
+    return registerAll(modelMapper, Thread.currentThread().getContextClassLoader());
+  }
+
+  /**
+   * Registers each generated mapper visible to the {@code classLoader} as a converter with the
+   * {@code modelMapper}.
+   * 
+   * @return the number of registered mappers
+   */
+  public static int registerAll(ModelMapper modelMapper, ClassLoader classLoader) {
+    int count = 0;
+    for (GeneratedMapper mapper : ServiceLoader.load(GeneratedMapper.class, classLoader)) {
+      modelMapper.addConverter((Converter<?, ?>) mapper);
+      count++;
+    }
+
+    return count;
+  }
+}
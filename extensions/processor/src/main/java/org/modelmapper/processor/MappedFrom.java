@@ -0,0 +1,47 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a destination type for which mappers are generated at compile time, one for each of the
+ * source types listed in {@link #value()}. Properties are matched by the {@link MapperProcessor}
+ * using the same naming conventions, name tokenizers and matching strategies that ModelMapper uses
+ * at runtime.
+ * 
+ * <pre>
+ * &#064;MappedFrom(Order.class)
+ * public class OrderDTO {
+ *   ...
+ * }
+ * </pre>
+ * 
+ * @author Jonathan Halterman
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface MappedFrom {
+  /**
+   * The source types to generate mappers from.
+   */
+  Class<?>[] value();
+}
@@ -0,0 +1,652 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import org.modelmapper.convention.NameTokenizers;
+import org.modelmapper.convention.NameTransformers;
+import org.modelmapper.convention.NamingConventions;
+import org.modelmapper.spi.MatchingStrategy;
+import org.modelmapper.spi.NameTokenizer;
+import org.modelmapper.spi.NameableType;
+import org.modelmapper.spi.PropertyType;
+
+/**
+ * Matches the JavaBeans properties of a source type against those of a destination type, the same
+ * way that ModelMapper's PropertyMappingBuilder does at runtime, and writes a mapper for the
+ * resulting property mappings. Matched properties whose types are not assignable are converted at
+ * runtime through the {@link org.modelmapper.spi.MappingEngine MappingEngine}.
+ * 
+ * @author Jonathan Halterman
+ */
+class MapperGenerator {
+  private static final NameTokenizer TOKENIZER = NameTokenizers.CAMEL_CASE;
+
+  private final ProcessingEnvironment processingEnv;
+  private final Types types;
+  private final Elements elements;
+  private final MatchingStrategy matchingStrategy;
+  /** The kind of diagnostic to report unmapped properties with, else null */
+  private final Diagnostic.Kind unmappedPropertiesKind;
+  private final TypeElement sourceElement;
+  private final TypeElement destinationElement;
+  private final ElementPropertyNameInfo propertyNameInfo;
+  private final Map<String, Map<String, ElementProperty>> accessors = new HashMap<String, Map<String, ElementProperty>>();
+  private final Map<String, Map<String, ElementProperty>> mutators = new HashMap<String, Map<String, ElementProperty>>();
+  private final Set<String> sourceTypes = new HashSet<String>();
+  private final Set<String> destinationTypes = new HashSet<String>();
+  private final List<PropertyMatch> matches = new ArrayList<PropertyMatch>();
+  /** Destination accessors used to read intermediate destination values, by mutator */
+  private final Map<ElementProperty, ElementProperty> destinationAccessors = new HashMap<ElementProperty, ElementProperty>();
+  private final List<String> unmappedProperties = new ArrayList<String>();
+  private boolean failed;
+  private int variables;
+
+  /**
+   * A nested destination value that is held by a variable of the generated mapper, and that is
+   * created and set against its parent when the first non-null value is mapped to it, as
+   * ModelMapper does at runtime.
+   */
+  static class Intermediate {
+    final String variable;
+    final String typeName;
+    final String parent;
+    final String setterName;
+
+    Intermediate(String variable, String typeName, String parent, String setterName) {
+      this.variable = variable;
+      this.typeName = typeName;
+      this.parent = parent;
+      this.setterName = setterName;
+    }
+  }
+
+  /**
+   * A matched source and destination property hierarchy.
+   */
+  static class PropertyMatch {
+    final List<ElementProperty> sourcePath;
+    final List<ElementProperty> destinationPath;
+    /** Whether the source value can be directly assigned to the destination property */
+    final boolean assignable;
+
+    PropertyMatch(List<ElementProperty> sourcePath, List<ElementProperty> destinationPath,
+        boolean assignable) {
+      this.sourcePath = new ArrayList<ElementProperty>(sourcePath);
+      this.destinationPath = new ArrayList<ElementProperty>(destinationPath);
+      this.assignable = assignable;
+    }
+  }
+
+  MapperGenerator(ProcessingEnvironment processingEnv, MatchingStrategy matchingStrategy,
+      Diagnostic.Kind unmappedPropertiesKind, TypeElement sourceElement,
+      TypeElement destinationElement) {
+    this.processingEnv = processingEnv;
+    this.types = processingEnv.getTypeUtils();
+    this.elements = processingEnv.getElementUtils();
+    this.matchingStrategy = matchingStrategy;
+    this.unmappedPropertiesKind = unmappedPropertiesKind;
+    this.sourceElement = sourceElement;
+    this.destinationElement = destinationElement;
+    propertyNameInfo = new ElementPropertyNameInfo(sourceElement.getSimpleName().toString(),
+        TOKENIZER);
+  }
+
+  /**
+   * Generates a mapper from the source type to the destination type.
+   * 
+   * @return the qualified name of the generated mapper, else {@code null} if errors were reported
+   */
+  String generate() {
+    PackageElement destinationPackage = elements.getPackageOf(destinationElement);
+    if (!isAccessible(sourceElement, destinationPackage))
+      error("Source type %s is not accessible from %s", sourceElement, destinationPackage);
+    if (!sourceElement.getTypeParameters().isEmpty()
+        || !destinationElement.getTypeParameters().isEmpty())
+      error("Generic types are not supported for mapping %s to %s", sourceElement,
+          destinationElement);
+    if (!isInstantiable(destinationElement, destinationPackage))
+      error("Destination type %s must be a concrete, non-inner class with an accessible "
+          + "no-argument constructor", destinationElement);
+    if (failed)
+      return null;
+
+    matchDestination((DeclaredType) destinationElement.asType(), true);
+    if (!unmappedProperties.isEmpty() && unmappedPropertiesKind != null)
+      report(unmappedPropertiesKind, "Unmapped destination properties found in mapping from %s "
+          + "to %s: %s", sourceElement, destinationElement, unmappedProperties);
+    if (failed)
+      return null;
+
+    String packageName = destinationPackage.isUnnamed() ? ""
+        : destinationPackage.getQualifiedName().toString();
+    String simpleName = flatName(sourceElement) + "To" + flatName(destinationElement) + "Mapper";
+    String qualifiedName = packageName.length() == 0 ? simpleName : packageName + "."
+        + simpleName;
+
+    try {
+      Writer writer = processingEnv.getFiler()
+          .createSourceFile(qualifiedName, destinationElement, sourceElement)
+          .openWriter();
+      try {
+        writer.write(writeMapper(packageName, simpleName));
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error("Failed to write mapper %s: %s", qualifiedName, e.getMessage());
+      return null;
+    }
+
+    return qualifiedName;
+  }
+
+  /**
+   * Matches each mutator of the {@code destinationType} to the source type's accessor hierarchies.
+   * Destination properties without a match are matched recursively if their type is matchable.
+   * 
+   * @return the number of matches found for the {@code destinationType}
+   */
+  private int matchDestination(DeclaredType destinationType, boolean root) {
+    int matchCount = 0;
+    destinationTypes.add(key(destinationType));
+
+    for (ElementProperty mutator : mutatorsFor(destinationType).values()) {
+      propertyNameInfo.pushDestination(mutator);
+      List<PropertyMatch> candidates = new ArrayList<PropertyMatch>();
+      matchSource((DeclaredType) sourceElement.asType(), mutator, candidates);
+      propertyNameInfo.clearSource();
+      sourceTypes.clear();
+
+      PropertyMatch match = null;
+      if (candidates.size() == 1)
+        match = candidates.get(0);
+      else if (candidates.size() > 1) {
+        match = disambiguate(candidates);
+        if (match == null)
+          error("The destination property %s matches multiple source property hierarchies: %s",
+              pathOf(propertyNameInfo.destinationPath()), sourcePathsOf(candidates));
+      }
+
+      int nestedMatchCount = 0;
+      if (match != null) {
+        matches.add(match);
+        nestedMatchCount = 1;
+      } else if (candidates.isEmpty() && isMatchableDestination(mutator.type)
+          && !destinationTypes.contains(key(mutator.type))) {
+        ElementProperty accessor = accessorsFor(destinationType).get(mutator.name);
+        if (accessor != null && types.isAssignable(accessor.type, mutator.type))
+          destinationAccessors.put(mutator, accessor);
+        nestedMatchCount = matchDestination((DeclaredType) mutator.type, false);
+        if (nestedMatchCount > 0
+            && !isInstantiable(asElement(mutator.type), elements.getPackageOf(destinationElement)))
+          error("The destination property %s cannot be mapped since %s cannot be instantiated. "
+              + "Nested destination types must be concrete, non-inner classes with an accessible "
+              + "no-argument constructor", pathOf(propertyNameInfo.destinationPath()),
+              mutator.type);
+      }
+
+      if (root && nestedMatchCount == 0 && candidates.isEmpty())
+        unmappedProperties.add(mutator.toString());
+      matchCount += nestedMatchCount;
+      propertyNameInfo.popDestination();
+    }
+
+    destinationTypes.remove(key(destinationType));
+    return matchCount;
+  }
+
+  /**
+   * Matches the accessor hierarchies of the {@code sourceType} against the
+   * {@code destinationMutator}, collecting matches into {@code candidates}.
+   */
+  private void matchSource(DeclaredType sourceType, ElementProperty destinationMutator,
+      List<PropertyMatch> candidates) {
+    sourceTypes.add(key(sourceType));
+
+    for (ElementProperty accessor : accessorsFor(sourceType).values()) {
+      propertyNameInfo.pushSource(accessor, simpleNameOf(accessor.type));
+
+      if (matchingStrategy.matches(propertyNameInfo)) {
+        boolean assignable = types.isAssignable(accessor.type, destinationMutator.type);
+        if (assignable || !isMatchable(destinationMutator.type))
+          candidates.add(new PropertyMatch(propertyNameInfo.sourcePath(),
+              propertyNameInfo.destinationPath(), assignable));
+      }
+
+      if (isMatchable(accessor.type) && !sourceTypes.contains(key(accessor.type)))
+        matchSource((DeclaredType) accessor.type, destinationMutator, candidates);
+
+      propertyNameInfo.popSource();
+    }
+
+    sourceTypes.remove(key(sourceType));
+  }
+
+  /**
+   * Disambiguates the {@code candidates} by looking for the candidate with property tokens that
+   * most closely match the destination, as ModelMapper does at runtime.
+   * 
+   * @return closest matching candidate, else {@code null} if one could not be determined
+   */
+  private PropertyMatch disambiguate(List<PropertyMatch> candidates) {
+    double maxMatchRatio = -1;
+    boolean multipleMax = false;
+    PropertyMatch closestMatch = null;
+
+    for (PropertyMatch candidate : candidates) {
+      double matched = 0, totalSourceTokens = 0, totalDestTokens = 0;
+      String[][] allSourceTokens = new String[candidate.sourcePath.size()][];
+      boolean[][] sourceMatches = new boolean[allSourceTokens.length][];
+
+      for (int i = 0; i < allSourceTokens.length; i++) {
+        allSourceTokens[i] = TOKENIZER.tokenize(candidate.sourcePath.get(i).name,
+            NameableType.METHOD);
+        sourceMatches[i] = new boolean[allSourceTokens[i].length];
+        totalSourceTokens += allSourceTokens[i].length;
+      }
+
+      for (ElementProperty destination : candidate.destinationPath) {
+        String[] destTokens = TOKENIZER.tokenize(destination.name, NameableType.METHOD);
+        totalDestTokens += destTokens.length;
+
+        for (String destToken : destTokens) {
+          found: for (int i = 0; i < allSourceTokens.length; i++)
+            for (int j = 0; j < allSourceTokens[i].length; j++)
+              if (!sourceMatches[i][j] && allSourceTokens[i][j].equalsIgnoreCase(destToken)) {
+                sourceMatches[i][j] = true;
+                matched++;
+                break found;
+              }
+        }
+      }
+
+      double matchRatio = matched / (totalSourceTokens + totalDestTokens);
+      if (matchRatio == maxMatchRatio)
+        multipleMax = true;
+
+      if (matchRatio > maxMatchRatio) {
+        maxMatchRatio = matchRatio;
+        closestMatch = candidate;
+        multipleMax = false;
+      }
+    }
+
+    return multipleMax ? null : closestMatch;
+  }
+
+  private String writeMapper(String packageName, String simpleName) {
+    String sourceName = sourceElement.getQualifiedName().toString();
+    String destinationName = destinationElement.getQualifiedName().toString();
+    StringBuilder out = new StringBuilder();
+    if (packageName.length() > 0)
+      out.append("package ").append(packageName).append(";\n\n");
+    out.append("import org.modelmapper.Converter;\n");
+    out.append("import org.modelmapper.processor.GeneratedMapper;\n");
+    out.append("import org.modelmapper.spi.MappingContext;\n\n");
+    out.append("/**\n * Maps {@link ").append(sourceName).append("} to {@link ")
+        .append(destinationName).append("}. Generated by the ModelMapper annotation processor.\n */\n");
+    out.append("public final class ").append(simpleName).append(" implements Converter<")
+        .append(sourceName).append(", ").append(destinationName)
+        .append(">, GeneratedMapper {\n");
+    out.append("  public ").append(destinationName).append(" convert(MappingContext<")
+        .append(sourceName).append(", ").append(destinationName).append("> context) {\n");
+    out.append("    ").append(sourceName).append(" source = context.getSource();\n");
+    out.append("    if (source == null)\n      return null;\n");
+    out.append("    ").append(destinationName).append(" destination = context.getDestination();\n");
+    out.append("    if (destination == null)\n      destination = new ").append(destinationName)
+        .append("();\n");
+    writeMappings(out, matches, 0, "destination", new ArrayList<Intermediate>(), "    ");
+    out.append("    return destination;\n  }\n}\n");
+    return out.toString();
+  }
+
+  /**
+   * Writes the {@code mappings} whose destination paths start at {@code depth}, declaring
+   * variables for the intermediate destination values of nested destination paths. Intermediate
+   * values are read from the destination when it has an accessor for them, and are otherwise only
+   * created once a non-null value is mapped to them.
+   */
+  private void writeMappings(StringBuilder out, List<PropertyMatch> mappings, int depth,
+      String destination, List<Intermediate> intermediates, String indent) {
+    Map<ElementProperty, List<PropertyMatch>> nested = new LinkedHashMap<ElementProperty, List<PropertyMatch>>();
+    for (PropertyMatch mapping : mappings) {
+      if (mapping.destinationPath.size() == depth + 1)
+        writeMapping(out, mapping, destination, intermediates, indent);
+      else {
+        ElementProperty mutator = mapping.destinationPath.get(depth);
+        List<PropertyMatch> group = nested.get(mutator);
+        if (group == null) {
+          group = new ArrayList<PropertyMatch>();
+          nested.put(mutator, group);
+        }
+        group.add(mapping);
+      }
+    }
+
+    for (Map.Entry<ElementProperty, List<PropertyMatch>> entry : nested.entrySet()) {
+      ElementProperty mutator = entry.getKey();
+      ElementProperty accessor = destinationAccessors.get(mutator);
+      String typeName = typeName(mutator.type);
+      String variable = "d" + variables++;
+
+      out.append(indent).append(typeName).append(' ').append(variable).append(" = ");
+      if (accessor == null)
+        out.append("null;\n");
+      else if (intermediates.isEmpty())
+        out.append(destination).append('.').append(accessor.methodName).append("();\n");
+      else
+        out.append(destination).append(" == null ? null : ").append(destination).append('.')
+            .append(accessor.methodName).append("();\n");
+
+      List<Intermediate> nestedIntermediates = new ArrayList<Intermediate>(intermediates);
+      nestedIntermediates.add(new Intermediate(variable, typeName, destination,
+          mutator.methodName));
+      writeMappings(out, entry.getValue(), depth + 1, variable, nestedIntermediates, indent);
+    }
+  }
+
+  /**
+   * Writes a single property mapping, reading the source path null-safely. The
+   * {@code intermediates} that the {@code destination} is nested in are created if needed before a
+   * non-null value is set against it.
+   */
+  private void writeMapping(StringBuilder out, PropertyMatch mapping, String destination,
+      List<Intermediate> intermediates, String indent) {
+    String value = "source";
+    String currentIndent = indent;
+    int openBlocks = 0;
+    List<ElementProperty> sourcePath = mapping.sourcePath;
+
+    for (int i = 0; i < sourcePath.size() - 1; i++) {
+      ElementProperty accessor = sourcePath.get(i);
+      String variable = "s" + variables++;
+      out.append(currentIndent).append(typeName(accessor.type)).append(' ').append(variable)
+          .append(" = ").append(value).append('.').append(accessor.methodName).append("();\n");
+      out.append(currentIndent).append("if (").append(variable).append(" != null) {\n");
+      currentIndent += "  ";
+      openBlocks++;
+      value = variable;
+    }
+
+    ElementProperty accessor = sourcePath.get(sourcePath.size() - 1);
+    ElementProperty mutator = mapping.destinationPath.get(mapping.destinationPath.size() - 1);
+    value = value + "." + accessor.methodName + "()";
+    boolean sourcePrimitive = accessor.type.getKind().isPrimitive();
+    boolean destinationPrimitive = mutator.type.getKind().isPrimitive();
+    String setter = destination + "." + mutator.methodName + "(";
+
+    if (intermediates.isEmpty() && mapping.assignable
+        && (sourcePrimitive || !destinationPrimitive)) {
+      out.append(currentIndent).append(setter).append(value).append(");\n");
+    } else {
+      if (!sourcePrimitive) {
+        String variable = "s" + variables++;
+        out.append(currentIndent).append(typeName(accessor.type)).append(' ').append(variable)
+            .append(" = ").append(value).append(";\n");
+        out.append(currentIndent).append("if (").append(variable).append(" != null) {\n");
+        currentIndent += "  ";
+        openBlocks++;
+        value = variable;
+      }
+
+      for (Intermediate intermediate : intermediates)
+        writeIntermediate(out, intermediate, currentIndent);
+
+      if (mapping.assignable)
+        out.append(currentIndent).append(setter).append(value).append(");\n");
+      else
+        out.append(currentIndent).append(setter)
+            .append("context.getMappingEngine().map(context.create(").append(value)
+            .append(", ").append(classLiteral(mutator.type)).append(")));\n");
+    }
+
+    for (; openBlocks > 0; openBlocks--) {
+      currentIndent = currentIndent.substring(2);
+      out.append(currentIndent).append("}\n");
+    }
+  }
+
+  /**
+   * Writes the creation of the {@code intermediate} destination value if it does not exist yet.
+   */
+  private void writeIntermediate(StringBuilder out, Intermediate intermediate, String indent) {
+    out.append(indent).append("if (").append(intermediate.variable).append(" == null) {\n");
+    out.append(indent).append("  ").append(intermediate.variable).append(" = new ")
+        .append(intermediate.typeName).append("();\n");
+    out.append(indent).append("  ").append(intermediate.parent).append('.')
+        .append(intermediate.setterName).append('(').append(intermediate.variable).append(");\n");
+    out.append(indent).append("}\n");
+  }
+
+  /**
+   * Returns the public, non-static JavaBeans accessors of the {@code type} by property name.
+   */
+  private Map<String, ElementProperty> accessorsFor(DeclaredType type) {
+    Map<String, ElementProperty> result = accessors.get(key(type));
+    if (result == null) {
+      result = new LinkedHashMap<String, ElementProperty>();
+      for (ExecutableElement method : propertyMethodsOf(type)) {
+        String methodName = method.getSimpleName().toString();
+        if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID
+            && NamingConventions.JAVABEANS_ACCESSOR.applies(methodName, PropertyType.METHOD)) {
+          String name = NameTransformers.JAVABEANS_ACCESSOR.transform(methodName,
+              NameableType.METHOD);
+          if (!result.containsKey(name))
+            result.put(name, new ElementProperty(name, methodName,
+                ((ExecutableType) types.asMemberOf(type, method)).getReturnType()));
+        }
+      }
+
+      accessors.put(key(type), result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the public, non-static JavaBeans mutators of the {@code type} by property name.
+   */
+  private Map<String, ElementProperty> mutatorsFor(DeclaredType type) {
+    Map<String, ElementProperty> result = mutators.get(key(type));
+    if (result == null) {
+      result = new LinkedHashMap<String, ElementProperty>();
+      for (ExecutableElement method : propertyMethodsOf(type)) {
+        String methodName = method.getSimpleName().toString();
+        if (method.getParameters().size() == 1
+            && NamingConventions.JAVABEANS_MUTATOR.applies(methodName, PropertyType.METHOD)) {
+          String name = NameTransformers.JAVABEANS_MUTATOR.transform(methodName,
+              NameableType.METHOD);
+          if (!result.containsKey(name))
+            result.put(name, new ElementProperty(name, methodName,
+                ((ExecutableType) types.asMemberOf(type, method)).getParameterTypes().get(0)));
+        }
+      }
+
+      mutators.put(key(type), result);
+    }
+
+    return result;
+  }
+
+  private List<ExecutableElement> propertyMethodsOf(DeclaredType type) {
+    List<ExecutableElement> result = new ArrayList<ExecutableElement>();
+    for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(asElement(type)))) {
+      Set<Modifier> modifiers = method.getModifiers();
+      if (modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)
+          && !((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals(
+              "java.lang.Object"))
+        result.add(method);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns whether the {@code type} is a bean whose properties should be matched, mirroring
+   * ModelMapper's runtime rules. Platform types are never matched at compile time.
+   */
+  private boolean isMatchable(TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED && asElement(type).getKind() == ElementKind.CLASS
+        && isBeanType(type);
+  }
+
+  /**
+   * Returns whether the {@code type} is a nested destination type whose properties should be
+   * matched. Interfaces are matched as well, so that nested destination types with matching
+   * properties that cannot be instantiated are reported rather than left unmapped.
+   */
+  private boolean isMatchableDestination(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED)
+      return false;
+    ElementKind kind = asElement(type).getKind();
+    return (kind == ElementKind.CLASS || kind == ElementKind.INTERFACE) && isBeanType(type);
+  }
+
+  private boolean isBeanType(TypeMirror type) {
+    return !asElement(type).getQualifiedName().toString().startsWith("java.")
+        && !isSubtype(type, "java.util.Collection") && !isSubtype(type, "java.util.Map");
+  }
+
+  private boolean isSubtype(TypeMirror type, String typeName) {
+    TypeElement element = elements.getTypeElement(typeName);
+    return element != null
+        && types.isSubtype(types.erasure(type), types.erasure(element.asType()));
+  }
+
+  private boolean isAccessible(TypeElement element, PackageElement fromPackage) {
+    boolean samePackage = elements.getPackageOf(element).equals(fromPackage);
+    for (Element e = element; e instanceof TypeElement; e = e.getEnclosingElement()) {
+      Set<Modifier> modifiers = e.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)
+          || (!samePackage && !modifiers.contains(Modifier.PUBLIC)))
+        return false;
+    }
+
+    return true;
+  }
+
+  private boolean isInstantiable(TypeElement element, PackageElement fromPackage) {
+    if (element.getKind() != ElementKind.CLASS
+        || element.getModifiers().contains(Modifier.ABSTRACT)
+        || (element.getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(
+            Modifier.STATIC)) || !element.getTypeParameters().isEmpty()
+        || !isAccessible(element, fromPackage))
+      return false;
+
+    boolean samePackage = elements.getPackageOf(element).equals(fromPackage);
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+      Set<Modifier> modifiers = constructor.getModifiers();
+      if (constructor.getParameters().isEmpty() && !modifiers.contains(Modifier.PRIVATE)
+          && (samePackage || modifiers.contains(Modifier.PUBLIC)))
+        return true;
+    }
+
+    return false;
+  }
+
+  private TypeElement asElement(TypeMirror type) {
+    return (TypeElement) types.asElement(type);
+  }
+
+  private String key(TypeMirror type) {
+    return types.erasure(type).toString();
+  }
+
+  private String simpleNameOf(TypeMirror type) {
+    Element element = types.asElement(type);
+    return element == null ? type.toString() : element.getSimpleName().toString();
+  }
+
+  private String typeName(TypeMirror type) {
+    return type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD ? types.erasure(
+        type).toString() : type.toString();
+  }
+
+  private String classLiteral(TypeMirror type) {
+    if (type.getKind().isPrimitive())
+      return types.boxedClass((PrimitiveType) type).getQualifiedName() + ".class";
+    return types.erasure(type).toString() + ".class";
+  }
+
+  /**
+   * Returns the binary name of the {@code element} without its package, with nested type
+   * separators replaced so that it can be used as part of a class name.
+   */
+  private String flatName(TypeElement element) {
+    String binaryName = elements.getBinaryName(element).toString();
+    PackageElement packageElement = elements.getPackageOf(element);
+    if (!packageElement.isUnnamed())
+      binaryName = binaryName.substring(packageElement.getQualifiedName().length() + 1);
+    return binaryName.replace('$', '_');
+  }
+
+  private static String pathOf(List<ElementProperty> path) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < path.size(); i++) {
+      if (i > 0)
+        builder.append("/");
+      builder.append(path.get(i));
+    }
+
+    return builder.toString();
+  }
+
+  private static List<String> sourcePathsOf(List<PropertyMatch> candidates) {
+    List<String> result = new ArrayList<String>();
+    for (PropertyMatch candidate : candidates)
+      result.add(pathOf(candidate.sourcePath));
+    return result;
+  }
+
+  private void error(String message, Object... args) {
+    report(Diagnostic.Kind.ERROR, message, args);
+  }
+
+  private void report(Diagnostic.Kind kind, String message, Object... args) {
+    if (kind == Diagnostic.Kind.ERROR)
+      failed = true;
+    processingEnv.getMessager().printMessage(kind, String.format(message, args),
+        destinationElement);
+  }
+}
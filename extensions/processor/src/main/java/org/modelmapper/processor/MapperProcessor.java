@@ -0,0 +1,183 @@
+/*
+ * Copyright 2013 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.modelmapper.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.spi.MatchingStrategy;
+
+/**
+ * Annotation processor that generates a mapper for each source type of each {@link MappedFrom}
+ * annotated destination type. Properties are matched at compile time using the JavaBeans naming
+ * conventions, the camel case name tokenizer and the configured matching strategy, so that
+ * ambiguous and unmapped destination properties are reported by the compiler rather than by
+ * {@link org.modelmapper.ModelMapper#validate()}. Generated mappers are listed as
+ * {@link GeneratedMapper} services and can be registered via {@link GeneratedMappers}.
+ * 
+ * <p>
+ * Supported options:
+ * <ul>
+ * <li>{@code modelmapper.matchingStrategy} - {@code standard} (default), {@code loose} or
+ * {@code strict}</li>
+ * <li>{@code modelmapper.unmappedProperties} - {@code error} (default), {@code warning} or
+ * {@code ignore}</li>
+ * </ul>
+ * 
+ * @author Jonathan Halterman
+ */
+@SupportedAnnotationTypes("org.modelmapper.processor.MappedFrom")
+@SupportedOptions({ MapperProcessor.MATCHING_STRATEGY_OPTION,
+    MapperProcessor.UNMAPPED_PROPERTIES_OPTION })
+public class MapperProcessor extends AbstractProcessor {
+  public static final String MATCHING_STRATEGY_OPTION = "modelmapper.matchingStrategy";
+  public static final String UNMAPPED_PROPERTIES_OPTION = "modelmapper.unmappedProperties";
+  static final String SERVICE_FILE = "META-INF/services/" + GeneratedMapper.class.getName();
+
+  private final Set<String> generatedMappers = new TreeSet<String>();
+  private MatchingStrategy matchingStrategy;
+  private Diagnostic.Kind unmappedPropertiesKind;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    Map<String, String> options = processingEnv.getOptions();
+
+    String strategy = options.get(MATCHING_STRATEGY_OPTION);
+    if (strategy == null || "standard".equalsIgnoreCase(strategy))
+      matchingStrategy = MatchingStrategies.STANDARD;
+    else if ("loose".equalsIgnoreCase(strategy))
+      matchingStrategy = MatchingStrategies.LOOSE;
+    else if ("strict".equalsIgnoreCase(strategy))
+      matchingStrategy = MatchingStrategies.STRICT;
+    else {
+      matchingStrategy = MatchingStrategies.STANDARD;
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Unknown " + MATCHING_STRATEGY_OPTION + ": " + strategy);
+    }
+
+    String unmapped = options.get(UNMAPPED_PROPERTIES_OPTION);
+    if (unmapped == null || "error".equalsIgnoreCase(unmapped))
+      unmappedPropertiesKind = Diagnostic.Kind.ERROR;
+    else if ("warning".equalsIgnoreCase(unmapped))
+      unmappedPropertiesKind = Diagnostic.Kind.WARNING;
+    else if ("ignore".equalsIgnoreCase(unmapped))
+      unmappedPropertiesKind = null;
+    else {
+      unmappedPropertiesKind = Diagnostic.Kind.ERROR;
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Unknown " + UNMAPPED_PROPERTIES_OPTION + ": " + unmapped);
+    }
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (roundEnv.processingOver()) {
+      if (!generatedMappers.isEmpty())
+        writeServiceFile();
+      return false;
+    }
+
+    for (Element element : roundEnv.getElementsAnnotatedWith(MappedFrom.class)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "@MappedFrom can only be applied to classes", element);
+        continue;
+      }
+
+      TypeElement destination = (TypeElement) element;
+      for (TypeElement source : sourceTypesOf(destination)) {
+        String mapper = new MapperGenerator(processingEnv, matchingStrategy,
+            unmappedPropertiesKind, source, destination).generate();
+        if (mapper != null)
+          generatedMappers.add(mapper);
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns the source types of the {@code destination}'s MappedFrom annotation. Since the
+   * annotation's classes generally are not loaded at compile time, they are obtained from the
+   * MirroredTypesException thrown when accessing them.
+   */
+  private List<TypeElement> sourceTypesOf(TypeElement destination) {
+    List<? extends TypeMirror> typeMirrors;
+    try {
+      destination.getAnnotation(MappedFrom.class).value();
+      throw new IllegalStateException("Expected source types to be mirrored");
+    } catch (MirroredTypesException e) {
+      typeMirrors = e.getTypeMirrors();
+    }
+
+    List<TypeElement> result = new ArrayList<TypeElement>();
+    for (TypeMirror typeMirror : typeMirrors) {
+      if (typeMirror.getKind() == TypeKind.DECLARED)
+        result.add((TypeElement) ((DeclaredType) typeMirror).asElement());
+      else
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "Cannot map from " + typeMirror, destination);
+    }
+
+    return result;
+  }
+
+  private void writeServiceFile() {
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+          SERVICE_FILE);
+      Writer writer = file.openWriter();
+      try {
+        for (String mapper : generatedMappers)
+          writer.write(mapper + "\n");
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,317 @@
+package org.modelmapper.processor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.modelmapper.ModelMapper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @author Jonathan Halterman
+ */
+@Test
+public class MapperProcessorTest {
+  private File directory;
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @BeforeMethod
+  protected void createDirectory() throws IOException {
+    directory = File.createTempFile("processor", "");
+    directory.delete();
+    directory.mkdirs();
+    diagnostics = new DiagnosticCollector<JavaFileObject>();
+  }
+
+  @AfterMethod
+  protected void deleteDirectory() {
+    delete(directory);
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null)
+      for (File child : children)
+        delete(child);
+    file.delete();
+  }
+
+  private static final String ADDRESS = "package example;\n" //
+      + "public class Address {\n" //
+      + "  private String street;\n" //
+      + "  public String getStreet() { return street; }\n" //
+      + "  public void setStreet(String street) { this.street = street; }\n" //
+      + "}\n";
+
+  private static final String ORDER = "package example;\n" //
+      + "public class Order {\n" //
+      + "  private Address address;\n" //
+      + "  private int quantity;\n" //
+      + "  public Address getAddress() { return address; }\n" //
+      + "  public void setAddress(Address address) { this.address = address; }\n" //
+      + "  public int getQuantity() { return quantity; }\n" //
+      + "  public void setQuantity(int quantity) { this.quantity = quantity; }\n" //
+      + "}\n";
+
+  private static final String ADDRESS_DTO = "package example;\n" //
+      + "public class AddressDTO {\n" //
+      + "  private String street;\n" //
+      + "  public String getStreet() { return street; }\n" //
+      + "  public void setStreet(String street) { this.street = street; }\n" //
+      + "}\n";
+
+  private boolean compile(String... sources) throws IOException {
+    return compile(Collections.<String>emptyList(), sources);
+  }
+
+  private boolean compile(List<String> processorOptions, String... sources) throws IOException {
+    List<File> files = new ArrayList<File>();
+    for (int i = 0; i < sources.length; i += 2) {
+      File file = new File(directory, sources[i]);
+      file.getParentFile().mkdirs();
+      Writer writer = new FileWriter(file);
+      writer.write(sources[i + 1]);
+      writer.close();
+      files.add(file);
+    }
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+    List<String> options = new ArrayList<String>(Arrays.asList("-d", directory.getPath(),
+        "-classpath", System.getProperty("java.class.path")));
+    for (String option : processorOptions)
+      options.add("-A" + option);
+    JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options,
+        null, fileManager.getJavaFileObjectsFromFiles(files));
+    task.setProcessors(Arrays.asList(new MapperProcessor()));
+    boolean result = task.call();
+    fileManager.close();
+    return result;
+  }
+
+  private String errors() {
+    return messages(Diagnostic.Kind.ERROR);
+  }
+
+  private String messages(Diagnostic.Kind kind) {
+    StringBuilder builder = new StringBuilder();
+    for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+      if (diagnostic.getKind() == kind)
+        builder.append(diagnostic.getMessage(null)).append('\n');
+    return builder.toString();
+  }
+
+  /**
+   * Returns a ModelMapper with the generated mappers of the compiled classes registered.
+   */
+  private ModelMapper modelMapperFor(ClassLoader classLoader) {
+    ModelMapper modelMapper = new ModelMapper();
+    assertEquals(GeneratedMappers.registerAll(modelMapper, classLoader), 1);
+    return modelMapper;
+  }
+
+  private ClassLoader classLoader() throws IOException {
+    return new URLClassLoader(new URL[] { directory.toURI().toURL() }, getClass().getClassLoader());
+  }
+
+  public void shouldGenerateAndRegisterMapper() throws Exception {
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  private String addressStreet;\n" //
+        + "  private long quantity;\n" //
+        + "  public String getAddressStreet() { return addressStreet; }\n" //
+        + "  public void setAddressStreet(String addressStreet) { this.addressStreet = addressStreet; }\n" //
+        + "  public long getQuantity() { return quantity; }\n" //
+        + "  public void setQuantity(long quantity) { this.quantity = quantity; }\n" //
+        + "}\n";
+    assertTrue(compile("example/Address.java", ADDRESS, "example/Order.java", ORDER,
+        "example/OrderDTO.java", orderDTO), errors());
+    assertTrue(new File(directory, "example/OrderToOrderDTOMapper.class").exists());
+
+    ClassLoader classLoader = new URLClassLoader(new URL[] { directory.toURI().toURL() },
+        getClass().getClassLoader());
+    ModelMapper modelMapper = new ModelMapper();
+    assertEquals(GeneratedMappers.registerAll(modelMapper, classLoader), 1);
+
+    Class<?> orderType = classLoader.loadClass("example.Order");
+    Class<?> addressType = classLoader.loadClass("example.Address");
+    Class<?> orderDTOType = classLoader.loadClass("example.OrderDTO");
+    Object address = addressType.newInstance();
+    addressType.getMethod("setStreet", String.class).invoke(address, "main");
+    Object order = orderType.newInstance();
+    orderType.getMethod("setAddress", addressType).invoke(order, address);
+    orderType.getMethod("setQuantity", int.class).invoke(order, 5);
+
+    Object dto = modelMapper.map(order, orderDTOType);
+    assertEquals(orderDTOType.getMethod("getAddressStreet").invoke(dto), "main");
+    assertEquals(orderDTOType.getMethod("getQuantity").invoke(dto), Long.valueOf(5));
+  }
+
+  public void shouldReportUnmappedProperties() throws Exception {
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  public void setCustomerName(String customerName) {}\n" //
+        + "  public void setQuantity(int quantity) {}\n" //
+        + "}\n";
+    assertFalse(compile("example/Address.java", ADDRESS, "example/Order.java", ORDER,
+        "example/OrderDTO.java", orderDTO));
+    assertTrue(errors().contains("Unmapped destination properties"), errors());
+    assertTrue(errors().contains("setCustomerName()"), errors());
+  }
+
+  public void shouldLeaveIntermediateDestinationsNullForNullSources() throws Exception {
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  private AddressDTO address;\n" //
+        + "  public AddressDTO getAddress() { return address; }\n" //
+        + "  public void setAddress(AddressDTO address) { this.address = address; }\n" //
+        + "  public void setQuantity(int quantity) {}\n" //
+        + "}\n";
+    assertTrue(compile("example/Address.java", ADDRESS, "example/Order.java", ORDER,
+        "example/AddressDTO.java", ADDRESS_DTO, "example/OrderDTO.java", orderDTO), errors());
+
+    ClassLoader classLoader = classLoader();
+    ModelMapper modelMapper = modelMapperFor(classLoader);
+    Class<?> orderType = classLoader.loadClass("example.Order");
+    Class<?> addressType = classLoader.loadClass("example.Address");
+    Class<?> orderDTOType = classLoader.loadClass("example.OrderDTO");
+    Class<?> addressDTOType = classLoader.loadClass("example.AddressDTO");
+    Object order = orderType.newInstance();
+
+    Object dto = modelMapper.map(order, orderDTOType);
+    assertNull(orderDTOType.getMethod("getAddress").invoke(dto));
+
+    Object address = addressType.newInstance();
+    orderType.getMethod("setAddress", addressType).invoke(order, address);
+    dto = modelMapper.map(order, orderDTOType);
+    assertNull(orderDTOType.getMethod("getAddress").invoke(dto));
+
+    addressType.getMethod("setStreet", String.class).invoke(address, "main");
+    dto = modelMapper.map(order, orderDTOType);
+    Object addressDTO = orderDTOType.getMethod("getAddress").invoke(dto);
+    assertEquals(addressDTOType.getMethod("getStreet").invoke(addressDTO), "main");
+  }
+
+  public void shouldMapNonAssignablePropertiesThroughMappingEngine() throws Exception {
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  private String quantity;\n" //
+        + "  public String getQuantity() { return quantity; }\n" //
+        + "  public void setQuantity(String quantity) { this.quantity = quantity; }\n" //
+        + "}\n";
+    assertTrue(compile(Arrays.asList("modelmapper.unmappedProperties=ignore"),
+        "example/Address.java", ADDRESS, "example/Order.java", ORDER, "example/OrderDTO.java",
+        orderDTO), errors());
+
+    ClassLoader classLoader = classLoader();
+    ModelMapper modelMapper = modelMapperFor(classLoader);
+    Class<?> orderType = classLoader.loadClass("example.Order");
+    Class<?> orderDTOType = classLoader.loadClass("example.OrderDTO");
+    Object order = orderType.newInstance();
+    orderType.getMethod("setQuantity", int.class).invoke(order, 5);
+
+    Object dto = modelMapper.map(order, orderDTOType);
+    assertEquals(orderDTOType.getMethod("getQuantity").invoke(dto), "5");
+  }
+
+  public void shouldReportAmbiguousProperties() throws Exception {
+    String customer = "package example;\n" //
+        + "public class Customer {\n" //
+        + "  public String getName() { return null; }\n" //
+        + "}\n";
+    String person = "package example;\n" //
+        + "public class Person {\n" //
+        + "  public Customer getCustomer() { return null; }\n" //
+        + "  public String getCustomerName() { return null; }\n" //
+        + "}\n";
+    String personDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Person.class)\n" //
+        + "public class PersonDTO {\n" //
+        + "  public void setCustomerName(String customerName) {}\n" //
+        + "}\n";
+    assertFalse(compile("example/Customer.java", customer, "example/Person.java", person,
+        "example/PersonDTO.java", personDTO));
+    assertTrue(errors().contains("matches multiple source property hierarchies"), errors());
+  }
+
+  public void shouldApplyMatchingStrategyOption() throws Exception {
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  private String street;\n" //
+        + "  public String getStreet() { return street; }\n" //
+        + "  public void setStreet(String street) { this.street = street; }\n" //
+        + "}\n";
+    assertFalse(compile("example/Address.java", ADDRESS, "example/Order.java", ORDER,
+        "example/OrderDTO.java", orderDTO));
+    assertTrue(errors().contains("setStreet()"), errors());
+
+    diagnostics = new DiagnosticCollector<JavaFileObject>();
+    assertTrue(compile(Arrays.asList("modelmapper.matchingStrategy=loose"),
+        "example/Address.java", ADDRESS, "example/Order.java", ORDER, "example/OrderDTO.java",
+        orderDTO), errors());
+  }
+
+  public void shouldApplyUnmappedPropertiesOption() throws Exception {
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  public void setCustomerName(String customerName) {}\n" //
+        + "  public void setQuantity(int quantity) {}\n" //
+        + "}\n";
+    assertTrue(compile(Arrays.asList("modelmapper.unmappedProperties=warning"),
+        "example/Address.java", ADDRESS, "example/Order.java", ORDER, "example/OrderDTO.java",
+        orderDTO), errors());
+    assertTrue(messages(Diagnostic.Kind.WARNING).contains("setCustomerName()"),
+        messages(Diagnostic.Kind.WARNING));
+
+    diagnostics = new DiagnosticCollector<JavaFileObject>();
+    assertTrue(compile(Arrays.asList("modelmapper.unmappedProperties=ignore"),
+        "example/Address.java", ADDRESS, "example/Order.java", ORDER, "example/OrderDTO.java",
+        orderDTO), errors());
+    assertFalse(messages(Diagnostic.Kind.WARNING).contains("Unmapped"),
+        messages(Diagnostic.Kind.WARNING));
+  }
+
+  public void shouldReportNonInstantiableNestedDestinationTypes() throws Exception {
+    String addressDTO = "package example;\n" //
+        + "public abstract class AddressDTO {\n" //
+        + "  public abstract void setStreet(String street);\n" //
+        + "}\n";
+    String orderDTO = "package example;\n" //
+        + "@org.modelmapper.processor.MappedFrom(Order.class)\n" //
+        + "public class OrderDTO {\n" //
+        + "  public void setAddress(AddressDTO address) {}\n" //
+        + "  public void setQuantity(int quantity) {}\n" //
+        + "}\n";
+    assertFalse(compile("example/Address.java", ADDRESS, "example/Order.java", ORDER,
+        "example/AddressDTO.java", addressDTO, "example/OrderDTO.java", orderDTO));
+    assertTrue(errors().contains("example.AddressDTO cannot be instantiated"), errors());
+    assertFalse(new File(directory, "example/OrderToOrderDTOMapper.java").exists());
+  }
+}